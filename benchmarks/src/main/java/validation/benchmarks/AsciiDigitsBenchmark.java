@@ -0,0 +1,128 @@
+package validation.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import validation.AsciiDigits;
+import validation.Constants;
+import validation.NumberParser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmarks validating fixed width ASCII columns: an 11 byte SSN column against {@link Constants#MATCH_SSN}
+ * and a 10 byte integer ID column. Compares the regex on a decoded String, {@link NumberParser} on the bytes and
+ * {@link AsciiDigits}, on heap and direct buffers.
+ *
+ * <p>Each invocation validates all {@value #RECORD_COUNT} records, so scores are per batch. One record in ten
+ * is invalid.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AsciiDigitsBenchmark {
+
+    static final int RECORD_COUNT = 1024;
+    static final int SSN_LENGTH = 11;
+    static final int ID_LENGTH = 10;
+    static final int RECORD_LENGTH = SSN_LENGTH + ID_LENGTH + 1;
+
+    private final Pattern ssnPattern = Pattern.compile(Constants.MATCH_SSN);
+    private final NumberParser numberParser = new NumberParser();
+
+    private byte[] records;
+    private ByteBuffer heapBuffer;
+    private ByteBuffer directBuffer;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(20120710);
+        StringBuilder text = new StringBuilder();
+        for(int i = 0; i < RECORD_COUNT; i++) {
+            String ssn = String.format("%03d-%02d-%04d", random.nextInt(1000), random.nextInt(100), random.nextInt(10000));
+            String id = String.format("%010d", random.nextInt(Integer.MAX_VALUE));
+            if(random.nextInt(10) == 0) {
+                ssn = ssn.replace('-', '/');
+                id = id.substring(0, 9) + 'x';
+            }
+            text.append(ssn).append(id).append('\n');
+        }
+        records = text.toString().getBytes(StandardCharsets.US_ASCII);
+        heapBuffer = ByteBuffer.wrap(records);
+        directBuffer = ByteBuffer.allocateDirect(records.length);
+        directBuffer.put(records).clear();
+    }
+
+    @Benchmark
+    public int ssnRegex() {
+        int valid = 0;
+        for(int offset = 0; offset < records.length; offset += RECORD_LENGTH) {
+            if(ssnPattern.matcher(new String(records, offset, SSN_LENGTH, StandardCharsets.US_ASCII)).matches()) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int ssnSwar() {
+        int valid = 0;
+        for(int offset = 0; offset < records.length; offset += RECORD_LENGTH) {
+            if(AsciiDigits.isSsn(records, offset, offset + SSN_LENGTH)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int ssnSwarDirect() {
+        int valid = 0;
+        for(int offset = 0; offset < records.length; offset += RECORD_LENGTH) {
+            if(AsciiDigits.isSsn(directBuffer, offset, offset + SSN_LENGTH)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public long idNumberParser() {
+        long sum = 0;
+        for(int offset = SSN_LENGTH; offset < records.length; offset += RECORD_LENGTH) {
+            if(numberParser.parseInt(heapBuffer, offset, offset + ID_LENGTH, 0, Integer.MAX_VALUE) == NumberParser.OK) {
+                sum += numberParser.getInt();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long idSwar() {
+        long sum = 0;
+        for(int offset = SSN_LENGTH; offset < records.length; offset += RECORD_LENGTH) {
+            long value = AsciiDigits.parseInt(records, offset, offset + ID_LENGTH);
+            if(value >= 0) {
+                sum += value;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long idSwarDirect() {
+        long sum = 0;
+        for(int offset = SSN_LENGTH; offset < records.length; offset += RECORD_LENGTH) {
+            long value = AsciiDigits.parseInt(directBuffer, offset, offset + ID_LENGTH);
+            if(value >= 0) {
+                sum += value;
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,38 @@
+package validation.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Entry point of the benchmark jar. Takes the usual JMH command line options, and always adds the GC profiler so
+ * every report includes the allocation rate ({@code gc.alloc.rate.norm} is bytes allocated per operation).
+ *
+ * <blockquote><pre>
+ * mvn -f benchmarks/pom.xml package
+ * java -jar benchmarks/target/benchmarks.jar                      # everything
+ * java -jar benchmarks/target/benchmarks.jar PatternBenchmark     # one class
+ * java -jar benchmarks/target/benchmarks.jar -l                   # list benchmarks
+ * </pre></blockquote>
+ */
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if(commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLine);
+        if(!Arrays.asList(args).contains("-prof")) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
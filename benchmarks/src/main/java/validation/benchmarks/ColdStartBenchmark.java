@@ -0,0 +1,51 @@
+package validation.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import validation.ConsoleIO;
+import validation.Constants;
+import validation.ErrorFieldRegistry;
+import validation.Validator;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the first validation in a fresh JVM, as seen by a short lived command line job: each fork runs one
+ * invocation and nothing is warmed up, so the score is dominated by class loading and initialization.
+ *
+ * <p>{@code console} reads an int, a choice and an email address through {@link Validator} and
+ * {@link ConsoleIO}, which loads no AWT or Swing classes. {@code consoleWithAwt} does the same after touching
+ * {@link ErrorFieldRegistry#COLOR_ERROR_BACKGROUND}, which initializes AWT the way the console methods used to
+ * when the color was a {@link Constants} field. The difference between the two is the startup cost the console
+ * path no longer pays.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 20, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class ColdStartBenchmark {
+
+    private static final String INPUT = "42\ny\njohn.doe@example.com\n";
+
+    @Benchmark
+    public String console() {
+        return validate();
+    }
+
+    @Benchmark
+    public String consoleWithAwt() {
+        return ErrorFieldRegistry.COLOR_ERROR_BACKGROUND.getRGB() + validate();
+    }
+
+    private static String validate() {
+        ConsoleIO console = ConsoleIO.buffered(new StringReader(INPUT), new PrintStream(OutputStream.nullOutputStream()), false);
+        int testScore = Validator.getInt(console, "Test score: ", 0, 100);
+        String choice = Validator.getString(console, "Continue? (y/n): ", Constants.MATCH_CHOICE_YN);
+        String email = Validator.getString(console, "Email address: ", Constants.MATCH_EMAIL);
+        return testScore + choice + email;
+    }
+}
@@ -0,0 +1,35 @@
+package validation.benchmarks;
+
+import java.io.Reader;
+
+/**
+ * Endless console input for the Scanner and ConsoleIO benchmarks: repeats the same lines forever, so a single
+ * Scanner or ConsoleIO can serve every invocation of a benchmark without rebuilding its input.
+ */
+final class CyclingReadable extends Reader {
+    private final char[] input;
+    private int position;
+
+    /**
+     * @param lines    Lines to repeat, each is followed by a line break
+     */
+    CyclingReadable(String... lines) {
+        StringBuilder builder = new StringBuilder();
+        for(String line : lines) {
+            builder.append(line).append('\n');
+        }
+        input = builder.toString().toCharArray();
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) {
+        for(int i = 0; i < length; i++) {
+            buffer[offset + i] = input[position];
+            position = (position + 1) % input.length;
+        }
+        return length;
+    }
+
+    @Override
+    public void close() { }
+}
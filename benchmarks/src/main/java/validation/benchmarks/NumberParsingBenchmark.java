@@ -0,0 +1,107 @@
+package validation.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import validation.NumberParser;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks int and double parsing with the range check, on accept heavy (90% valid) and reject heavy
+ * (10% valid) mixes of input. Compares {@code Integer.parseInt} and {@code Double.parseDouble} with a
+ * NumberFormatException per rejected value against {@link NumberParser}.
+ *
+ * <p>Each invocation parses the whole batch of {@value #BATCH_SIZE} values, so scores are per batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NumberParsingBenchmark {
+
+    static final int BATCH_SIZE = 1024;
+
+    @Param({"0.9", "0.1"})
+    public double validRatio;
+
+    private String[] ints;
+    private String[] doubles;
+    private final NumberParser numberParser = new NumberParser();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(20120710);
+        String[] rejects = {"", "abc", "12a", "1,000", "--5", "99999999999", "4.5.6", "$10", " 7 x"};
+        ints = new String[BATCH_SIZE];
+        doubles = new String[BATCH_SIZE];
+        for(int i = 0; i < BATCH_SIZE; i++) {
+            if(random.nextDouble() < validRatio) {
+                ints[i] = Integer.toString(random.nextInt(2000) - 1000);
+                doubles[i] = Double.toString(Math.round(random.nextDouble() * 100000) / 100.0);
+            } else {
+                ints[i] = rejects[random.nextInt(rejects.length)];
+                doubles[i] = rejects[random.nextInt(rejects.length)];
+            }
+        }
+    }
+
+    @Benchmark
+    public long parseIntWithException() {
+        long sum = 0;
+        for(String value : ints) {
+            try {
+                int parsed = Integer.parseInt(value);
+                if(parsed >= -500 && parsed <= 500) {
+                    sum += parsed;
+                }
+            } catch (NumberFormatException e) {
+                sum--;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long parseIntNumberParser() {
+        long sum = 0;
+        for(String value : ints) {
+            if(numberParser.parseInt(value, -500, 500) == NumberParser.OK) {
+                sum += numberParser.getInt();
+            } else {
+                sum--;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double parseDoubleWithException() {
+        double sum = 0;
+        for(String value : doubles) {
+            try {
+                double parsed = Double.parseDouble(value);
+                if(parsed >= 0 && parsed <= 500) {
+                    sum += parsed;
+                }
+            } catch (NumberFormatException e) {
+                sum--;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double parseDoubleNumberParser() {
+        double sum = 0;
+        for(String value : doubles) {
+            if(numberParser.parseDouble(value, 0, 500) == NumberParser.OK) {
+                sum += numberParser.getDouble();
+            } else {
+                sum--;
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,98 @@
+package validation.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import validation.Constants;
+import validation.PatternRegistry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmarks each {@code Constants.MATCH_*} pattern on valid, invalid and adversarial input, three ways:
+ * <ul>
+ *     <li>{@code stringMatches}: {@code String.matches}, compiling the pattern on every call (the original Validator)</li>
+ *     <li>{@code compiledRegex}: a precompiled {@link Pattern}</li>
+ *     <li>{@code registry}: {@link PatternRegistry#matches(CharSequence, String)}, which uses the hand written
+ *     matchers for the predefined patterns</li>
+ * </ul>
+ *
+ * <p>The adversarial email input is a run of name characters followed by a space instead of an {@code @}, which
+ * makes the nested {@code (name+\.?)+} quantifiers of {@link Constants#MATCH_EMAIL} backtrack over the ways
+ * of splitting the run before giving up.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PatternBenchmark {
+
+    @Param({"EMAIL", "SSN", "CHOICE_YN", "CHAR", "NOT_EMPTY", "ANY"})
+    public String pattern;
+
+    @Param({"valid", "invalid", "adversarial"})
+    public String inputKind;
+
+    private String regex;
+    private Pattern compiled;
+    private String input;
+
+    @Setup
+    public void setUp() {
+        if(pattern.equals("EMAIL")) {
+            regex = Constants.MATCH_EMAIL;
+            input = pick("first.last+tag@mail.example.com", "first.last@example", repeat("a", 24) + " ");
+        } else if(pattern.equals("SSN")) {
+            regex = Constants.MATCH_SSN;
+            input = pick("123-45-6789", "123-45-678x", repeat("1", 1000));
+        } else if(pattern.equals("CHOICE_YN")) {
+            regex = Constants.MATCH_CHOICE_YN;
+            input = pick("y", "x", repeat("y", 1000));
+        } else if(pattern.equals("CHAR")) {
+            regex = Constants.MATCH_CHAR;
+            input = pick("b", "bacon", repeat("b", 1000));
+        } else if(pattern.equals("NOT_EMPTY")) {
+            regex = Constants.MATCH_NOT_EMPTY;
+            input = pick("Murray", "", repeat("m", 1000) + "\n");
+        } else if(pattern.equals("ANY")) {
+            regex = Constants.MATCH_ANY;
+            input = pick("Murray", "Ben\nMurray", repeat("m", 1000) + "\n");
+        } else {
+            throw new IllegalArgumentException(pattern);
+        }
+        compiled = Pattern.compile(regex);
+    }
+
+    private String pick(String valid, String invalid, String adversarial) {
+        if(inputKind.equals("valid")) {
+            return valid;
+        } else if(inputKind.equals("invalid")) {
+            return invalid;
+        }
+        return adversarial;
+    }
+
+    private static String repeat(String value, int count) {
+        StringBuilder builder = new StringBuilder(value.length() * count);
+        for(int i = 0; i < count; i++) {
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+
+    @Benchmark
+    public boolean stringMatches() {
+        return input.matches(regex);
+    }
+
+    @Benchmark
+    public boolean compiledRegex() {
+        return compiled.matcher(input).matches();
+    }
+
+    @Benchmark
+    public boolean registry() {
+        return PatternRegistry.matches(input, regex);
+    }
+}
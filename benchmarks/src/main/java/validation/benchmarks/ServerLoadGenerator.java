@@ -0,0 +1,199 @@
+package validation.benchmarks;
+
+import validation.ValidationClient;
+import validation.ValidationResult;
+import validation.ValidationServer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Load generator for {@link ValidationServer}. Each connection runs on its own thread and repeatedly sends a batch
+ * of requests, flushes it and reads the responses back. Reports throughput in requests per second and the round
+ * trip latency of a batch; with {@code -b 1} that is the latency of a single request.
+ *
+ * <p>Without {@code -h} an embedded server is started on a free loopback port, so the numbers include both sides
+ * but no network.
+ *
+ * <blockquote><pre>
+ * mvn -f benchmarks/pom.xml package
+ * java -cp benchmarks/target/benchmarks.jar validation.benchmarks.ServerLoadGenerator [options]
+ *
+ *   -h host    server to load, default: start an embedded server
+ *   -p port    port of the server (default 7463)
+ *   -c n       connections (default 8)
+ *   -b n       requests per batch (default 64)
+ *   -w s       warmup seconds, not measured (default 5)
+ *   -d s       measured seconds (default 10)
+ * </pre></blockquote>
+ */
+public final class ServerLoadGenerator {
+    private ServerLoadGenerator() {}
+
+    /**
+     * Rule, value and expected response code of the requests, cycled through by every connection
+     */
+    private static final Object[][] REQUESTS = {
+            {"email", "john.smith@example.com", ValidationResult.VALID},
+            {"email", "john.smith.example.com", ValidationResult.INVALID_STRING},
+            {"int", "12345", ValidationResult.VALID},
+            {"int", "12a45", ValidationResult.INVALID_INT},
+            {"double", "3.14159", ValidationResult.VALID},
+            {"ssn", "123-45-6789", ValidationResult.VALID},
+            {"ssn", "123-456-789", ValidationResult.INVALID_STRING},
+            {"yn", "y", ValidationResult.VALID},
+            {"notEmpty", "Bacon", ValidationResult.VALID},
+            {"char", "", ValidationResult.INVALID_CHAR},
+    };
+
+    public static void main(String[] args) throws Exception {
+        String host = null;
+        int port = ValidationServer.DEFAULT_PORT;
+        int connections = 8;
+        int batchSize = 64;
+        int warmupSeconds = 5;
+        int seconds = 10;
+        try {
+            for(int i = 0; i < args.length; i += 2) {
+                String value = args[i + 1];
+                if(args[i].equals("-h")) {
+                    host = value;
+                } else if(args[i].equals("-p")) {
+                    port = Integer.parseInt(value);
+                } else if(args[i].equals("-c")) {
+                    connections = Integer.parseInt(value);
+                } else if(args[i].equals("-b")) {
+                    batchSize = Integer.parseInt(value);
+                } else if(args[i].equals("-w")) {
+                    warmupSeconds = Integer.parseInt(value);
+                } else if(args[i].equals("-d")) {
+                    seconds = Integer.parseInt(value);
+                } else {
+                    throw new IllegalArgumentException(args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Usage: ServerLoadGenerator [-h host] [-p port] [-c connections] [-b batchSize] [-w warmupSeconds] [-d seconds]");
+            System.exit(2);
+        }
+
+        ValidationServer server = null;
+        if(host == null) {
+            server = ValidationServer.builder().port(0).start();
+            host = "localhost";
+            port = server.getPort();
+            System.out.println("Embedded " + server + (server.isVirtualThreads() ? " on virtual threads" : ""));
+        }
+        System.out.println(connections + " connections, batches of " + batchSize + ", " + warmupSeconds + " s warmup, "
+                + seconds + " s measured");
+
+        long warmupEnd = System.nanoTime() + warmupSeconds * 1000000000L;
+        long end = warmupEnd + seconds * 1000000000L;
+        Connection[] workers = new Connection[connections];
+        CountDownLatch done = new CountDownLatch(connections);
+        for(int i = 0; i < connections; i++) {
+            workers[i] = new Connection(ValidationClient.connect(host, port), batchSize, warmupEnd, end, i, done);
+            Thread thread = new Thread(workers[i], "load-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        long requests = 0;
+        long mismatches = 0;
+        int latencyCount = 0;
+        for(Connection worker : workers) {
+            if(worker.failure != null) {
+                throw worker.failure;
+            }
+            requests += worker.requests;
+            mismatches += worker.mismatches;
+            latencyCount += worker.latencyCount;
+        }
+        long[] all = new long[latencyCount];
+        int position = 0;
+        for(int i = 0; i < workers.length; i++) {
+            System.arraycopy(workers[i].latencies, 0, all, position, workers[i].latencyCount);
+            position += workers[i].latencyCount;
+        }
+        Arrays.sort(all);
+
+        System.out.printf("Throughput: %,.0f requests/s (%,d requests, %,d unexpected responses)%n",
+                requests / (double) seconds, requests, mismatches);
+        System.out.printf("Batch round trip (us): p50 %.1f  p90 %.1f  p99 %.1f  p99.9 %.1f  max %.1f%n",
+                percentile(all, 50), percentile(all, 90), percentile(all, 99), percentile(all, 99.9),
+                all.length == 0 ? 0 : all[all.length - 1] / 1000.0);
+        if(server != null) {
+            server.close();
+        }
+    }
+
+    /**
+     * @return Nearest rank percentile of sorted nanosecond latencies, in microseconds
+     */
+    private static double percentile(long[] sorted, double percentile) {
+        if(sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)] / 1000.0;
+    }
+
+    private static final class Connection implements Runnable {
+        private final ValidationClient client;
+        private final int batchSize;
+        private final long warmupEnd;
+        private final long end;
+        private final CountDownLatch done;
+        private int next;
+        long requests;
+        long mismatches;
+        long[] latencies = new long[1 << 16];
+        int latencyCount;
+        Exception failure;
+
+        Connection(ValidationClient client, int batchSize, long warmupEnd, long end, int offset, CountDownLatch done) {
+            this.client = client;
+            this.batchSize = batchSize;
+            this.warmupEnd = warmupEnd;
+            this.end = end;
+            this.next = offset;
+            this.done = done;
+        }
+
+        public void run() {
+            try {
+                long now = System.nanoTime();
+                while(now < end) {
+                    int first = next;
+                    for(int i = 0; i < batchSize; i++) {
+                        Object[] request = REQUESTS[(first + i) % REQUESTS.length];
+                        client.send((String) request[0], (String) request[1]);
+                    }
+                    client.flush();
+                    for(int i = 0; i < batchSize; i++) {
+                        if(client.receive() != (Integer) REQUESTS[(first + i) % REQUESTS.length][2]) {
+                            mismatches++;
+                        }
+                    }
+                    next = (first + batchSize) % REQUESTS.length;
+                    long finished = System.nanoTime();
+                    if(now >= warmupEnd) {
+                        requests += batchSize;
+                        if(latencyCount == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, latencyCount * 2);
+                        }
+                        latencies[latencyCount++] = finished - now;
+                    }
+                    now = finished;
+                }
+                client.close();
+            } catch (IOException e) {
+                failure = e;
+            } finally {
+                done.countDown();
+            }
+        }
+    }
+}
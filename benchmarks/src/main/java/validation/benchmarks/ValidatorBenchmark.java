@@ -0,0 +1,426 @@
+package validation.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import validation.CharSet;
+import validation.ConsoleIO;
+import validation.Constants;
+import validation.DoubleConstraint;
+import validation.IntConstraint;
+import validation.InvalidJTextComponentInputException;
+import validation.SwingValidator;
+import validation.ValidationRule;
+import validation.Validator;
+
+import javax.swing.JTextField;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmarks every public {@link Validator} and {@link SwingValidator} entry point that reads a Scanner or a
+ * JTextComponent, including the deprecated JTextComponent methods of Validator. The {@link ConsoleIO} overloads
+ * run the same checks as the Scanner ones, so only the common ones are measured, see the {@code console*}
+ * benchmarks.
+ *
+ * <p>The console methods read from a Scanner over endless input. Each line is accepted on the first try, except
+ * in the {@code *Retry} benchmarks where one rejected line comes first, so they include printing the error
+ * message. Console output goes to a discarding stream so terminal speed is not measured. The {@code console*}
+ * benchmarks run the same checks through a buffered, non-interactive {@link ConsoleIO}.
+ *
+ * <p>The JTextComponent methods run against headless text fields, once with valid and once with invalid text.
+ * The invalid case includes creating and catching the exception.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class ValidatorBenchmark {
+
+    private static final Pattern CUSTOMER_NUMBER = Pattern.compile("[A-Za-z]{1}[0-9]{5}");
+    private static final IntConstraint PERCENT = IntConstraint.range(0, 100);
+    private static final IntConstraint QUANTITY = IntConstraint.builder().range(1, 10).values(12, 24, 48).build();
+    private static final DoubleConstraint AMOUNT = DoubleConstraint.range(0, 10000);
+    private static final CharSet MENU = CharSet.of("BSE");
+    private static final ValidationRule EMAIL = ValidationRule.email();
+
+    private PrintStream originalOut;
+
+    private Scanner intInput;
+    private Scanner intRetryInput;
+    private Scanner doubleInput;
+    private Scanner doubleRetryInput;
+    private Scanner charInput;
+    private Scanner charRetryInput;
+    private Scanner stringInput;
+    private Scanner emailInput;
+    private Scanner emailRetryInput;
+    private Scanner customPatternInput;
+    private Scanner intNoRangeInput;
+    private Scanner charAnyInput;
+    private Scanner charErrorMessageInput;
+    private Scanner stringAnyInput;
+    private Scanner compiledPatternInput;
+    private Scanner compiledPatternErrorMessageInput;
+    private Scanner intConstraintInput;
+    private Scanner doubleConstraintInput;
+    private Scanner charSetInput;
+    private Scanner ruleInput;
+    private Scanner ssnInput;
+    private Scanner yesNoInput;
+
+    private ConsoleIO consoleIntInput;
+    private ConsoleIO consoleIntRetryInput;
+    private ConsoleIO consoleCharInput;
+    private ConsoleIO consoleEmailInput;
+
+    private JTextField validInt;
+    private JTextField invalidInt;
+    private JTextField validDouble;
+    private JTextField invalidDouble;
+    private JTextField validEmail;
+    private JTextField invalidEmail;
+
+    @Setup
+    public void setUp() {
+        originalOut = System.out;
+        PrintStream discard = new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) { }
+
+            @Override
+            public void write(byte[] b, int off, int len) { }
+        });
+        System.setOut(discard);
+
+        intInput = new Scanner(new CyclingReadable("42"));
+        intRetryInput = new Scanner(new CyclingReadable("forty-two", "42"));
+        doubleInput = new Scanner(new CyclingReadable("3.14159"));
+        doubleRetryInput = new Scanner(new CyclingReadable("pi", "3.14159"));
+        charInput = new Scanner(new CyclingReadable("b"));
+        charRetryInput = new Scanner(new CyclingReadable("x", "b"));
+        stringInput = new Scanner(new CyclingReadable("Murray"));
+        emailInput = new Scanner(new CyclingReadable("validation@my.stlcc.edu"));
+        emailRetryInput = new Scanner(new CyclingReadable("validation.my.stlcc.edu", "validation@my.stlcc.edu"));
+        customPatternInput = new Scanner(new CyclingReadable("M12345"));
+        intNoRangeInput = new Scanner(new CyclingReadable("42"));
+        charAnyInput = new Scanner(new CyclingReadable("b"));
+        charErrorMessageInput = new Scanner(new CyclingReadable("b"));
+        stringAnyInput = new Scanner(new CyclingReadable("Murray"));
+        compiledPatternInput = new Scanner(new CyclingReadable("validation@my.stlcc.edu"));
+        compiledPatternErrorMessageInput = new Scanner(new CyclingReadable("M12345"));
+        intConstraintInput = new Scanner(new CyclingReadable("24"));
+        doubleConstraintInput = new Scanner(new CyclingReadable("1234.56"));
+        charSetInput = new Scanner(new CyclingReadable("b"));
+        ruleInput = new Scanner(new CyclingReadable("validation@my.stlcc.edu"));
+        ssnInput = new Scanner(new CyclingReadable("123-45-6789"));
+        yesNoInput = new Scanner(new CyclingReadable("y"));
+
+        consoleIntInput = ConsoleIO.buffered(new CyclingReadable("42"), discard, false);
+        consoleIntRetryInput = ConsoleIO.buffered(new CyclingReadable("forty-two", "42"), discard, false);
+        consoleCharInput = ConsoleIO.buffered(new CyclingReadable("b"), discard, false);
+        consoleEmailInput = ConsoleIO.buffered(new CyclingReadable("validation@my.stlcc.edu"), discard, false);
+
+        validInt = new JTextField("87");
+        invalidInt = new JTextField("eighty-seven");
+        validDouble = new JTextField("1234.56");
+        invalidDouble = new JTextField("1,234.56");
+        validEmail = new JTextField("validation@my.stlcc.edu");
+        invalidEmail = new JTextField("validation.my.stlcc.edu");
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    // Console
+
+    @Benchmark
+    public int getInt() {
+        return Validator.getInt(intInput, "", 0, 100);
+    }
+
+    @Benchmark
+    public int getIntNoRange() {
+        return Validator.getInt(intNoRangeInput, "");
+    }
+
+    @Benchmark
+    public int getIntRetry() {
+        return Validator.getInt(intRetryInput, "", 0, 100);
+    }
+
+    @Benchmark
+    public double getDouble() {
+        return Validator.getDouble(doubleInput, "");
+    }
+
+    @Benchmark
+    public double getDoubleRetry() {
+        return Validator.getDouble(doubleRetryInput, "", 0, 10);
+    }
+
+    @Benchmark
+    public char getChar() {
+        return Validator.getChar(charInput, "", "BSE");
+    }
+
+    @Benchmark
+    public char getCharAny() {
+        return Validator.getChar(charAnyInput, "");
+    }
+
+    @Benchmark
+    public char getCharErrorMessage() {
+        return Validator.getChar(charErrorMessageInput, "", "BSE", "Please enter B, S or E.");
+    }
+
+    @Benchmark
+    public char getCharRetry() {
+        return Validator.getChar(charRetryInput, "", "BSE");
+    }
+
+    @Benchmark
+    public String getStringAny() {
+        return Validator.getString(stringAnyInput, "");
+    }
+
+    @Benchmark
+    public String getString() {
+        return Validator.getString(stringInput, "", Constants.MATCH_NOT_EMPTY);
+    }
+
+    @Benchmark
+    public String getStringEmail() {
+        return Validator.getString(emailInput, "", Constants.MATCH_EMAIL);
+    }
+
+    @Benchmark
+    public String getStringEmailRetry() {
+        return Validator.getString(emailRetryInput, "", Constants.MATCH_EMAIL);
+    }
+
+    @Benchmark
+    public String getStringCustomPattern() {
+        return Validator.getString(customPatternInput, "", "[A-Za-z]{1}[0-9]{5}", "Please enter a valid customer number (ex: M12345).");
+    }
+
+    @Benchmark
+    public String getStringCompiledPattern() {
+        return Validator.getString(compiledPatternInput, "", Constants.PATTERN_EMAIL);
+    }
+
+    @Benchmark
+    public String getStringCompiledPatternErrorMessage() {
+        return Validator.getString(compiledPatternErrorMessageInput, "", CUSTOMER_NUMBER,
+                "Please enter a valid customer number (ex: M12345).");
+    }
+
+    @Benchmark
+    public int getIntConstraint() {
+        return Validator.getInt(intConstraintInput, "", QUANTITY);
+    }
+
+    @Benchmark
+    public double getDoubleConstraint() {
+        return Validator.getDouble(doubleConstraintInput, "", AMOUNT);
+    }
+
+    @Benchmark
+    public char getCharSet() {
+        return Validator.getChar(charSetInput, "", MENU);
+    }
+
+    @Benchmark
+    public String getStringRule() {
+        return Validator.getString(ruleInput, "", EMAIL, "Please enter a valid email address.");
+    }
+
+    @Benchmark
+    public int getSsn() {
+        return Validator.getSsn(ssnInput, "");
+    }
+
+    @Benchmark
+    public boolean getYesNo() {
+        return Validator.getYesNo(yesNoInput, "");
+    }
+
+    // Console through a buffered ConsoleIO
+
+    @Benchmark
+    public int consoleGetInt() {
+        return Validator.getInt(consoleIntInput, "", 0, 100);
+    }
+
+    @Benchmark
+    public int consoleGetIntRetry() {
+        return Validator.getInt(consoleIntRetryInput, "", 0, 100);
+    }
+
+    @Benchmark
+    public char consoleGetChar() {
+        return Validator.getChar(consoleCharInput, "", "BSE");
+    }
+
+    @Benchmark
+    public String consoleGetStringEmail() {
+        return Validator.getString(consoleEmailInput, "", Constants.MATCH_EMAIL);
+    }
+
+    // JTextComponent
+
+    @Benchmark
+    public int getIntJTextComponent() {
+        return SwingValidator.getInt(validInt, "", 0, 100);
+    }
+
+    @Benchmark
+    public int getIntJTextComponentNoRange() {
+        return SwingValidator.getInt(validInt, "");
+    }
+
+    @Benchmark
+    public int getIntJTextComponentMinimum() {
+        return SwingValidator.getInt(validInt, "", 0);
+    }
+
+    @Benchmark
+    public int getIntJTextComponentConstraint() {
+        return SwingValidator.getInt(validInt, "", PERCENT);
+    }
+
+    @Benchmark
+    public Object getIntJTextComponentInvalid() {
+        try {
+            return SwingValidator.getInt(invalidInt, "", 0, 100);
+        } catch (InvalidJTextComponentInputException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public double getDoubleJTextComponent() {
+        return SwingValidator.getDouble(validDouble, "");
+    }
+
+    @Benchmark
+    public double getDoubleJTextComponentRange() {
+        return SwingValidator.getDouble(validDouble, "", 0, 10000);
+    }
+
+    @Benchmark
+    public double getDoubleJTextComponentConstraint() {
+        return SwingValidator.getDouble(validDouble, "", AMOUNT);
+    }
+
+    @Benchmark
+    public Object getDoubleJTextComponentInvalid() {
+        try {
+            return SwingValidator.getDouble(invalidDouble, "");
+        } catch (InvalidJTextComponentInputException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public String getStringJTextComponent() {
+        return SwingValidator.getString(validEmail, "", Constants.MATCH_EMAIL);
+    }
+
+    @Benchmark
+    public String getStringJTextComponentCompiledPattern() {
+        return SwingValidator.getString(validEmail, "", Constants.PATTERN_EMAIL);
+    }
+
+    @Benchmark
+    public Object getInputFromJTextComponentInvalid() {
+        try {
+            return SwingValidator.getInputFromJTextComponent(invalidEmail, "", Constants.MATCH_EMAIL);
+        } catch (InvalidJTextComponentInputException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public void setAndClearErrorField(Blackhole blackhole) {
+        SwingValidator.setErrorField(invalidEmail);
+        blackhole.consume(SwingValidator.isErrorField(invalidEmail));
+        SwingValidator.clearErrorField(invalidEmail);
+    }
+
+    @Benchmark
+    public void setErrorFieldAndReset() {
+        SwingValidator.setErrorField(invalidInt);
+        SwingValidator.setErrorField(invalidDouble);
+        SwingValidator.resetErrorFields();
+    }
+
+    // Deprecated JTextComponent methods of Validator, which forward to SwingValidator
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public int validatorGetIntJTextComponent() {
+        return Validator.getInt(validInt, "", 0, 100);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public int validatorGetIntJTextComponentNoRange() {
+        return Validator.getInt(validInt, "");
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public int validatorGetIntJTextComponentMinimum() {
+        return Validator.getInt(validInt, "", 0);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public double validatorGetDoubleJTextComponent() {
+        return Validator.getDouble(validDouble, "");
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public double validatorGetDoubleJTextComponentRange() {
+        return Validator.getDouble(validDouble, "", 0, 10000);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public String validatorGetStringJTextComponent() {
+        return Validator.getString(validEmail, "", Constants.MATCH_EMAIL);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public String validatorGetStringJTextComponentCompiledPattern() {
+        return Validator.getString(validEmail, "", Constants.PATTERN_EMAIL);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public Object validatorGetInputFromJTextComponentInvalid() {
+        try {
+            return Validator.getInputFromJTextComponent(invalidEmail, "", Constants.PATTERN_EMAIL);
+        } catch (InvalidJTextComponentInputException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public void validatorSetErrorFieldAndReset() {
+        Validator.setErrorField(invalidInt);
+        Validator.clearErrorField(invalidInt);
+        Validator.setErrorField(invalidDouble);
+        Validator.resetErrorFields();
+    }
+}
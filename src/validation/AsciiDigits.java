@@ -0,0 +1,303 @@
+package validation;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * {@code AsciiDigits} validates digit runs, SSNs and ints stored as ASCII bytes, for example fixed width columns
+ * of a file, without decoding them to characters.
+ *
+ * <p>Inputs of 8 bytes or more are checked 8 bytes at a time: each group is read as one {@code long} and all 8
+ * bytes are tested with a few word wide operations (SWAR, SIMD within a register). Shorter inputs and the bytes
+ * SWAR does not cover are checked one byte at a time. Both paths accept exactly the same inputs as the
+ * corresponding {@link Constants} patterns or {@link NumberParser} on the decoded text.
+ *
+ * <p>Methods taking a {@link ByteBuffer} use absolute positions and never change its position or limit. They
+ * read heap buffers through their backing array and work on direct and read-only buffers as well.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * for (int record = 0; record &lt; recordCount; record++) {
+ *     int field = record * RECORD_LENGTH + SSN_OFFSET;
+ *     if (!AsciiDigits.isSsn(data, field, field + 11)) {
+ *         rejected++;
+ *     }
+ * }
+ * </pre></blockquote>
+ *
+ * @see BulkFileValidator
+ * @see NumberParser
+ */
+public final class AsciiDigits {
+    private AsciiDigits() {}
+
+    /**
+     * Returned by the parse methods for input that is not an int
+     */
+    public static final long NOT_AN_INT = Long.MIN_VALUE;
+
+    private static final VarHandle ARRAY_LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // One byte per lane, the byte at the lowest index in the lowest lane
+    private static final long ZEROS = 0x3030303030303030L;
+    private static final long SIXES = 0x0606060606060606L;
+    private static final long HIGH_NIBBLES = 0xF0F0F0F0F0F0F0F0L;
+    private static final long DASHES = 0x2D2D2D2D2D2D2D2DL;
+
+    /**
+     * Dash lanes of the first and last 8 bytes of each SSN layout
+     */
+    private static final long NINE_DIGITS = 0;
+    private static final long DASH_AT_3_FIRST = dashLanes(3, -1, 0);
+    private static final long DASH_AT_3_LAST = dashLanes(3, -1, 2);
+    private static final long DASH_AT_5_FIRST = dashLanes(5, -1, 0);
+    private static final long DASH_AT_5_LAST = dashLanes(5, -1, 2);
+    private static final long DASHES_FIRST = dashLanes(3, 6, 0);
+    private static final long DASHES_LAST = dashLanes(3, 6, 3);
+
+    /**
+     * @param bytes    Input bytes
+     * @param start    Index of the first byte
+     * @param end      Index after the last byte
+     * @return {@code true} if the range is not empty and holds only the digits 0 to 9
+     */
+    public static boolean isDigits(byte[] bytes, int start, int end) {
+        return isDigits(bytes, null, start, end);
+    }
+
+    /**
+     * @param buffer    Buffer holding the input
+     * @param start     Position of the first byte
+     * @param end       Position after the last byte
+     * @return {@code true} if the range is not empty and holds only the digits 0 to 9
+     */
+    public static boolean isDigits(ByteBuffer buffer, int start, int end) {
+        if(buffer.hasArray()) {
+            return isDigits(buffer.array(), null, start + buffer.arrayOffset(), end + buffer.arrayOffset());
+        }
+        return isDigits(null, buffer, start, end);
+    }
+
+    /**
+     * @param bytes    Input bytes
+     * @param start    Index of the first byte
+     * @param end      Index after the last byte
+     * @return {@code true} if the range <b>entirely</b> matches {@link Constants#MATCH_SSN}
+     */
+    public static boolean isSsn(byte[] bytes, int start, int end) {
+        return isSsn(bytes, null, start, end);
+    }
+
+    /**
+     * @param buffer    Buffer holding the input
+     * @param start     Position of the first byte
+     * @param end       Position after the last byte
+     * @return {@code true} if the range <b>entirely</b> matches {@link Constants#MATCH_SSN}
+     */
+    public static boolean isSsn(ByteBuffer buffer, int start, int end) {
+        if(buffer.hasArray()) {
+            return isSsn(buffer.array(), null, start + buffer.arrayOffset(), end + buffer.arrayOffset());
+        }
+        return isSsn(null, buffer, start, end);
+    }
+
+    /**
+     * Parses an int with the same syntax as {@link NumberParser}: an optional sign followed by digits, any
+     * number of them leading zeros
+     *
+     * @param bytes    Input bytes
+     * @param start    Index of the first byte
+     * @param end      Index after the last byte
+     * @return The value, or {@link #NOT_AN_INT} if the range is not an int
+     */
+    public static long parseInt(byte[] bytes, int start, int end) {
+        return parseInt(bytes, null, start, end);
+    }
+
+    /**
+     * @param buffer    Buffer holding the input
+     * @param start     Position of the first byte
+     * @param end       Position after the last byte
+     * @return The value, or {@link #NOT_AN_INT} if the range is not an int
+     * @see #parseInt(byte[], int, int)
+     */
+    public static long parseInt(ByteBuffer buffer, int start, int end) {
+        if(buffer.hasArray()) {
+            return parseInt(buffer.array(), null, start + buffer.arrayOffset(), end + buffer.arrayOffset());
+        }
+        return parseInt(null, buffer, start, end);
+    }
+
+    /**
+     * @param bytes           Input bytes
+     * @param start           Index of the first byte
+     * @param end             Index after the last byte
+     * @param minimumValue    Minimum allowed value
+     * @param maximumValue    Maximum allowed value
+     * @return {@code true} if the range is an int within the <b>inclusive</b> range
+     */
+    public static boolean isInt(byte[] bytes, int start, int end, int minimumValue, int maximumValue) {
+        long value = parseInt(bytes, start, end);
+        return value != NOT_AN_INT && value >= minimumValue && value <= maximumValue;
+    }
+
+    /**
+     * @param buffer          Buffer holding the input
+     * @param start           Position of the first byte
+     * @param end             Position after the last byte
+     * @param minimumValue    Minimum allowed value
+     * @param maximumValue    Maximum allowed value
+     * @return {@code true} if the range is an int within the <b>inclusive</b> range
+     */
+    public static boolean isInt(ByteBuffer buffer, int start, int end, int minimumValue, int maximumValue) {
+        long value = parseInt(buffer, start, end);
+        return value != NOT_AN_INT && value >= minimumValue && value <= maximumValue;
+    }
+
+    // Each check below reads from exactly one of bytes and buffer, the other one is null
+
+    static boolean isDigits(byte[] bytes, ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        if(length < Long.BYTES) {
+            return length > 0 && isDigitsScalar(bytes, buffer, start, end);
+        }
+        int position = start;
+        for(; position <= end - Long.BYTES; position += Long.BYTES) {
+            if(!isDigitWord(word(bytes, buffer, position))) {
+                return false;
+            }
+        }
+        // The last, partial group is checked by reading the last 8 bytes again
+        return position == end || isDigitWord(word(bytes, buffer, end - Long.BYTES));
+    }
+
+    static boolean isSsn(byte[] bytes, ByteBuffer buffer, int start, int end) {
+        switch (end - start) {
+            case 9:
+                return matchesWord(word(bytes, buffer, start), NINE_DIGITS)
+                        && matchesWord(word(bytes, buffer, start + 1), NINE_DIGITS);
+            case 10:
+                if(byteAt(bytes, buffer, start + 3) == '-') {
+                    return matchesWord(word(bytes, buffer, start), DASH_AT_3_FIRST)
+                            && matchesWord(word(bytes, buffer, start + 2), DASH_AT_3_LAST);
+                }
+                return matchesWord(word(bytes, buffer, start), DASH_AT_5_FIRST)
+                        && matchesWord(word(bytes, buffer, start + 2), DASH_AT_5_LAST);
+            case 11:
+                return matchesWord(word(bytes, buffer, start), DASHES_FIRST)
+                        && matchesWord(word(bytes, buffer, start + 3), DASHES_LAST);
+            default:
+                return false;
+        }
+    }
+
+    static long parseInt(byte[] bytes, ByteBuffer buffer, int start, int end) {
+        if(start >= end) {
+            return NOT_AN_INT;
+        }
+        boolean negative = false;
+        byte first = byteAt(bytes, buffer, start);
+        if(first == '-' || first == '+') {
+            negative = first == '-';
+            start++;
+        }
+        if(!isDigits(bytes, buffer, start, end)) {
+            return NOT_AN_INT;
+        }
+        while(start < end - 1 && byteAt(bytes, buffer, start) == '0') {
+            start++;
+        }
+        int length = end - start;
+        if(length > 10) {
+            return NOT_AN_INT;
+        }
+        long value;
+        if(length >= Long.BYTES) {
+            value = parseDigitsScalar(bytes, buffer, start, end - Long.BYTES) * 100000000L
+                    + parseEightDigits(word(bytes, buffer, end - Long.BYTES));
+        } else {
+            value = parseDigitsScalar(bytes, buffer, start, end);
+        }
+        value = negative ? -value : value;
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? NOT_AN_INT : value;
+    }
+
+    /**
+     * Byte at a time digit check, also used for inputs shorter than a word
+     */
+    static boolean isDigitsScalar(byte[] bytes, ByteBuffer buffer, int start, int end) {
+        for(int i = start; i < end; i++) {
+            byte b = byteAt(bytes, buffer, i);
+            if(b < '0' || b > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseDigitsScalar(byte[] bytes, ByteBuffer buffer, int start, int end) {
+        long value = 0;
+        for(int i = start; i < end; i++) {
+            value = value * 10 + byteAt(bytes, buffer, i) - '0';
+        }
+        return value;
+    }
+
+    /**
+     * @return {@code true} if all 8 bytes are digits: the high nibble of each byte is 3, and stays 3 when 6 is
+     *         added, which only happens for low nibbles 0 to 9. No lane can carry into the next unless its own
+     *         high nibble is already wrong.
+     */
+    private static boolean isDigitWord(long word) {
+        return (word & HIGH_NIBBLES) == ZEROS && ((word + SIXES) & HIGH_NIBBLES) == ZEROS;
+    }
+
+    /**
+     * @return {@code true} if the dash lanes hold '-' and all other lanes hold digits. A lane that is not a
+     *         valid dash fails the dash check, so a carry out of it cannot cause a false match.
+     */
+    private static boolean matchesWord(long word, long dashLanes) {
+        long digitLanes = ~dashLanes;
+        return (word & dashLanes) == (DASHES & dashLanes)
+                && (word & HIGH_NIBBLES & digitLanes) == (ZEROS & digitLanes)
+                && ((word + SIXES) & HIGH_NIBBLES & digitLanes) == (ZEROS & digitLanes);
+    }
+
+    /**
+     * Converts 8 digit bytes to their value with three multiplications, combining neighbouring digits, then
+     * pairs, then quadruples
+     */
+    private static long parseEightDigits(long word) {
+        long digits = word - ZEROS;
+        digits = digits * 10 + (digits >>> 8);
+        return ((digits & 0x000000FF000000FFL) * (100 + (1000000L << 32))
+                + ((digits >>> 16) & 0x000000FF000000FFL) * (1 + (10000L << 32))) >>> 32;
+    }
+
+    /**
+     * @return Mask with 0xFF in the lanes of a word read at {@code offset} that hold one of the dash positions
+     */
+    private static long dashLanes(int firstDash, int secondDash, int offset) {
+        long mask = 0;
+        for(int lane = 0; lane < Long.BYTES; lane++) {
+            if(offset + lane == firstDash || offset + lane == secondDash) {
+                mask |= 0xFFL << (lane * 8);
+            }
+        }
+        return mask;
+    }
+
+    private static long word(byte[] bytes, ByteBuffer buffer, int index) {
+        if(bytes != null) {
+            return (long) ARRAY_LONGS.get(bytes, index);
+        }
+        long word = buffer.getLong(index);
+        return buffer.order() == ByteOrder.LITTLE_ENDIAN ? word : Long.reverseBytes(word);
+    }
+
+    private static byte byteAt(byte[] bytes, ByteBuffer buffer, int index) {
+        return bytes != null ? bytes[index] : buffer.get(index);
+    }
+}
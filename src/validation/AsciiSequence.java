@@ -0,0 +1,61 @@
+package validation;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reusable {@code CharSequence} view over a range of bytes in a buffer, one character per byte. Used to run the
+ * validation rules directly over ASCII input without decoding it to a String.
+ *
+ * <p>Reads use absolute positions, so the position and limit of the buffer are never changed. The view is
+ * rewrapped for every value and must not be shared between threads.
+ */
+final class AsciiSequence implements CharSequence {
+    private ByteBuffer buffer;
+    private int start;
+    private int end;
+
+    /**
+     * Points the view at {@code buffer[start, end)}
+     *
+     * @return this view
+     */
+    AsciiSequence wrap(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+        return this;
+    }
+
+    /**
+     * @return {@code true} if every byte in {@code buffer[start, end)} is ASCII
+     */
+    static boolean isAscii(ByteBuffer buffer, int start, int end) {
+        for(int i = start; i < end; i++) {
+            if(buffer.get(i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int length() {
+        return end - start;
+    }
+
+    public char charAt(int index) {
+        return (char) (buffer.get(start + index) & 0xFF);
+    }
+
+    public CharSequence subSequence(int from, int to) {
+        char[] chars = new char[to - from];
+        for(int i = 0; i < chars.length; i++) {
+            chars[i] = charAt(from + i);
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public String toString() {
+        return subSequence(0, length()).toString();
+    }
+}
@@ -0,0 +1,100 @@
+package validation;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@code BulkFileValidator} validates every line of a newline delimited file against one {@link ValidationRule},
+ * for example a nightly dump of email addresses or amounts.
+ *
+ * <p>The file is memory mapped and split into lines at the byte level. Each line is validated in place as ASCII
+ * (lines with other characters are decoded as UTF-8 first), so valid lines never become Strings. Lines end at
+ * {@code \n}, a {@code \r} before it is dropped, and a last line without a line break is still validated.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * BulkValidationReport report = BulkFileValidator.validate(Paths.get("emails.txt"),
+ *         ValidationRule.pattern({@link Constants#MATCH_EMAIL MATCH_EMAIL}), 100);
+ * System.out.println(report.getInvalidCount() + " invalid email addresses");
+ * for (BulkValidationReport.Failure failure : report.getFailures()) {
+ *     System.out.println("Line " + (failure.getIndex() + 1) + " at byte " + failure.getByteOffset() + ": " + failure.getValue());
+ * }
+ * </pre></blockquote>
+ *
+ * @see BulkValidationReport
+ * @see ValidationRule
+ */
+public final class BulkFileValidator {
+    private BulkFileValidator() {}
+
+    /**
+     * Largest region of the file mapped at one time
+     */
+    private static final long MAXIMUM_MAPPING_SIZE = 1L << 30;
+
+    /**
+     * Validates every line of a file
+     *
+     * @param file               File to validate
+     * @param rule               Rule each line must pass
+     * @param maximumFailures    Number of failures to keep in detail, further failures are only counted
+     * @return Report with counts, a bitmap of valid lines and the first failures with their byte offsets
+     * @throws IOException if the file cannot be read, or has a single line longer than 1 GiB
+     */
+    public static BulkValidationReport validate(Path file, ValidationRule rule, int maximumFailures) throws IOException {
+        return validate(file, rule, maximumFailures, MAXIMUM_MAPPING_SIZE);
+    }
+
+    static BulkValidationReport validate(Path file, ValidationRule rule, int maximumFailures, long maximumMappingSize) throws IOException {
+        BulkValidationReport report = new BulkValidationReport(rule.getId(), maximumFailures);
+        ValidationResult result = new ValidationResult();
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            long mappingOffset = 0;
+            long lineIndex = 0;
+            while(mappingOffset < fileSize) {
+                long mappingSize = Math.min(maximumMappingSize, fileSize - mappingOffset);
+                boolean lastMapping = mappingOffset + mappingSize == fileSize;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, mappingOffset, mappingSize);
+                int limit = buffer.limit();
+                int lineStart = 0;
+                for(int position = 0; position < limit; position++) {
+                    if(buffer.get(position) == '\n') {
+                        validateLine(rule, buffer, lineStart, position, mappingOffset, lineIndex++, report, result);
+                        lineStart = position + 1;
+                    }
+                }
+                if(lastMapping) {
+                    if(lineStart < limit) {
+                        validateLine(rule, buffer, lineStart, limit, mappingOffset, lineIndex++, report, result);
+                    }
+                    break;
+                }
+                if(lineStart == 0) {
+                    throw new IOException("Line at byte " + mappingOffset + " is longer than " + maximumMappingSize + " bytes");
+                }
+                // Map again from the start of the incomplete line
+                mappingOffset += lineStart;
+            }
+        } finally {
+            channel.close();
+        }
+        return report;
+    }
+
+    private static void validateLine(ValidationRule rule, MappedByteBuffer buffer, int start, int end, long mappingOffset,
+                                     long lineIndex, BulkValidationReport report, ValidationResult result) {
+        if(end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        if(rule.validate(buffer, start, end, result)) {
+            report.recordValid(lineIndex);
+        } else {
+            report.recordInvalid(lineIndex, mappingOffset + start, result.getErrorCode(), result.getInput());
+        }
+    }
+}
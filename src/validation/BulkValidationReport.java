@@ -0,0 +1,238 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@code BulkValidationReport} summarizes the validation of many values against one rule: how many were valid,
+ * which ones (as a bitmap indexed by line or element number), how many failed with each error code, and the
+ * first failures in detail.
+ *
+ * @see BulkFileValidator
+ * @see ParallelValidator
+ */
+public final class BulkValidationReport {
+
+    private static final int PAGE_SHIFT = 30;
+
+    /**
+     * One failed value
+     */
+    public static final class Failure {
+        private final long index;
+        private final long byteOffset;
+        private final int errorCode;
+        private final String value;
+
+        Failure(long index, long byteOffset, int errorCode, String value) {
+            this.index = index;
+            this.byteOffset = byteOffset;
+            this.errorCode = errorCode;
+            this.value = value;
+        }
+
+        /**
+         * @return Zero based line or element number of the value
+         */
+        public long getIndex() {
+            return index;
+        }
+
+        /**
+         * @return Offset of the first byte of the line in the file, or -1 for in-memory input
+         */
+        public long getByteOffset() {
+            return byteOffset;
+        }
+
+        /**
+         * @return Error code from {@link ValidationResult}
+         */
+        public int getErrorCode() {
+            return errorCode;
+        }
+
+        /**
+         * @return The value that failed validation
+         */
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return "Failure[index=" + index + ", offset=" + byteOffset + ", error=" + errorCode + ", value=" + value + "]";
+        }
+    }
+
+    private final String ruleId;
+    private final int maximumFailures;
+    private final BitSet validIndexes = new BitSet();
+    /**
+     * Valid bits for the indexes a BitSet cannot hold, from {@link Integer#MAX_VALUE} on, in pages of
+     * {@code 1 << PAGE_SHIFT} bits. Only files with more than 2^31 - 1 lines use it.
+     */
+    private final List<BitSet> higherValidIndexes = new ArrayList<BitSet>();
+    private final List<Failure> failures = new ArrayList<Failure>();
+    private long[] errorCounts = new long[8];
+    private long count;
+    private long validCount;
+
+    BulkValidationReport(String ruleId, int maximumFailures) {
+        this.ruleId = ruleId;
+        this.maximumFailures = maximumFailures;
+    }
+
+    void recordValid(long index) {
+        if(index < Integer.MAX_VALUE) {
+            validIndexes.set((int) index);
+        } else {
+            long offset = index - Integer.MAX_VALUE;
+            int page = (int) (offset >>> PAGE_SHIFT);
+            while(higherValidIndexes.size() <= page) {
+                higherValidIndexes.add(new BitSet());
+            }
+            higherValidIndexes.get(page).set((int) (offset & ((1 << PAGE_SHIFT) - 1)));
+        }
+        validCount++;
+        count++;
+    }
+
+    /**
+     * Counts a valid value whose bit is set separately, see {@link #setValidIndexes(long[])}
+     */
+    void recordValid() {
+        validCount++;
+        count++;
+    }
+
+    /**
+     * Counts a failure and keeps its details while fewer than the maximum number of failures have been kept.
+     * The value is only converted to a String if it is kept.
+     */
+    void recordInvalid(long index, long byteOffset, int errorCode, CharSequence value) {
+        if(errorCode >= errorCounts.length) {
+            long[] grown = new long[Math.max(errorCode + 1, errorCounts.length * 2)];
+            System.arraycopy(errorCounts, 0, grown, 0, errorCounts.length);
+            errorCounts = grown;
+        }
+        errorCounts[errorCode]++;
+        count++;
+        if(failures.size() < maximumFailures) {
+            failures.add(new Failure(index, byteOffset, errorCode, value.toString()));
+        }
+    }
+
+    /**
+     * Replaces the valid bitmap with one built from words filled in by several threads
+     *
+     * @param words    Bitmap words in {@code BitSet.valueOf} order
+     */
+    void setValidIndexes(long[] words) {
+        validIndexes.clear();
+        validIndexes.or(BitSet.valueOf(words));
+    }
+
+    /**
+     * Adds the counts and failures of a report covering the values that come after the ones in this report.
+     * Failures are only taken while fewer than the maximum number of failures have been kept.
+     */
+    void merge(BulkValidationReport following) {
+        if(following.errorCounts.length > errorCounts.length) {
+            long[] grown = new long[following.errorCounts.length];
+            System.arraycopy(errorCounts, 0, grown, 0, errorCounts.length);
+            errorCounts = grown;
+        }
+        for(int i = 0; i < following.errorCounts.length; i++) {
+            errorCounts[i] += following.errorCounts[i];
+        }
+        count += following.count;
+        validCount += following.validCount;
+        validIndexes.or(following.validIndexes);
+        for(int i = 0; i < following.higherValidIndexes.size(); i++) {
+            if(i == higherValidIndexes.size()) {
+                higherValidIndexes.add(new BitSet());
+            }
+            higherValidIndexes.get(i).or(following.higherValidIndexes.get(i));
+        }
+        for(Failure failure : following.failures) {
+            if(failures.size() >= maximumFailures) {
+                break;
+            }
+            failures.add(failure);
+        }
+    }
+
+    /**
+     * @return Identifier of the rule the values were validated against
+     */
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    /**
+     * @return Number of values validated
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return Number of valid values
+     */
+    public long getValidCount() {
+        return validCount;
+    }
+
+    /**
+     * @return Number of invalid values
+     */
+    public long getInvalidCount() {
+        return count - validCount;
+    }
+
+    /**
+     * @param errorCode    Error code from {@link ValidationResult}
+     * @return Number of values that failed with the error code
+     */
+    public long getErrorCount(int errorCode) {
+        return errorCode >= 0 && errorCode < errorCounts.length ? errorCounts[errorCode] : 0;
+    }
+
+    /**
+     * @return Bitmap with a bit set for the index of every valid value below {@link Integer#MAX_VALUE}, which is
+     *         every value unless a file has more lines than that; use {@link #isValid(long)} for the rest. The
+     *         bitmap is not copied.
+     */
+    public BitSet getValidIndexes() {
+        return validIndexes;
+    }
+
+    /**
+     * @param index    Zero based line or element number
+     * @return {@code true} if the value at the index was valid
+     */
+    public boolean isValid(long index) {
+        if(index < Integer.MAX_VALUE) {
+            return validIndexes.get((int) index);
+        }
+        long offset = index - Integer.MAX_VALUE;
+        int page = (int) (offset >>> PAGE_SHIFT);
+        return page < higherValidIndexes.size() && higherValidIndexes.get(page).get((int) (offset & ((1 << PAGE_SHIFT) - 1)));
+    }
+
+    /**
+     * @return The first failures in index order, at most the maximum number requested
+     */
+    public List<Failure> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkValidationReport[rule=" + ruleId + ", count=" + count + ", valid=" + validCount
+                + ", invalid=" + getInvalidCount() + "]";
+    }
+}
@@ -0,0 +1,42 @@
+package validation;
+
+/**
+ * Reusable {@code CharSequence} view over a range of another CharSequence, used to validate the fields of a
+ * delimited line without creating a String per field.
+ *
+ * <p>The view is rewrapped for every value and must not be shared between threads.
+ */
+final class CharSequenceView implements CharSequence {
+    private CharSequence sequence;
+    private int start;
+    private int end;
+
+    /**
+     * Points the view at {@code sequence[start, end)}
+     *
+     * @return this view
+     */
+    CharSequenceView wrap(CharSequence sequence, int start, int end) {
+        this.sequence = sequence;
+        this.start = start;
+        this.end = end;
+        return this;
+    }
+
+    public int length() {
+        return end - start;
+    }
+
+    public char charAt(int index) {
+        return sequence.charAt(start + index);
+    }
+
+    public CharSequence subSequence(int from, int to) {
+        return sequence.subSequence(start + from, start + to);
+    }
+
+    @Override
+    public String toString() {
+        return sequence.subSequence(start, end).toString();
+    }
+}
@@ -0,0 +1,111 @@
+package validation;
+
+import java.util.Arrays;
+
+/**
+ * A {@code CharSet} is a precompiled list of valid characters for {@link Validator#getChar(ConsoleIO, String, CharSet)}
+ * and {@link ValidationEngine#validateChar(CharSequence, CharSet, ValidationResult)}.
+ *
+ * <p>Characters are compared ignoring case, exactly like the {@code validChars} String of the other getChar
+ * methods: a character is contained if its lower case form equals the lower case form of one of the valid
+ * characters. Lower case forms below 256 are kept in a bitmap, any others in a sorted array that is binary
+ * searched, so {@link #contains(int)} never allocates.
+ *
+ * <p>CharSets are immutable and safe to share between threads.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * private static final CharSet MENU_CHOICES = CharSet.of("BSE");
+ * ...
+ * char choice = Validator.getChar(scanner, "Would you like [B]acon or [S]pam, or [E]xit? ", MENU_CHOICES);
+ * </pre></blockquote>
+ *
+ * @see ValidationEngine#validateChar(CharSequence, CharSet, ValidationResult)
+ */
+public final class CharSet {
+
+    /**
+     * Any single character, same as passing {@link Constants#MATCH_CHAR} as the valid characters
+     */
+    public static final CharSet ANY = new CharSet(Constants.MATCH_CHAR, null, null);
+
+    private final String validChars;
+
+    /**
+     * One bit per lower case form below 256, {@code null} for {@link #ANY}
+     */
+    private final long[] latin1;
+
+    /**
+     * Sorted lower case forms of 256 and above
+     */
+    private final int[] others;
+
+    private CharSet(String validChars, long[] latin1, int[] others) {
+        this.validChars = validChars;
+        this.latin1 = latin1;
+        this.others = others;
+    }
+
+    /**
+     * Compiles a list of valid characters. {@link Constants#MATCH_CHAR} returns {@link #ANY}.
+     *
+     * @param validChars    String containing list of valid characters
+     * @return CharSet
+     */
+    public static CharSet of(String validChars) {
+        if(Constants.MATCH_CHAR.equals(validChars)) {
+            return ANY;
+        }
+        long[] latin1 = new long[4];
+        int[] others = new int[validChars.length()];
+        int otherCount = 0;
+        for(int i = 0; i < validChars.length(); ) {
+            int codePoint = validChars.codePointAt(i);
+            int lowerCase = Character.toLowerCase(codePoint);
+            if(lowerCase < 256) {
+                latin1[lowerCase >>> 6] |= 1L << lowerCase;
+            } else {
+                others[otherCount++] = lowerCase;
+            }
+            i += Character.charCount(codePoint);
+        }
+        others = Arrays.copyOf(others, otherCount);
+        Arrays.sort(others);
+        return new CharSet(validChars, latin1, others);
+    }
+
+    /**
+     * @param codePoint    Character to look up
+     * @return {@code true} if the character is one of the valid characters, ignoring case
+     */
+    public boolean contains(int codePoint) {
+        if(latin1 == null) {
+            return true;
+        }
+        int lowerCase = Character.toLowerCase(codePoint);
+        if(lowerCase < 256) {
+            return (latin1[lowerCase >>> 6] & (1L << lowerCase)) != 0;
+        }
+        return Arrays.binarySearch(others, lowerCase) >= 0;
+    }
+
+    /**
+     * @return {@code true} if this is {@link #ANY}
+     */
+    public boolean isAny() {
+        return latin1 == null;
+    }
+
+    /**
+     * @return The valid characters this set was compiled from
+     */
+    public String getValidChars() {
+        return validChars;
+    }
+
+    @Override
+    public String toString() {
+        return validChars;
+    }
+}
@@ -0,0 +1,291 @@
+package validation;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+
+/**
+ * {@code ConsoleIO} is the line input and text output used by the console methods of the {@link Validator}.
+ *
+ * <p>{@link #system()} is built for console tools driven by piped input files: it reads standard input through
+ * its own buffer and splits lines without regular expressions, and collects output in a buffer that is written
+ * to {@code System.out} in large blocks. At a prompt the output is flushed whenever no input is ready to be
+ * read, so a user at a terminal, or a program feeding the input as it goes, sees the prompt before answering;
+ * while the answers are already waiting it is flushed only when the buffer fills, at end of input and when the
+ * JVM exits. Lines end at the same terminators {@code Scanner.nextLine()} recognizes ({@code \r\n},
+ * {@code \n}, {@code \r}, U+0085, U+2028 and U+2029), and reading past the end of input
+ * throws the same {@code NoSuchElementException}, so the Validator behaves exactly as it does with a Scanner.
+ *
+ * <p>Output written directly to {@code System.out} is not part of the buffer. Use {@link #println(String)} for
+ * the program's own output, or call {@link #flush()} before writing to {@code System.out}, to keep the order.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * ConsoleIO console = ConsoleIO.system();
+ * while (true) {
+ *     char choice = Validator.getChar(console, "Would you like [B]acon or [S]pam, or [E]xit? ", "BSE");
+ *     console.println("You chose " + choice);
+ *     ...
+ * }
+ * </pre></blockquote>
+ *
+ * @see Validator#getString(ConsoleIO, String, java.util.regex.Pattern, String)
+ */
+public abstract class ConsoleIO implements Flushable {
+
+    private static ConsoleIO systemConsole;
+
+    ConsoleIO() { }
+
+    /**
+     * Returns the buffered console for {@code System.in} and {@code System.out}. The first call registers a
+     * shutdown hook that flushes the remaining output.
+     *
+     * @return The shared system console
+     */
+    public static synchronized ConsoleIO system() {
+        if(systemConsole == null) {
+            final ConsoleIO console = buffered(new InputStreamReader(System.in), System.out, false);
+            Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+                public void run() {
+                    console.flush();
+                }
+            }, "ConsoleIO flush"));
+            systemConsole = console;
+        }
+        return systemConsole;
+    }
+
+    /**
+     * Creates a buffered console
+     *
+     * @param in             Input to read lines from, read through an internal buffer
+     * @param out            Stream the buffered output is written to
+     * @param interactive    {@code true} to flush the output at every prompt, {@code false} to flush it at a
+     *                       prompt only when no input is ready
+     * @return ConsoleIO
+     */
+    public static ConsoleIO buffered(Reader in, PrintStream out, boolean interactive) {
+        return new BufferedConsole(in, out, interactive);
+    }
+
+    /**
+     * Adapts a Scanner and {@code System.out}, as used by the Scanner methods of the Validator
+     */
+    static ConsoleIO of(Scanner scanner) {
+        return new ScannerConsole(scanner);
+    }
+
+    /**
+     * Reads the next line, without its line terminator
+     *
+     * @return The line
+     * @throws NoSuchElementException if there is no more input
+     */
+    public abstract String readLine();
+
+    /**
+     * Writes text
+     *
+     * @param text    Text to write
+     */
+    public abstract void print(String text);
+
+    /**
+     * Writes text followed by a line separator
+     *
+     * @param text    Text to write
+     */
+    public abstract void println(String text);
+
+    /**
+     * Writes a prompt, making it visible if the user is typing the input
+     *
+     * @param inputPrompt    Prompt to write
+     */
+    public abstract void prompt(String inputPrompt);
+
+    /**
+     * Writes any buffered output
+     */
+    public abstract void flush();
+
+    /**
+     * Unbuffered adapter over a Scanner and {@code System.out}
+     */
+    private static final class ScannerConsole extends ConsoleIO {
+        private final Scanner scanner;
+
+        ScannerConsole(Scanner scanner) {
+            this.scanner = scanner;
+        }
+
+        @Override
+        public String readLine() {
+            return scanner.nextLine();
+        }
+
+        @Override
+        public void print(String text) {
+            System.out.print(text);
+        }
+
+        @Override
+        public void println(String text) {
+            System.out.println(text);
+        }
+
+        @Override
+        public void prompt(String inputPrompt) {
+            System.out.print(inputPrompt);
+        }
+
+        @Override
+        public void flush() {
+            System.out.flush();
+        }
+    }
+
+    /**
+     * Reader with its own line splitter and an output buffer
+     */
+    private static final class BufferedConsole extends ConsoleIO {
+        private static final int INPUT_BUFFER_SIZE = 8192;
+        private static final int OUTPUT_BUFFER_SIZE = 8192;
+        private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+        private final Reader in;
+        private final PrintStream out;
+        private final boolean interactive;
+        private final char[] input = new char[INPUT_BUFFER_SIZE];
+        private int position;
+        private int limit;
+        private boolean endOfInput;
+
+        /**
+         * The last line ended with {@code \r}, so a {@code \n} at the start of the next read belongs to it
+         */
+        private boolean skipLineFeed;
+        private final StringBuilder longLine = new StringBuilder();
+        private final StringBuilder output = new StringBuilder(OUTPUT_BUFFER_SIZE);
+
+        BufferedConsole(Reader in, PrintStream out, boolean interactive) {
+            this.in = in;
+            this.out = out;
+            this.interactive = interactive;
+        }
+
+        @Override
+        public String readLine() {
+            longLine.setLength(0);
+            boolean lineStarted = false;
+            while(true) {
+                if(position == limit && !fill()) {
+                    if(lineStarted) {
+                        return longLine.toString();
+                    }
+                    // Make everything written so far visible before giving up, as an unbuffered stream would
+                    flush();
+                    throw new NoSuchElementException("No line found");
+                }
+                if(skipLineFeed) {
+                    skipLineFeed = false;
+                    if(input[position] == '\n') {
+                        position++;
+                        continue;
+                    }
+                }
+                lineStarted = true;
+                int start = position;
+                for(int i = position; i < limit; i++) {
+                    char c = input[i];
+                    if(PatternMatchers.isLineTerminator(c)) {
+                        position = i + 1;
+                        skipLineFeed = c == '\r';
+                        if(longLine.length() == 0) {
+                            return new String(input, start, i - start);
+                        }
+                        return longLine.append(input, start, i - start).toString();
+                    }
+                }
+                // No terminator in the buffer, keep the partial line and read more
+                longLine.append(input, start, limit - start);
+                position = limit;
+            }
+        }
+
+        private boolean fill() {
+            if(endOfInput) {
+                return false;
+            }
+            try {
+                int read;
+                do {
+                    read = in.read(input, 0, input.length);
+                } while(read == 0);
+                if(read < 0) {
+                    endOfInput = true;
+                    return false;
+                }
+                position = 0;
+                limit = read;
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public synchronized void print(String text) {
+            output.append(text);
+            if(output.length() >= OUTPUT_BUFFER_SIZE) {
+                flush();
+            }
+        }
+
+        @Override
+        public synchronized void println(String text) {
+            output.append(text).append(LINE_SEPARATOR);
+            if(output.length() >= OUTPUT_BUFFER_SIZE) {
+                flush();
+            }
+        }
+
+        @Override
+        public synchronized void prompt(String inputPrompt) {
+            output.append(inputPrompt);
+            if(interactive || output.length() >= OUTPUT_BUFFER_SIZE || !inputReady()) {
+                flush();
+            }
+        }
+
+        /**
+         * @return {@code true} if the answer to a prompt can be read without waiting, so nobody is waiting for
+         *         the prompt either
+         */
+        private boolean inputReady() {
+            if(position < limit) {
+                return true;
+            }
+            try {
+                return !endOfInput && in.ready();
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public synchronized void flush() {
+            if(output.length() > 0) {
+                out.print(output);
+                output.setLength(0);
+            }
+            out.flush();
+        }
+    }
+}
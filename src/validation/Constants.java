@@ -1,6 +1,6 @@
 package validation;
 
-import java.awt.*;
+import java.util.regex.Pattern;
 
 /**
  * Static constants for the Validator class. I created a separate Constants class to simplify
@@ -55,6 +55,38 @@ public final class Constants {
      */
     public static final String MATCH_CHAR = ".?";
 
+    // Precompiled patterns, use these with the Validator overloads that accept a Pattern
+
+    /**
+     * Precompiled {@link #MATCH_CHOICE_YN} pattern
+     */
+    public static final Pattern PATTERN_CHOICE_YN = Pattern.compile(MATCH_CHOICE_YN);
+
+    /**
+     * Precompiled {@link #MATCH_SSN} pattern
+     */
+    public static final Pattern PATTERN_SSN = Pattern.compile(MATCH_SSN);
+
+    /**
+     * Precompiled {@link #MATCH_EMAIL} pattern
+     */
+    public static final Pattern PATTERN_EMAIL = Pattern.compile(MATCH_EMAIL);
+
+    /**
+     * Precompiled {@link #MATCH_NOT_EMPTY} pattern
+     */
+    public static final Pattern PATTERN_NOT_EMPTY = Pattern.compile(MATCH_NOT_EMPTY);
+
+    /**
+     * Precompiled {@link #MATCH_ANY} pattern
+     */
+    public static final Pattern PATTERN_ANY = Pattern.compile(MATCH_ANY);
+
+    /**
+     * Precompiled {@link #MATCH_CHAR} pattern
+     */
+    public static final Pattern PATTERN_CHAR = Pattern.compile(MATCH_CHAR);
+
     // Error message constants
 
     /**
@@ -74,8 +106,5 @@ public final class Constants {
      */
     public static final String MSG_INVALID_DECIMAL = "The value entered must be a decimal. Please try again.";
 
-    /**
-     * Defines JTextComponent background color for error highlighting. (Faded yellow)
-     */
-    public static final Color COLOR_ERROR_BACKGROUND = new Color(255, 255, 180);
+    // The error highlighting color lives in ErrorFieldRegistry, so the console methods never load AWT
 }
@@ -0,0 +1,177 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A {@code DoubleConstraint} is a precompiled set of allowed double values made of <b>inclusive</b> ranges and
+ * single values, for example {@code 0.0 through 4.0 and 5.0}.
+ *
+ * <p>The ranges are sorted and merged when they are built, so {@link #contains(double)} is a binary search over
+ * disjoint ranges and never allocates. NaN is never contained. Constraints are immutable and safe to share
+ * between threads.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * private static final DoubleConstraint GRADE_POINTS = DoubleConstraint.values(0.0, 1.0, 2.0, 3.0, 4.0);
+ * ...
+ * double gradePoints = Validator.getDouble(scanner, "Grade points: ", GRADE_POINTS);
+ * </pre></blockquote>
+ *
+ * @see IntConstraint
+ * @see ValidationEngine#validateDouble(CharSequence, DoubleConstraint, ValidationResult)
+ */
+public final class DoubleConstraint {
+
+    private final double[] minimums;
+    private final double[] maximums;
+
+    private DoubleConstraint(double[] minimums, double[] maximums) {
+        this.minimums = minimums;
+        this.maximums = maximums;
+    }
+
+    /**
+     * @param minimumValue    Minimum allowed value
+     * @param maximumValue    Maximum allowed value
+     * @return Constraint for a single <b>inclusive</b> range
+     */
+    public static DoubleConstraint range(double minimumValue, double maximumValue) {
+        return builder().range(minimumValue, maximumValue).build();
+    }
+
+    /**
+     * @param values    Allowed values
+     * @return Constraint allowing only the listed values
+     */
+    public static DoubleConstraint values(double... values) {
+        return builder().values(values).build();
+    }
+
+    /**
+     * @return Builder collecting ranges and values
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param value    Value to check
+     * @return {@code true} if the value is in one of the ranges
+     */
+    public boolean contains(double value) {
+        // Last range starting at or below the value, NaN compares false and ends up in no range
+        int low = 0;
+        int high = minimums.length - 1;
+        while(low <= high) {
+            int middle = (low + high) >>> 1;
+            if(minimums[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high >= 0 && value <= maximums[high];
+    }
+
+    /**
+     * @return Smallest allowed value, {@code Double.POSITIVE_INFINITY} if nothing is allowed
+     */
+    public double getMinimum() {
+        return minimums.length == 0 ? Double.POSITIVE_INFINITY : minimums[0];
+    }
+
+    /**
+     * @return Largest allowed value, {@code Double.NEGATIVE_INFINITY} if nothing is allowed
+     */
+    public double getMaximum() {
+        return maximums.length == 0 ? Double.NEGATIVE_INFINITY : maximums[maximums.length - 1];
+    }
+
+    /**
+     * @return Number of disjoint ranges after merging
+     */
+    public int getRangeCount() {
+        return minimums.length;
+    }
+
+    /**
+     * @return The allowed values as a list, for example {@code 0.0 through 4.0, 5.0}
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for(int i = 0; i < minimums.length; i++) {
+            if(i > 0) {
+                builder.append(", ");
+            }
+            builder.append(minimums[i]);
+            if(maximums[i] != minimums[i]) {
+                builder.append(" through ").append(maximums[i]);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Collects ranges and values in any order, overlapping ranges are merged by {@link #build()}
+     */
+    public static final class Builder {
+        private final List<double[]> ranges = new ArrayList<double[]>();
+
+        private Builder() { }
+
+        /**
+         * @param minimumValue    Minimum allowed value
+         * @param maximumValue    Maximum allowed value
+         * @return This builder
+         * @throws IllegalArgumentException if the minimum is greater than the maximum, or either is NaN
+         */
+        public Builder range(double minimumValue, double maximumValue) {
+            if(!(minimumValue <= maximumValue)) {
+                throw new IllegalArgumentException("Minimum " + minimumValue + " is greater than maximum " + maximumValue);
+            }
+            ranges.add(new double[] {minimumValue, maximumValue});
+            return this;
+        }
+
+        /**
+         * @param values    Allowed values
+         * @return This builder
+         * @throws IllegalArgumentException if a value is NaN
+         */
+        public Builder values(double... values) {
+            for(double value : values) {
+                range(value, value);
+            }
+            return this;
+        }
+
+        /**
+         * @return Immutable constraint with the ranges sorted and merged
+         */
+        public DoubleConstraint build() {
+            double[][] sorted = ranges.toArray(new double[ranges.size()][]);
+            Arrays.sort(sorted, new Comparator<double[]>() {
+                public int compare(double[] a, double[] b) {
+                    return a[0] < b[0] ? -1 : (a[0] > b[0] ? 1 : 0);
+                }
+            });
+            double[] minimums = new double[sorted.length];
+            double[] maximums = new double[sorted.length];
+            int count = 0;
+            for(double[] range : sorted) {
+                if(count > 0 && range[0] <= maximums[count - 1]) {
+                    maximums[count - 1] = Math.max(maximums[count - 1], range[1]);
+                } else {
+                    minimums[count] = range[0];
+                    maximums[count] = range[1];
+                    count++;
+                }
+            }
+            return new DoubleConstraint(Arrays.copyOf(minimums, count), Arrays.copyOf(maximums, count));
+        }
+    }
+}
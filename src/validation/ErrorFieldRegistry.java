@@ -0,0 +1,387 @@
+package validation;
+
+import javax.swing.SwingUtilities;
+import javax.swing.text.JTextComponent;
+import java.awt.*;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code ErrorFieldRegistry} tracks the JTextComponent objects flagged with a validation error on a form, along
+ * with their original background color so it can be reliably reset when the error state has cleared.
+ *
+ * <p>Create one registry per form, or use the {@link #getDefault() default registry} that the static SwingValidator
+ * methods work with. Components are held through weak references compared by identity, so a disposed form and
+ * its window tree can be garbage collected even if a field is still flagged.
+ *
+ * <p>All methods may be called from any thread. Background colors are only ever read and changed on the event
+ * dispatch thread: calls made on the EDT take effect immediately, calls made from other threads are queued and
+ * applied together in a single EDT update.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * private final ErrorFieldRegistry errorFields = new ErrorFieldRegistry();
+ * ...
+ * } catch (InvalidJTextComponentInputException e) {
+ *     errorFields.setErrorField(testScoreTextField);
+ * }
+ * ...
+ * // Form "Clear" action
+ * errorFields.resetErrorFields();
+ * </pre></blockquote>
+ *
+ * @see SwingValidator#setErrorField(javax.swing.text.JTextComponent)
+ */
+public class ErrorFieldRegistry {
+
+    /**
+     * Defines JTextComponent background color for error highlighting. (Faded yellow)
+     */
+    public static final Color COLOR_ERROR_BACKGROUND = new Color(255, 255, 180);
+
+    private static final ErrorFieldRegistry defaultRegistry = new ErrorFieldRegistry();
+
+    private final Color errorBackground;
+
+    /**
+     * Guards every field below except {@link #applying}. Never held while component backgrounds are changed,
+     * so background listeners can call back into the registry.
+     */
+    private final Object lock = new Object();
+    private final ReferenceQueue<JTextComponent> collectedFields = new ReferenceQueue<JTextComponent>();
+
+    /**
+     * Flagged fields, the state holds the original background once it has been captured on the EDT
+     */
+    private final Map<Object, FieldState> flaggedFields = new HashMap<Object, FieldState>();
+
+    /**
+     * Changes not yet applied to the components, in the order they were made
+     */
+    private final Map<Object, FieldState> pendingChanges = new LinkedHashMap<Object, FieldState>();
+    private boolean updateScheduled;
+
+    /**
+     * Set on the EDT while changes are applied, so a listener that changes the registry leaves its change to the
+     * running update instead of applying it in the middle
+     */
+    private boolean applying;
+
+    private final Runnable applyPendingChanges = new Runnable() {
+        public void run() {
+            synchronized (lock) {
+                updateScheduled = false;
+            }
+            applyPendingChanges();
+        }
+    };
+
+    /**
+     * Creates a registry that uses {@link #COLOR_ERROR_BACKGROUND} to highlight errors
+     */
+    public ErrorFieldRegistry() {
+        this(COLOR_ERROR_BACKGROUND);
+    }
+
+    /**
+     * @param errorBackground    Background color used to highlight fields with an error
+     */
+    public ErrorFieldRegistry(Color errorBackground) {
+        this.errorBackground = errorBackground;
+    }
+
+    /**
+     * @return The registry used by the static SwingValidator methods
+     */
+    public static ErrorFieldRegistry getDefault() {
+        return defaultRegistry;
+    }
+
+    /**
+     * Check if the passed JTextComponent has been flagged with a validation error
+     *
+     * @param jTextComponent    The JTextComponent to Test
+     * @return boolean          Returns true if this JTextComponent has been flagged with an error
+     */
+    public boolean isErrorField(JTextComponent jTextComponent) {
+        synchronized (lock) {
+            expungeCollectedFields();
+            return flaggedFields.containsKey(new LookupKey(jTextComponent));
+        }
+    }
+
+    /**
+     * Stores the original background color of a JTextComponent, and then changes the current background
+     * color to reflect a validation error for the field. Flagging a field twice keeps the original color.
+     *
+     * @param jTextComponent    The JTextComponent to modify
+     */
+    public void setErrorField(JTextComponent jTextComponent) {
+        boolean applyNow;
+        synchronized (lock) {
+            expungeCollectedFields();
+            flag(jTextComponent);
+            applyNow = scheduleUpdate();
+        }
+        if(applyNow) {
+            applyPendingChanges();
+        }
+    }
+
+    /**
+     * Resets the background color and clears the error flag for a JTextComponent
+     *
+     * @param jTextComponent    The JTextComponent to modify
+     */
+    public void clearErrorField(JTextComponent jTextComponent) {
+        boolean applyNow;
+        synchronized (lock) {
+            expungeCollectedFields();
+            clear(new LookupKey(jTextComponent));
+            applyNow = scheduleUpdate();
+        }
+        if(applyNow) {
+            applyPendingChanges();
+        }
+    }
+
+    /**
+     * Flags and clears several fields in one update, for example after validating a whole form
+     *
+     * @param errorFields    Fields to flag with an error
+     * @param validFields    Fields to clear
+     */
+    public void update(Collection<? extends JTextComponent> errorFields, Collection<? extends JTextComponent> validFields) {
+        boolean applyNow;
+        synchronized (lock) {
+            expungeCollectedFields();
+            for(JTextComponent jTextComponent : validFields) {
+                clear(new LookupKey(jTextComponent));
+            }
+            for(JTextComponent jTextComponent : errorFields) {
+                flag(jTextComponent);
+            }
+            applyNow = scheduleUpdate();
+        }
+        if(applyNow) {
+            applyPendingChanges();
+        }
+    }
+
+    /**
+     * Called on form "Clear" action. Sets all flagged fields back to their original background and clears
+     * the registry so it is in an initial state again for fresh use. Only the flagged fields are visited.
+     */
+    public void resetErrorFields() {
+        boolean applyNow;
+        synchronized (lock) {
+            expungeCollectedFields();
+            for(Map.Entry<Object, FieldState> errorField : flaggedFields.entrySet()) {
+                FieldState state = errorField.getValue();
+                state.cleared = true;
+                if(state.captured) {
+                    pendingChanges.put(errorField.getKey(), state);
+                } else {
+                    pendingChanges.remove(errorField.getKey());
+                }
+            }
+            flaggedFields.clear();
+            applyNow = scheduleUpdate();
+        }
+        if(applyNow) {
+            applyPendingChanges();
+        }
+    }
+
+    /**
+     * @return Number of fields currently flagged with an error
+     */
+    public int size() {
+        synchronized (lock) {
+            expungeCollectedFields();
+            return flaggedFields.size();
+        }
+    }
+
+    private void flag(JTextComponent jTextComponent) {
+        LookupKey lookupKey = new LookupKey(jTextComponent);
+        if(flaggedFields.containsKey(lookupKey)) {
+            return;
+        }
+        FieldState state = pendingChanges.remove(lookupKey);
+        if(state != null) {
+            // The clear has not been applied yet, so the field is still highlighted
+            state.cleared = false;
+            flaggedFields.put(state.key, state);
+            return;
+        }
+        FieldKey fieldKey = new FieldKey(jTextComponent, collectedFields);
+        state = new FieldState(fieldKey);
+        flaggedFields.put(fieldKey, state);
+        pendingChanges.put(fieldKey, state);
+    }
+
+    private void clear(LookupKey lookupKey) {
+        FieldState state = flaggedFields.remove(lookupKey);
+        if(state == null) {
+            return;
+        }
+        state.cleared = true;
+        if(state.captured) {
+            pendingChanges.put(state.key, state);
+        } else {
+            // Never highlighted, nothing to restore
+            pendingChanges.remove(lookupKey);
+        }
+    }
+
+    /**
+     * Makes sure one EDT update is queued when called off the EDT. Runs with the lock held.
+     *
+     * @return {@code true} if the caller is on the EDT and must call {@link #applyPendingChanges()} once it has
+     *         released the lock
+     */
+    private boolean scheduleUpdate() {
+        if(pendingChanges.isEmpty()) {
+            return false;
+        }
+        if(SwingUtilities.isEventDispatchThread()) {
+            return true;
+        }
+        if(!updateScheduled) {
+            updateScheduled = true;
+            SwingUtilities.invokeLater(applyPendingChanges);
+        }
+        return false;
+    }
+
+    /**
+     * Runs on the EDT without the lock. The pending changes are taken under the lock and applied after it is
+     * released, repeating until a batch of changes leaves no new ones behind.
+     */
+    private void applyPendingChanges() {
+        if(applying) {
+            return;
+        }
+        applying = true;
+        try {
+            while(true) {
+                JTextComponent[] jTextComponents;
+                Color[] backgrounds;
+                int count = 0;
+                synchronized (lock) {
+                    if(pendingChanges.isEmpty()) {
+                        return;
+                    }
+                    jTextComponents = new JTextComponent[pendingChanges.size()];
+                    backgrounds = new Color[jTextComponents.length];
+                    for(FieldState state : pendingChanges.values()) {
+                        JTextComponent jTextComponent = state.key.get();
+                        if(jTextComponent == null) {
+                            continue;
+                        }
+                        if(state.cleared) {
+                            jTextComponents[count] = jTextComponent;
+                            backgrounds[count++] = state.originalBackground;
+                        } else if(!state.captured) {
+                            state.originalBackground = jTextComponent.getBackground();
+                            state.captured = true;
+                            jTextComponents[count] = jTextComponent;
+                            backgrounds[count++] = errorBackground;
+                        }
+                    }
+                    pendingChanges.clear();
+                }
+                for(int i = 0; i < count; i++) {
+                    jTextComponents[i].setBackground(backgrounds[i]);
+                }
+            }
+        } finally {
+            applying = false;
+        }
+    }
+
+    private void expungeCollectedFields() {
+        Reference<? extends JTextComponent> collected;
+        while((collected = collectedFields.poll()) != null) {
+            flaggedFields.remove(collected);
+            pendingChanges.remove(collected);
+        }
+    }
+
+    /**
+     * Error state of one flagged field
+     */
+    private static final class FieldState {
+        final FieldKey key;
+        Color originalBackground;
+        boolean captured;
+        boolean cleared;
+
+        FieldState(FieldKey key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Weak reference to a component that compares by identity, and keeps the identity hash code so the
+     * entry can still be found and removed after the component has been collected.
+     */
+    private static final class FieldKey extends WeakReference<JTextComponent> {
+        private final int hash;
+
+        FieldKey(JTextComponent jTextComponent, ReferenceQueue<JTextComponent> queue) {
+            super(jTextComponent, queue);
+            hash = System.identityHashCode(jTextComponent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if(this == other) {
+                return true;
+            }
+            if(other instanceof LookupKey) {
+                JTextComponent referent = get();
+                return referent != null && referent == ((LookupKey) other).jTextComponent;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Strong key used only for lookups, so no reference object is created per call
+     */
+    private static final class LookupKey {
+        private final JTextComponent jTextComponent;
+
+        LookupKey(JTextComponent jTextComponent) {
+            this.jTextComponent = jTextComponent;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(jTextComponent);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if(this == other) {
+                return true;
+            }
+            if(other instanceof FieldKey) {
+                return ((FieldKey) other).get() == jTextComponent;
+            }
+            return other instanceof LookupKey && ((LookupKey) other).jTextComponent == jTextComponent;
+        }
+    }
+}
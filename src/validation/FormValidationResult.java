@@ -0,0 +1,139 @@
+package validation;
+
+import javax.swing.*;
+import javax.swing.text.JTextComponent;
+import java.awt.Component;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@code FormValidationResult} is the outcome of {@link FormValidator#validate()}: every invalid field with its
+ * message, in the order the fields were bound.
+ *
+ * @see FormValidator
+ */
+public final class FormValidationResult {
+
+    /**
+     * One invalid field
+     */
+    public static final class Failure {
+        private final JTextComponent jTextComponent;
+        private final String ruleId;
+        private final String inputErrorMessage;
+        private final int errorCode;
+        private final String invalidValue;
+
+        Failure(JTextComponent jTextComponent, String ruleId, String inputErrorMessage, int errorCode, String invalidValue) {
+            this.jTextComponent = jTextComponent;
+            this.ruleId = ruleId;
+            this.inputErrorMessage = inputErrorMessage;
+            this.errorCode = errorCode;
+            this.invalidValue = invalidValue;
+        }
+
+        /**
+         * @return The invalid field
+         */
+        public JTextComponent getJTextComponent() {
+            return jTextComponent;
+        }
+
+        /**
+         * @return Identifier of the rule that failed
+         */
+        public String getRuleId() {
+            return ruleId;
+        }
+
+        /**
+         * @return Message bound to the field
+         */
+        public String getInputErrorMessage() {
+            return inputErrorMessage;
+        }
+
+        /**
+         * @return Error code from {@link ValidationResult}
+         */
+        public int getErrorCode() {
+            return errorCode;
+        }
+
+        /**
+         * @return The text that failed validation
+         */
+        public String getInvalidValue() {
+            return invalidValue;
+        }
+
+        @Override
+        public String toString() {
+            return "Failure[rule=" + ruleId + ", error=" + errorCode + ", value=" + invalidValue + "]";
+        }
+    }
+
+    private final int fieldCount;
+    private final List<Failure> failures;
+
+    FormValidationResult(int fieldCount, List<Failure> failures) {
+        this.fieldCount = fieldCount;
+        this.failures = Collections.unmodifiableList(failures);
+    }
+
+    /**
+     * @return {@code true} if every field is valid
+     */
+    public boolean isValid() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * @return Number of fields validated
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * @return Every invalid field in binding order
+     */
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return The messages of all invalid fields, one per line, or an empty String if the form is valid
+     */
+    public String getMessage() {
+        StringBuilder message = new StringBuilder();
+        for(Failure failure : failures) {
+            if(message.length() > 0) {
+                message.append('\n');
+            }
+            message.append(failure.getInputErrorMessage());
+        }
+        return message.toString();
+    }
+
+    /**
+     * Shows one error message dialog box listing every invalid field, then moves the focus to the first
+     * invalid field. Does nothing if the form is valid. Call on the EDT.
+     *
+     * @param parentComponent    Component the dialog is shown over
+     */
+    public void showErrorMessageDialog(Component parentComponent) {
+        if(isValid()) {
+            return;
+        }
+        String errorMessage = getMessage();
+        System.out.println("\n" + errorMessage);
+        JOptionPane.showMessageDialog(parentComponent, errorMessage, "Invalid Input", JOptionPane.ERROR_MESSAGE);
+        failures.get(0).getJTextComponent().requestFocusInWindow();
+    }
+
+    @Override
+    public String toString() {
+        return "FormValidationResult[fields=" + fieldCount + ", invalid=" + failures.size() + "]";
+    }
+}
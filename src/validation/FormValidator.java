@@ -0,0 +1,115 @@
+package validation;
+
+import javax.swing.text.JTextComponent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code FormValidator} validates every field of a form in one pass. Each field is bound to a
+ * {@link ValidationRule} and the message to show when it is invalid.
+ *
+ * <p>{@link #validate()} checks all fields without throwing, then flags the invalid fields and clears the valid
+ * ones with a single {@link ErrorFieldRegistry#update(java.util.Collection, java.util.Collection) registry update},
+ * so the form repaints once however many fields changed. The returned {@link FormValidationResult} lists every
+ * failure and can show them all in one dialog.
+ *
+ * <p>Bind the fields once, for example in the form constructor, and call {@code validate()} from the submit
+ * action. Binding is not thread-safe, validating may be done from any thread.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * private final FormValidator formValidator = new FormValidator()
+ *         .add(nameTextField, ValidationRule.pattern({@link Constants#MATCH_NOT_EMPTY MATCH_NOT_EMPTY}), "A Name is Required.")
+ *         .add(testScoreTextField, ValidationRule.intRange(0, 100), "A Valid Test Score between 0 and 100 is Required.");
+ * ...
+ * public void actionPerformed(ActionEvent e) {
+ *     FormValidationResult result = formValidator.validate();
+ *     if (!result.isValid()) {
+ *         result.showErrorMessageDialog(this);
+ *         return;
+ *     }
+ *     testScores.enterScore(Integer.parseInt(testScoreTextField.getText()));
+ * }
+ * </pre></blockquote>
+ *
+ * @see FormValidationResult
+ * @see ErrorFieldRegistry
+ */
+public class FormValidator {
+
+    private final ErrorFieldRegistry registry;
+    private final List<Binding> bindings = new ArrayList<Binding>();
+
+    /**
+     * Creates a form validator that highlights fields in the default registry
+     */
+    public FormValidator() {
+        this(ErrorFieldRegistry.getDefault());
+    }
+
+    /**
+     * @param registry    Registry used to highlight invalid fields
+     */
+    public FormValidator(ErrorFieldRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Binds a field to a rule. Fields are validated and reported in the order they were added.
+     *
+     * @param jTextComponent       Field to validate
+     * @param rule                 Rule the text must pass
+     * @param inputErrorMessage    Message to show when the text is invalid
+     * @return This form validator, so bindings can be chained
+     */
+    public FormValidator add(JTextComponent jTextComponent, ValidationRule rule, String inputErrorMessage) {
+        bindings.add(new Binding(jTextComponent, rule, inputErrorMessage));
+        return this;
+    }
+
+    /**
+     * @return Number of bound fields
+     */
+    public int size() {
+        return bindings.size();
+    }
+
+    /**
+     * Validates every bound field, highlights the invalid ones and clears the highlight of the valid ones
+     *
+     * @return Result listing every invalid field in binding order
+     */
+    public FormValidationResult validate() {
+        List<JTextComponent> errorFields = new ArrayList<JTextComponent>();
+        List<JTextComponent> validFields = new ArrayList<JTextComponent>();
+        List<FormValidationResult.Failure> failures = new ArrayList<FormValidationResult.Failure>();
+        ValidationResult result = new ValidationResult();
+        for(Binding binding : bindings) {
+            String text = binding.jTextComponent.getText();
+            if(binding.rule.validate(text, result)) {
+                validFields.add(binding.jTextComponent);
+            } else {
+                errorFields.add(binding.jTextComponent);
+                failures.add(new FormValidationResult.Failure(binding.jTextComponent, binding.rule.getId(),
+                        binding.inputErrorMessage, result.getErrorCode(), text));
+            }
+        }
+        registry.update(errorFields, validFields);
+        return new FormValidationResult(bindings.size(), failures);
+    }
+
+    /**
+     * One bound field
+     */
+    private static final class Binding {
+        final JTextComponent jTextComponent;
+        final ValidationRule rule;
+        final String inputErrorMessage;
+
+        Binding(JTextComponent jTextComponent, ValidationRule rule, String inputErrorMessage) {
+            this.jTextComponent = jTextComponent;
+            this.rule = rule;
+            this.inputErrorMessage = inputErrorMessage;
+        }
+    }
+}
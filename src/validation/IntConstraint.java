@@ -0,0 +1,176 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An {@code IntConstraint} is a precompiled set of allowed int values made of <b>inclusive</b> ranges and single
+ * values, for example {@code 1 through 5, 10 and 20 through 30}.
+ *
+ * <p>The ranges are sorted and merged when they are built, so {@link #contains(int)} is a binary search over
+ * disjoint ranges and never allocates. Constraints are immutable and safe to share between threads.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * private static final IntConstraint SHIRT_SIZES = IntConstraint.builder().range(0, 20).values(24, 28, 32).build();
+ * ...
+ * int size = Validator.getInt(scanner, "Size: ", SHIRT_SIZES);
+ * </pre></blockquote>
+ *
+ * @see DoubleConstraint
+ * @see ValidationEngine#validateInt(CharSequence, IntConstraint, ValidationResult)
+ */
+public final class IntConstraint {
+
+    private final int[] minimums;
+    private final int[] maximums;
+
+    private IntConstraint(int[] minimums, int[] maximums) {
+        this.minimums = minimums;
+        this.maximums = maximums;
+    }
+
+    /**
+     * @param minimumValue    Minimum allowed value
+     * @param maximumValue    Maximum allowed value
+     * @return Constraint for a single <b>inclusive</b> range
+     */
+    public static IntConstraint range(int minimumValue, int maximumValue) {
+        return builder().range(minimumValue, maximumValue).build();
+    }
+
+    /**
+     * @param values    Allowed values
+     * @return Constraint allowing only the listed values
+     */
+    public static IntConstraint values(int... values) {
+        return builder().values(values).build();
+    }
+
+    /**
+     * @return Builder collecting ranges and values
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param value    Value to check
+     * @return {@code true} if the value is in one of the ranges
+     */
+    public boolean contains(int value) {
+        // Last range starting at or below the value
+        int low = 0;
+        int high = minimums.length - 1;
+        while(low <= high) {
+            int middle = (low + high) >>> 1;
+            if(minimums[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high >= 0 && value <= maximums[high];
+    }
+
+    /**
+     * @return Smallest allowed value, {@code Integer.MAX_VALUE} if nothing is allowed
+     */
+    public int getMinimum() {
+        return minimums.length == 0 ? Integer.MAX_VALUE : minimums[0];
+    }
+
+    /**
+     * @return Largest allowed value, {@code Integer.MIN_VALUE} if nothing is allowed
+     */
+    public int getMaximum() {
+        return maximums.length == 0 ? Integer.MIN_VALUE : maximums[maximums.length - 1];
+    }
+
+    /**
+     * @return Number of disjoint ranges after merging
+     */
+    public int getRangeCount() {
+        return minimums.length;
+    }
+
+    /**
+     * @return The allowed values as a list, for example {@code 1 through 5, 10, 20 through 30}
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for(int i = 0; i < minimums.length; i++) {
+            if(i > 0) {
+                builder.append(", ");
+            }
+            builder.append(minimums[i]);
+            if(maximums[i] != minimums[i]) {
+                builder.append(" through ").append(maximums[i]);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Collects ranges and values in any order, overlapping and adjacent ranges are merged by {@link #build()}
+     */
+    public static final class Builder {
+        private final List<int[]> ranges = new ArrayList<int[]>();
+
+        private Builder() { }
+
+        /**
+         * @param minimumValue    Minimum allowed value
+         * @param maximumValue    Maximum allowed value
+         * @return This builder
+         * @throws IllegalArgumentException if the minimum is greater than the maximum
+         */
+        public Builder range(int minimumValue, int maximumValue) {
+            if(minimumValue > maximumValue) {
+                throw new IllegalArgumentException("Minimum " + minimumValue + " is greater than maximum " + maximumValue);
+            }
+            ranges.add(new int[] {minimumValue, maximumValue});
+            return this;
+        }
+
+        /**
+         * @param values    Allowed values
+         * @return This builder
+         */
+        public Builder values(int... values) {
+            for(int value : values) {
+                ranges.add(new int[] {value, value});
+            }
+            return this;
+        }
+
+        /**
+         * @return Immutable constraint with the ranges sorted and merged
+         */
+        public IntConstraint build() {
+            int[][] sorted = ranges.toArray(new int[ranges.size()][]);
+            Arrays.sort(sorted, new Comparator<int[]>() {
+                public int compare(int[] a, int[] b) {
+                    return Integer.compare(a[0], b[0]);
+                }
+            });
+            int[] minimums = new int[sorted.length];
+            int[] maximums = new int[sorted.length];
+            int count = 0;
+            for(int[] range : sorted) {
+                // Merge when overlapping or adjacent, the long arithmetic avoids overflow at MAX_VALUE
+                if(count > 0 && range[0] <= (long) maximums[count - 1] + 1) {
+                    maximums[count - 1] = Math.max(maximums[count - 1], range[1]);
+                } else {
+                    minimums[count] = range[0];
+                    maximums[count] = range[1];
+                    count++;
+                }
+            }
+            return new IntConstraint(Arrays.copyOf(minimums, count), Arrays.copyOf(maximums, count));
+        }
+    }
+}
@@ -6,9 +6,19 @@ package validation;
  * <p>@author Ben Murray (validation@my.stlcc.edu)<br />
  * IS:251-650 Introduction to Java Programming
  */
-public class InvalidInputException extends Throwable {
+public class InvalidInputException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
     public InvalidInputException () { }
 
+    /**
+     * @param message    Detail message
+     */
+    public InvalidInputException (String message) {
+        super(message);
+    }
+
     /**
      * @param inputErrorMessage    Prints error message String to console
      */
@@ -12,23 +12,60 @@ import javax.swing.text.JTextComponent;
  * <p>@author Ben Murray (validation@my.stlcc.edu)<br />
  * IS:251-650 Introduction to Java Programming
  *
- * @see Validator
+ * @see SwingValidator
  */
 public class InvalidJTextComponentInputException extends IllegalArgumentException  {
 
+    private final transient JTextComponent jTextComponent;
+    private final String ruleId;
+    private final String invalidValue;
+
     public InvalidJTextComponentInputException () {
+        this(null, null, null);
+    }
+
+    /**
+     * @param jTextComponent    JTextComponent with the invalid input
+     * @param ruleId            Identifier of the rule that failed, the pattern for String input
+     * @param invalidValue      The input that failed validation
+     */
+    public InvalidJTextComponentInputException (JTextComponent jTextComponent, String ruleId, String invalidValue) {
+        this.jTextComponent = jTextComponent;
+        this.ruleId = ruleId;
+        this.invalidValue = invalidValue;
+    }
+
+    /**
+     * @return JTextComponent with the invalid input, {@code null} if not known
+     */
+    public JTextComponent getJTextComponent() {
+        return jTextComponent;
+    }
+
+    /**
+     * @return Identifier of the rule that failed, {@code null} if not known
+     */
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    /**
+     * @return The input that failed validation, {@code null} if not known
+     */
+    public String getInvalidValue() {
+        return invalidValue;
     }
 
     /**
      * Highlights (changes the background color) of the JTextComponent that threw the exception
      *
      * @param jTextComponent    JTextComponent to apply highlighted background to
-     * @see Validator#getInputFromJTextComponent(javax.swing.text.JTextComponent, String, String)
-     * @see Validator#setErrorField(javax.swing.text.JTextComponent)
+     * @see SwingValidator#getInputFromJTextComponent(javax.swing.text.JTextComponent, String, String)
+     * @see SwingValidator#setErrorField(javax.swing.text.JTextComponent)
      *
      */
     public void setInvalidFieldBackground(JTextComponent jTextComponent){
-        Validator.setErrorField(jTextComponent);
+        SwingValidator.setErrorField(jTextComponent);
     }
 
     /**
@@ -36,7 +73,7 @@ public class InvalidJTextComponentInputException extends IllegalArgumentExceptio
      *
      * @param jTextComponent    JTextComponent with the invalid input
      * @param errorMessage      Message to display to the user
-     * @see Validator#getInputFromJTextComponent(javax.swing.text.JTextComponent, String, String)
+     * @see SwingValidator#getInputFromJTextComponent(javax.swing.text.JTextComponent, String, String)
      */
     public void showErrorMessageDialog(JTextComponent jTextComponent, String errorMessage) {
         System.out.println("\n" + errorMessage);
@@ -0,0 +1,364 @@
+package validation;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.JTextComponent;
+import javax.swing.text.Segment;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * {@code LiveValidator} validates a JTextComponent as the user types, and highlights it through an
+ * {@link ErrorFieldRegistry} while its text is invalid.
+ *
+ * <p>Keystrokes are debounced: the text is only checked once the user has paused for the configured delay.
+ * {@link PrefixRule Prefix rules} are checked on the EDT from the first edited character onwards, and the field
+ * is only highlighted once the text can no longer become valid. Other rules are checked against a copy of the
+ * text on a background executor; a check that is overtaken by a newer edit stops early and its outcome is
+ * dropped, so large text areas stay responsive. An empty field is never highlighted.
+ *
+ * <p>Attach and detach on the EDT. {@link #isValid()} and the change listeners are only used on the EDT.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * LiveValidator ssn = LiveValidator.attach(ssnTextField, PrefixRule.ssn());
+ * LiveValidator email = LiveValidator.attach(emailTextArea, ValidationRule.pattern({@link Constants#MATCH_EMAIL MATCH_EMAIL}));
+ * email.addChangeListener(new ChangeListener() {
+ *     public void stateChanged(ChangeEvent e) {
+ *         submitButton.setEnabled(ssn.isValid() &amp;&amp; email.isValid());
+ *     }
+ * });
+ * </pre></blockquote>
+ *
+ * @see PrefixRule
+ * @see ErrorFieldRegistry
+ */
+public class LiveValidator {
+
+    /**
+     * Default pause in milliseconds after the last keystroke before the text is checked
+     */
+    public static final int DEFAULT_DELAY = 300;
+
+    /**
+     * Number of characters read between checks for a newer edit while matching in the background
+     */
+    private static final int STALE_CHECK_INTERVAL = 1024;
+
+    private final JTextComponent jTextComponent;
+    private final ValidationRule rule;
+    private final ErrorFieldRegistry registry;
+    private final Executor executor;
+    private final Timer timer;
+    private final CopyOnWriteArrayList<ChangeListener> changeListeners = new CopyOnWriteArrayList<ChangeListener>();
+
+    private final DocumentListener documentListener = new DocumentListener() {
+        public void insertUpdate(DocumentEvent e) {
+            changed(e.getOffset());
+        }
+
+        public void removeUpdate(DocumentEvent e) {
+            changed(e.getOffset());
+        }
+
+        public void changedUpdate(DocumentEvent e) {
+            // Attribute changes do not affect the text
+        }
+    };
+
+    private final PropertyChangeListener documentReplacedListener = new PropertyChangeListener() {
+        public void propertyChange(PropertyChangeEvent e) {
+            if(e.getOldValue() instanceof Document) {
+                ((Document) e.getOldValue()).removeDocumentListener(documentListener);
+            }
+            if(e.getNewValue() instanceof Document) {
+                ((Document) e.getNewValue()).addDocumentListener(documentListener);
+            }
+            changed(0);
+        }
+    };
+
+    /**
+     * Lowest offset edited since the last check, guarded by {@code this} because documents may be edited
+     * from any thread
+     */
+    private int dirtyFrom = 0;
+
+    // Confined to the EDT
+    private int viablePrefix = 0;
+    private boolean valid = false;
+    private FutureTask<Boolean> running;
+    private final ValidationResult result = new ValidationResult();
+    private final Segment segment = new Segment();
+
+    /**
+     * Incremented on the EDT for every check, background checks give up once it has moved on
+     */
+    private volatile int generation;
+
+    private LiveValidator(JTextComponent jTextComponent, ValidationRule rule, ErrorFieldRegistry registry, int delay,
+                          Executor executor) {
+        this.jTextComponent = jTextComponent;
+        this.rule = rule;
+        this.registry = registry;
+        this.executor = executor;
+        this.timer = new Timer(delay, new ActionListener() {
+            public void actionPerformed(ActionEvent e) {
+                validateText();
+            }
+        });
+        timer.setRepeats(false);
+    }
+
+    /**
+     * Validates a component as the user types, highlighting it in the default registry. Rules that are not
+     * {@link PrefixRule prefix rules} are checked on a shared background thread.
+     *
+     * @param jTextComponent    The JTextComponent to validate
+     * @param rule              Rule the text must pass
+     * @return LiveValidator, used to detach it again
+     */
+    public static LiveValidator attach(JTextComponent jTextComponent, ValidationRule rule) {
+        return attach(jTextComponent, rule, ErrorFieldRegistry.getDefault(), DEFAULT_DELAY, BackgroundExecutor.INSTANCE);
+    }
+
+    /**
+     * Validates a component as the user types
+     *
+     * @param jTextComponent    The JTextComponent to validate
+     * @param rule              Rule the text must pass
+     * @param registry          Registry used to highlight the component
+     * @param delay             Pause in milliseconds after the last keystroke before the text is checked
+     * @param executor          Executor for rules that are not prefix rules, {@code null} to check them on the EDT
+     * @return LiveValidator, used to detach it again
+     */
+    public static LiveValidator attach(JTextComponent jTextComponent, ValidationRule rule, ErrorFieldRegistry registry,
+                                       int delay, Executor executor) {
+        LiveValidator liveValidator = new LiveValidator(jTextComponent, rule, registry, delay, executor);
+        jTextComponent.getDocument().addDocumentListener(liveValidator.documentListener);
+        jTextComponent.addPropertyChangeListener("document", liveValidator.documentReplacedListener);
+        liveValidator.timer.start();
+        return liveValidator;
+    }
+
+    /**
+     * Stops validating the component. A running background check is cancelled and the highlight is left as is.
+     */
+    public void detach() {
+        jTextComponent.removePropertyChangeListener("document", documentReplacedListener);
+        jTextComponent.getDocument().removeDocumentListener(documentListener);
+        timer.stop();
+        generation++;
+        cancelRunning();
+    }
+
+    /**
+     * @return {@code true} if the text was valid when it was last checked
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * @return The validated component
+     */
+    public JTextComponent getJTextComponent() {
+        return jTextComponent;
+    }
+
+    /**
+     * @return Rule the text must pass
+     */
+    public ValidationRule getRule() {
+        return rule;
+    }
+
+    /**
+     * @param listener    Notified on the EDT whenever {@link #isValid()} changes
+     */
+    public void addChangeListener(ChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * @param listener    Listener to remove
+     */
+    public void removeChangeListener(ChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    private void changed(int offset) {
+        synchronized (this) {
+            dirtyFrom = Math.min(dirtyFrom, offset);
+        }
+        timer.restart();
+    }
+
+    /**
+     * Runs on the EDT once the user has paused
+     */
+    private void validateText() {
+        int from;
+        synchronized (this) {
+            from = dirtyFrom;
+            dirtyFrom = Integer.MAX_VALUE;
+        }
+        final int runGeneration = ++generation;
+        cancelRunning();
+        Document document = jTextComponent.getDocument();
+        int length = document.getLength();
+        if(length == 0) {
+            viablePrefix = 0;
+            apply(runGeneration, false, false);
+            return;
+        }
+        try {
+            if(rule instanceof PrefixRule) {
+                PrefixRule prefixRule = (PrefixRule) rule;
+                document.getText(0, length, segment);
+                // Text before the edit is unchanged, so only an edit inside the extendable prefix can move it
+                if(from <= viablePrefix) {
+                    viablePrefix = prefixRule.scan(segment, Math.min(from, viablePrefix));
+                }
+                boolean extendable = viablePrefix == length;
+                apply(runGeneration, extendable && prefixRule.isComplete(segment), !extendable);
+            } else if(executor == null) {
+                boolean textValid = rule.validate(document.getText(0, length), result);
+                apply(runGeneration, textValid, !textValid);
+            } else {
+                validateInBackground(document.getText(0, length), runGeneration);
+            }
+        } catch (BadLocationException e) {
+            // Cannot happen for the range 0 to getLength() on the EDT
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void validateInBackground(final String text, final int runGeneration) {
+        running = new FutureTask<Boolean>(new Callable<Boolean>() {
+            public Boolean call() {
+                return rule.validate(new StaleCheckingSequence(text, runGeneration), new ValidationResult());
+            }
+        }) {
+            @Override
+            protected void done() {
+                if(isCancelled()) {
+                    return;
+                }
+                final boolean textValid;
+                try {
+                    textValid = get();
+                } catch (ExecutionException e) {
+                    if(e.getCause() instanceof CancellationException) {
+                        return;
+                    }
+                    throw new IllegalStateException(e.getCause());
+                } catch (InterruptedException e) {
+                    return;
+                }
+                SwingUtilities.invokeLater(new Runnable() {
+                    public void run() {
+                        apply(runGeneration, textValid, !textValid);
+                    }
+                });
+            }
+        };
+        executor.execute(running);
+    }
+
+    private void cancelRunning() {
+        if(running != null) {
+            running.cancel(false);
+            running = null;
+        }
+    }
+
+    /**
+     * Runs on the EDT, ignores outcomes that have been overtaken by a newer check
+     */
+    private void apply(int runGeneration, boolean textValid, boolean highlight) {
+        if(runGeneration != generation) {
+            return;
+        }
+        running = null;
+        if(highlight) {
+            registry.setErrorField(jTextComponent);
+        } else {
+            registry.clearErrorField(jTextComponent);
+        }
+        if(textValid != valid) {
+            valid = textValid;
+            ChangeEvent event = new ChangeEvent(this);
+            for(ChangeListener listener : changeListeners) {
+                listener.stateChanged(event);
+            }
+        }
+    }
+
+    /**
+     * Text of a background check that stops the match once a newer check has started
+     */
+    private final class StaleCheckingSequence implements CharSequence {
+        private final String text;
+        private final int runGeneration;
+        private int reads;
+
+        StaleCheckingSequence(String text, int runGeneration) {
+            this.text = text;
+            this.runGeneration = runGeneration;
+        }
+
+        public int length() {
+            return text.length();
+        }
+
+        public char charAt(int index) {
+            if(++reads == STALE_CHECK_INTERVAL) {
+                reads = 0;
+                if(runGeneration != generation) {
+                    throw new CancellationException();
+                }
+            }
+            return text.charAt(index);
+        }
+
+        public CharSequence subSequence(int start, int end) {
+            return text.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    /**
+     * Shared daemon thread for background checks, created on first use
+     */
+    private static final class BackgroundExecutor {
+        static final ExecutorService INSTANCE = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "LiveValidator");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+}
@@ -0,0 +1,198 @@
+package validation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * A {@code MatchBudget} limits how much work one regular expression match may do, so a pathological pattern
+ * and input pair, for example a pattern read from configuration, cannot stall a thread.
+ *
+ * <p>The input is wrapped in a CharSequence that counts every character the regular expression engine reads.
+ * A backtracking match reads the same characters over and over, so the count grows with the work done. Once
+ * the count passes the step budget, or the clock passes the time budget (checked every 1024 reads), the match
+ * is abandoned and the check fails with {@link ValidationResult#MATCH_BUDGET_EXCEEDED}. Every overrun is
+ * counted. A normal match only pays for one comparison per character read.
+ *
+ * <p>Budgets only apply to caller supplied patterns, the predefined {@link Constants} patterns are matched in
+ * linear time by {@link PatternMatchers}. Overruns are never cached by a {@link ValidationCache}.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * // Guard every pattern check, including the Validator methods
+ * ValidationEngine.setMatchBudget(MatchBudget.steps(1000000));
+ * ...
+ * if (!ValidationEngine.validateString(value, configuredPattern, result)
+ *         &amp;&amp; result.getErrorCode() == ValidationResult.MATCH_BUDGET_EXCEEDED) {
+ *     log.warning("Pattern " + configuredPattern + " ran out of budget");
+ * }
+ * </pre></blockquote>
+ *
+ * @see ValidationEngine#setMatchBudget(MatchBudget)
+ */
+public final class MatchBudget {
+
+    // Outcome of a guarded match
+    static final int MATCH = 0;
+    static final int NO_MATCH = 1;
+    static final int EXCEEDED = 2;
+
+    /**
+     * Number of reads between clock checks for a time budget
+     */
+    private static final int TIME_CHECK_INTERVAL = 1024;
+
+    private final long maximumSteps;
+    private final long maximumNanos;
+    private final LongAdder overrunCount = new LongAdder();
+
+    private MatchBudget(long maximumSteps, long maximumNanos) {
+        if(maximumSteps <= 0 || maximumNanos <= 0) {
+            throw new IllegalArgumentException("Budget must be positive");
+        }
+        this.maximumSteps = maximumSteps;
+        this.maximumNanos = maximumNanos;
+    }
+
+    /**
+     * @param maximumSteps    Maximum number of characters a match may read
+     * @return Step budget
+     */
+    public static MatchBudget steps(long maximumSteps) {
+        return new MatchBudget(maximumSteps, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param timeout    Maximum time a match may take
+     * @param unit       Unit of the timeout
+     * @return Time budget
+     */
+    public static MatchBudget time(long timeout, TimeUnit unit) {
+        return new MatchBudget(Long.MAX_VALUE, unit.toNanos(timeout));
+    }
+
+    /**
+     * @param maximumSteps    Maximum number of characters a match may read
+     * @param timeout         Maximum time a match may take
+     * @param unit            Unit of the timeout
+     * @return Budget that is exceeded when either limit is reached
+     */
+    public static MatchBudget of(long maximumSteps, long timeout, TimeUnit unit) {
+        return new MatchBudget(maximumSteps, unit.toNanos(timeout));
+    }
+
+    /**
+     * @return Maximum number of characters a match may read, {@code Long.MAX_VALUE} if unlimited
+     */
+    public long getMaximumSteps() {
+        return maximumSteps;
+    }
+
+    /**
+     * @return Maximum time in nanoseconds a match may take, {@code Long.MAX_VALUE} if unlimited
+     */
+    public long getMaximumNanos() {
+        return maximumNanos;
+    }
+
+    /**
+     * @return Number of matches abandoned because they ran out of budget
+     */
+    public long getOverrunCount() {
+        return overrunCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "MatchBudget[steps=" + (maximumSteps == Long.MAX_VALUE ? "unlimited" : String.valueOf(maximumSteps))
+                + ", nanos=" + (maximumNanos == Long.MAX_VALUE ? "unlimited" : String.valueOf(maximumNanos))
+                + ", overruns=" + getOverrunCount() + "]";
+    }
+
+    /**
+     * Matches the <b>entire</b> input within this budget
+     *
+     * @param input      Input to evaluate
+     * @param pattern    Caller supplied Pattern
+     * @param result     Result whose counting wrapper and matcher are reused
+     * @return {@link #MATCH}, {@link #NO_MATCH} or {@link #EXCEEDED}
+     */
+    int match(CharSequence input, Pattern pattern, ValidationResult result) {
+        GuardedSequence guard = result.guardedSequence;
+        guard.wrap(input, this);
+        try {
+            return result.matcher(pattern, guard).matches() ? MATCH : NO_MATCH;
+        } catch (BudgetExceededException e) {
+            overrunCount.increment();
+            return EXCEEDED;
+        } finally {
+            guard.wrap(null, null);
+        }
+    }
+
+    /**
+     * Thrown from inside the regular expression engine to abandon a match. One stackless instance is shared.
+     */
+    private static final class BudgetExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        static final BudgetExceededException INSTANCE = new BudgetExceededException();
+
+        private BudgetExceededException() {
+            super("Match budget exceeded", null, false, false);
+        }
+    }
+
+    /**
+     * Counting view of the input, reused for every guarded match made with the same ValidationResult
+     */
+    static final class GuardedSequence implements CharSequence {
+        private CharSequence input;
+        private MatchBudget budget;
+        private long steps;
+        private long nextCheck;
+        private long deadline;
+
+        void wrap(CharSequence input, MatchBudget budget) {
+            this.input = input;
+            this.budget = budget;
+            this.steps = 0;
+            if(budget == null) {
+                return;
+            }
+            if(budget.maximumNanos == Long.MAX_VALUE) {
+                nextCheck = budget.maximumSteps;
+            } else {
+                deadline = System.nanoTime() + budget.maximumNanos;
+                nextCheck = Math.min(budget.maximumSteps, TIME_CHECK_INTERVAL);
+            }
+        }
+
+        public int length() {
+            return input.length();
+        }
+
+        public char charAt(int index) {
+            if(++steps > nextCheck) {
+                checkBudget();
+            }
+            return input.charAt(index);
+        }
+
+        private void checkBudget() {
+            if(steps > budget.maximumSteps || System.nanoTime() - deadline > 0) {
+                throw BudgetExceededException.INSTANCE;
+            }
+            nextCheck = Math.min(budget.maximumSteps, steps + TIME_CHECK_INTERVAL);
+        }
+
+        public CharSequence subSequence(int start, int end) {
+            return input.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return input.toString();
+        }
+    }
+}
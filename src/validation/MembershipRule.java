@@ -0,0 +1,86 @@
+package validation;
+
+/**
+ * {@code MembershipRule} combines a shape check, such as {@link Constants#MATCH_EMAIL}, with a
+ * {@link MembershipSet}: a block list rejects values that are in the set, an allow list rejects values that are
+ * not. The set is only consulted for values that pass the shape check, and fails them with
+ * {@link ValidationResult#NOT_ALLOWED}.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * ValidationRule email = MembershipRule.blockList(ValidationRule.pattern({@link Constants#MATCH_EMAIL MATCH_EMAIL}),
+ *         MembershipSet.open(Paths.get("spam-emails.set")));
+ * // An SSN set, built with MembershipSetBuilder -s, matches SSNs with or without hyphens
+ * ValidationRule revokedSsn = MembershipRule.blockList(PrefixRule.ssn(), MembershipSet.open(Paths.get("revoked-ssns.set")));
+ * </pre></blockquote>
+ *
+ * @see MembershipSet
+ * @see ValidationRule
+ */
+public final class MembershipRule extends ValidationRule {
+
+    private final ValidationRule shape;
+    private final MembershipSet set;
+    private final boolean allowList;
+
+    private MembershipRule(ValidationRule shape, MembershipSet set, boolean allowList) {
+        super((allowList ? "allowList(" : "blockList(") + shape.getId() + ")");
+        this.shape = shape;
+        this.set = set;
+        this.allowList = allowList;
+    }
+
+    /**
+     * Rule for values that pass a shape check and are in a set
+     *
+     * @param shape    Rule the value must pass first
+     * @param set      Values that are allowed
+     * @return ValidationRule
+     */
+    public static MembershipRule allowList(ValidationRule shape, MembershipSet set) {
+        return new MembershipRule(shape, set, true);
+    }
+
+    /**
+     * Rule for values that pass a shape check and are not in a set
+     *
+     * @param shape    Rule the value must pass first
+     * @param set      Values that are rejected
+     * @return ValidationRule
+     */
+    public static MembershipRule blockList(ValidationRule shape, MembershipSet set) {
+        return new MembershipRule(shape, set, false);
+    }
+
+    @Override
+    public boolean validate(CharSequence input, ValidationResult result) {
+        if(!shape.validate(input, result)) {
+            return false;
+        }
+        if(set.contains(input) != allowList) {
+            return result.fail(ValidationResult.NOT_ALLOWED, ValidationResult.KEY_NOT_ALLOWED);
+        }
+        return true;
+    }
+
+    /**
+     * @return The shape check applied before the set
+     */
+    public ValidationRule getShape() {
+        return shape;
+    }
+
+    /**
+     * @return The allowed or rejected values
+     */
+    public MembershipSet getSet() {
+        return set;
+    }
+
+    /**
+     * @return {@code true} for an allow list, {@code false} for a block list
+     */
+    public boolean isAllowList() {
+        return allowList;
+    }
+}
@@ -0,0 +1,262 @@
+package validation;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@code MembershipSet} is a large, read-only set of values, such as a blocklist of known spam email addresses
+ * or an allowlist of customer numbers, kept in a memory mapped file instead of on the heap.
+ *
+ * <p>The file is written by {@link MembershipSetBuilder} from a text list. It holds a 64-bit fingerprint of every
+ * value in an open addressing hash table, optionally preceded by a blocked Bloom filter that answers most
+ * lookups of values not in the set from one word of a much smaller region. Opening a set only maps the file, the
+ * operating system pages it in as it is used, so tens of millions of values cost no heap and no GC time.
+ *
+ * <p>Values are compared by fingerprint, so a value not in the set is reported as a member with a probability
+ * of about one in 2<sup>64</sup> divided by the number of values. Values are otherwise compared exactly as
+ * written, except that sets built with ignore case match values regardless of case, and SSN sets store the nine
+ * digits of each SSN, so {@code 123-45-6789} and {@code 123456789} are the same member.
+ *
+ * <p>Sets are immutable and safe to share between threads.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * MembershipSet spammers = MembershipSet.open(Paths.get("spam-emails.set"));
+ * ValidationRule email = MembershipRule.blockList(ValidationRule.pattern({@link Constants#MATCH_EMAIL MATCH_EMAIL}), spammers);
+ * String address = Validator.getString(console, "Email address: ", email, "Please enter a valid email address.");
+ * </pre></blockquote>
+ *
+ * @see MembershipSetBuilder
+ * @see MembershipRule
+ */
+public final class MembershipSet {
+
+    // File layout, all numbers little endian: header, Bloom filter words, table slots
+
+    static final long MAGIC = 0x3154455350494D56L; // "VMIPSET1" read as little endian
+    static final int VERSION = 1;
+    static final int FLAG_IGNORE_CASE = 1;
+    static final int FLAG_SSN = 2;
+    static final int HEADER_SIZE = 64;
+
+    /**
+     * Bits set per value in its Bloom filter word
+     */
+    static final int BLOOM_HASHES = 4;
+
+    private final Path file;
+    private final boolean ignoreCase;
+    private final boolean ssn;
+    private final long size;
+    private final long slotMask;
+    private final long bloomMask;
+    private final MappedLongs bloom;
+    private final MappedLongs table;
+
+    private MembershipSet(Path file, int flags, long size, long slots, long bloomWords, MappedLongs bloom,
+                          MappedLongs table) {
+        this.file = file;
+        this.ignoreCase = (flags & FLAG_IGNORE_CASE) != 0;
+        this.ssn = (flags & FLAG_SSN) != 0;
+        this.size = size;
+        this.slotMask = slots - 1;
+        this.bloomMask = bloomWords - 1;
+        this.bloom = bloom;
+        this.table = table;
+    }
+
+    /**
+     * Maps a set file written by {@link MembershipSetBuilder}
+     *
+     * @param file    Set file
+     * @return MembershipSet
+     * @throws IOException if the file cannot be read or is not a set file
+     */
+    public static MembershipSet open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(HEADER_SIZE, channel.size()));
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if(header.limit() < HEADER_SIZE || header.getLong(0) != MAGIC || header.getInt(8) != VERSION) {
+                throw new IOException(file + " is not a membership set file");
+            }
+            int flags = header.getInt(12);
+            long size = header.getLong(16);
+            long slots = header.getLong(24);
+            long bloomWords = header.getLong(32);
+            // Lookups stop at an empty slot, so a table more than half full is not one the builder wrote
+            if(Long.bitCount(slots) != 1 || (bloomWords != 0 && Long.bitCount(bloomWords) != 1)
+                    || size < 0 || size > slots / 2 || (flags & ~(FLAG_IGNORE_CASE | FLAG_SSN)) != 0
+                    || channel.size() != HEADER_SIZE + (bloomWords + slots) * Long.BYTES) {
+                throw new IOException(file + " is truncated or corrupt");
+            }
+            MappedLongs bloom = bloomWords == 0 ? null
+                    : MappedLongs.map(channel, FileChannel.MapMode.READ_ONLY, HEADER_SIZE, bloomWords);
+            MappedLongs table = MappedLongs.map(channel, FileChannel.MapMode.READ_ONLY,
+                    HEADER_SIZE + bloomWords * Long.BYTES, slots);
+            return new MembershipSet(file, flags, size, slots, bloomWords, bloom, table);
+        } finally {
+            // Mappings stay valid after the channel is closed
+            channel.close();
+        }
+    }
+
+    /**
+     * @param value    Value to look up
+     * @return {@code true} if the value is in the set
+     */
+    public boolean contains(CharSequence value) {
+        long fingerprint;
+        if(ssn) {
+            int packed = Ssn.pack(value);
+            if(packed == Ssn.NOT_AN_SSN) {
+                return false;
+            }
+            fingerprint = fingerprint(packed);
+        } else {
+            fingerprint = fingerprint(value, ignoreCase);
+        }
+        if(bloom != null) {
+            long bloomHash = bloomHash(fingerprint);
+            long bits = bloomBits(bloomHash);
+            if((bloom.get(bloomHash & bloomMask) & bits) != bits) {
+                return false;
+            }
+        }
+        // Linear probing, the builder keeps the table at most half full
+        for(long slot = fingerprint & slotMask; ; slot = (slot + 1) & slotMask) {
+            long stored = table.get(slot);
+            if(stored == fingerprint) {
+                return true;
+            }
+            if(stored == 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return Number of values in the set
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if values are matched regardless of case
+     */
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    /**
+     * @return {@code true} if values are SSNs, matched by their digits with or without hyphens
+     */
+    public boolean isSsn() {
+        return ssn;
+    }
+
+    /**
+     * @return {@code true} if the file has a Bloom filter in front of the table
+     */
+    public boolean hasBloomFilter() {
+        return bloom != null;
+    }
+
+    @Override
+    public String toString() {
+        return "MembershipSet[" + file + ", size=" + size + (ignoreCase ? ", ignoreCase" : "") + (ssn ? ", ssn" : "")
+                + (bloom != null ? ", bloom" : "") + "]";
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 characters followed by the MurmurHash3 finalizer. Never returns 0, which
+     * marks an empty table slot.
+     */
+    static long fingerprint(CharSequence value, boolean ignoreCase) {
+        long hash = 0xCBF29CE484222325L;
+        int length = value.length();
+        for(int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            hash = (hash ^ (ignoreCase ? Character.toLowerCase(c) : c)) * 0x100000001B3L;
+        }
+        hash = mix(hash ^ length);
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Fingerprint of a packed SSN, the same for every way of writing it
+     */
+    static long fingerprint(int packedSsn) {
+        long hash = mix(packedSsn ^ 0x5353E4B2C1A0F00DL);
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Second hash of a fingerprint, its low bits choose the Bloom filter word and its top bits the bits in it
+     */
+    static long bloomHash(long fingerprint) {
+        return mix(fingerprint ^ 0x9E3779B97F4A7C15L);
+    }
+
+    static long bloomBits(long bloomHash) {
+        long bits = 0;
+        for(int i = 1; i <= BLOOM_HASHES; i++) {
+            bits |= 1L << (bloomHash >>> (64 - 6 * i));
+        }
+        return bits;
+    }
+
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * A long array stored in a file, mapped in chunks because one mapping is limited to 2 GiB
+     */
+    static final class MappedLongs {
+        private static final int CHUNK_SHIFT = 27;
+        private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+        private final MappedByteBuffer[] chunks;
+
+        private MappedLongs(MappedByteBuffer[] chunks) {
+            this.chunks = chunks;
+        }
+
+        /**
+         * @param offset    Byte offset of the first long in the file
+         * @param length    Number of longs
+         */
+        static MappedLongs map(FileChannel channel, FileChannel.MapMode mode, long offset, long length) throws IOException {
+            MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((length + CHUNK_MASK) >>> CHUNK_SHIFT)];
+            for(int i = 0; i < chunks.length; i++) {
+                long first = (long) i << CHUNK_SHIFT;
+                long count = Math.min(1L << CHUNK_SHIFT, length - first);
+                chunks[i] = channel.map(mode, offset + first * Long.BYTES, count * Long.BYTES);
+                chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new MappedLongs(chunks);
+        }
+
+        long get(long index) {
+            return chunks[(int) (index >>> CHUNK_SHIFT)].getLong((int) (index & CHUNK_MASK) << 3);
+        }
+
+        void set(long index, long value) {
+            chunks[(int) (index >>> CHUNK_SHIFT)].putLong((int) (index & CHUNK_MASK) << 3, value);
+        }
+
+        void force() {
+            for(MappedByteBuffer chunk : chunks) {
+                chunk.force();
+            }
+        }
+    }
+}
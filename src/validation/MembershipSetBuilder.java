@@ -0,0 +1,192 @@
+package validation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * {@code MembershipSetBuilder} writes the file read by {@link MembershipSet} from a text list with one value per
+ * line. Leading and trailing whitespace is trimmed, and blank lines and lines starting with {@code #} are
+ * skipped. Duplicate values are stored once. In an SSN set every value must be an SSN, with or without hyphens,
+ * and is stored by its nine digits.
+ *
+ * <p>The table is sized so it is at most half full, 16 to 32 bytes per value. The optional Bloom filter adds
+ * the given number of bits per value, rounded up to a power of two words; 10 bits keep false positives of the
+ * filter to a few percent.
+ *
+ * <p><b>Command line:</b>
+ * <blockquote><pre>
+ * java -cp validation.jar validation.MembershipSetBuilder [-i | -s] [-b bitsPerValue] list.txt list.set
+ *
+ *   -i    match values regardless of case
+ *   -s    values are SSNs, matched with or without hyphens
+ *   -b    Bloom filter bits per value, 0 for no filter (default 10)
+ * </pre></blockquote>
+ *
+ * @see MembershipSet
+ */
+public final class MembershipSetBuilder {
+    private MembershipSetBuilder() {}
+
+    /**
+     * Default Bloom filter bits per value
+     */
+    public static final int DEFAULT_BLOOM_BITS = 10;
+
+    public static void main(String[] args) throws IOException {
+        boolean ignoreCase = false;
+        boolean ssn = false;
+        int bloomBits = DEFAULT_BLOOM_BITS;
+        int argument = 0;
+        try {
+            for(; argument < args.length && args[argument].startsWith("-"); argument++) {
+                if(args[argument].equals("-i")) {
+                    ignoreCase = true;
+                } else if(args[argument].equals("-s")) {
+                    ssn = true;
+                } else if(args[argument].equals("-b")) {
+                    bloomBits = Integer.parseInt(args[++argument]);
+                } else {
+                    throw new IllegalArgumentException(args[argument]);
+                }
+            }
+        } catch (RuntimeException e) {
+            argument = -1;
+        }
+        if(argument < 0 || args.length - argument != 2 || bloomBits < 0 || (ignoreCase && ssn)) {
+            System.err.println("Usage: java validation.MembershipSetBuilder [-i | -s] [-b bitsPerValue] list.txt list.set");
+            System.exit(2);
+        }
+        long start = System.nanoTime();
+        Path output = Paths.get(args[argument + 1]);
+        long size = ssn ? buildSsn(Paths.get(args[argument]), output, bloomBits)
+                : build(Paths.get(args[argument]), output, ignoreCase, bloomBits);
+        System.out.println("Wrote " + size + " values to " + output + " (" + Files.size(output) + " bytes) in "
+                + (System.nanoTime() - start) / 1000000 + " ms");
+    }
+
+    /**
+     * Writes a set file from a UTF-8 text list
+     *
+     * @param list          Text file with one value per line
+     * @param output        Set file to write, replaced if it exists
+     * @param ignoreCase    {@code true} to match values regardless of case
+     * @param bloomBits     Bloom filter bits per value, 0 for no filter
+     * @return Number of distinct values written
+     * @throws IOException if the list cannot be read or the set cannot be written
+     */
+    public static long build(Path list, Path output, boolean ignoreCase, int bloomBits) throws IOException {
+        return build(list, output, ignoreCase ? MembershipSet.FLAG_IGNORE_CASE : 0, bloomBits);
+    }
+
+    /**
+     * Writes an SSN set file from a UTF-8 text list of SSNs, with or without hyphens
+     *
+     * @param list         Text file with one SSN per line
+     * @param output       Set file to write, replaced if it exists
+     * @param bloomBits    Bloom filter bits per value, 0 for no filter
+     * @return Number of distinct SSNs written
+     * @throws IOException if the list cannot be read, has a value that is not an SSN or the set cannot be written
+     */
+    public static long buildSsn(Path list, Path output, int bloomBits) throws IOException {
+        return build(list, output, MembershipSet.FLAG_SSN, bloomBits);
+    }
+
+    private static long build(Path list, Path output, int flags, int bloomBits) throws IOException {
+        long[] fingerprints = new long[1024];
+        int count = 0;
+        boolean ignoreCase = (flags & MembershipSet.FLAG_IGNORE_CASE) != 0;
+        boolean ssn = (flags & MembershipSet.FLAG_SSN) != 0;
+        BufferedReader reader = Files.newBufferedReader(list, StandardCharsets.UTF_8);
+        try {
+            String line;
+            long lineNumber = 0;
+            while((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if(line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if(count == fingerprints.length) {
+                    fingerprints = Arrays.copyOf(fingerprints, count * 2);
+                }
+                if(ssn) {
+                    int packed = Ssn.pack(line);
+                    if(packed == Ssn.NOT_AN_SSN) {
+                        throw new IOException(list + ":" + lineNumber + ": not an SSN: " + line);
+                    }
+                    fingerprints[count++] = MembershipSet.fingerprint(packed);
+                } else {
+                    fingerprints[count++] = MembershipSet.fingerprint(line, ignoreCase);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        Arrays.sort(fingerprints, 0, count);
+        int distinct = 0;
+        for(int i = 0; i < count; i++) {
+            if(distinct == 0 || fingerprints[i] != fingerprints[distinct - 1]) {
+                fingerprints[distinct++] = fingerprints[i];
+            }
+        }
+        write(Arrays.copyOf(fingerprints, distinct), output, flags, bloomBits);
+        return distinct;
+    }
+
+    /**
+     * Writes distinct fingerprints to a set file
+     */
+    static void write(long[] fingerprints, Path output, int flags, int bloomBits) throws IOException {
+        long slots = powerOfTwoAtLeast(Math.max(2L * fingerprints.length, 16));
+        long bloomWords = bloomBits == 0 ? 0 : powerOfTwoAtLeast(((long) fingerprints.length * bloomBits + 63) / 64);
+        FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(MembershipSet.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putLong(MembershipSet.MAGIC)
+                    .putInt(MembershipSet.VERSION)
+                    .putInt(flags)
+                    .putLong(fingerprints.length)
+                    .putLong(slots)
+                    .putLong(bloomWords);
+            header.clear();
+            channel.write(header, 0);
+            // Mapping past the end grows the file, the new bytes read as zero
+            if(bloomWords != 0) {
+                MembershipSet.MappedLongs bloom = MembershipSet.MappedLongs.map(channel, FileChannel.MapMode.READ_WRITE,
+                        MembershipSet.HEADER_SIZE, bloomWords);
+                for(long fingerprint : fingerprints) {
+                    long bloomHash = MembershipSet.bloomHash(fingerprint);
+                    long word = bloomHash & (bloomWords - 1);
+                    bloom.set(word, bloom.get(word) | MembershipSet.bloomBits(bloomHash));
+                }
+                bloom.force();
+            }
+            MembershipSet.MappedLongs table = MembershipSet.MappedLongs.map(channel, FileChannel.MapMode.READ_WRITE,
+                    MembershipSet.HEADER_SIZE + bloomWords * Long.BYTES, slots);
+            for(long fingerprint : fingerprints) {
+                long slot = fingerprint & (slots - 1);
+                while(table.get(slot) != 0) {
+                    slot = (slot + 1) & (slots - 1);
+                }
+                table.set(slot, fingerprint);
+            }
+            table.force();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static long powerOfTwoAtLeast(long value) {
+        return value <= 1 ? 1 : Long.highestOneBit(value - 1) << 1;
+    }
+}
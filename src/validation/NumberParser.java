@@ -0,0 +1,407 @@
+package validation;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@code NumberParser} parses {@code int} and {@code double} values and performs the <b>inclusive</b> range check
+ * in the same pass, without throwing exceptions and without allocating on the common path.
+ *
+ * <p>Each parse method returns a status code ({@link #OK}, {@link #INVALID_FORMAT} or {@link #OUT_OF_RANGE}).
+ * When the status is OK the parsed value can be read with {@link #getInt()} or {@link #getDouble()}. Input can be
+ * a {@code CharSequence}, a range of a {@code char[]}, or a slice of a {@code ByteBuffer} holding ASCII text.
+ *
+ * <p>The accepted input is exactly what {@code Integer.parseInt} and {@code Double.parseDouble} accept, and
+ * doubles are bit for bit identical to {@code Double.parseDouble}. Decimal values with up to 15 significant
+ * digits and a small exponent are converted directly, anything else is checked against the
+ * {@code Double.parseDouble} grammar first and only then handed to it, so no NumberFormatException is ever
+ * created.
+ *
+ * <p>A NumberParser keeps the last parsed value, so an instance must not be shared between threads. Instances
+ * are cheap and meant to be reused for many values.
+ *
+ * @see Validator#getInt(java.util.Scanner, String, int, int)
+ * @see Validator#getDouble(java.util.Scanner, String, double, double)
+ */
+public final class NumberParser {
+
+    /**
+     * Status returned when the input is a valid number within the range
+     */
+    public static final int OK = 0;
+
+    /**
+     * Status returned when the input is not a valid number
+     */
+    public static final int INVALID_FORMAT = 1;
+
+    /**
+     * Status returned when the input is a valid number outside of the range
+     */
+    public static final int OUT_OF_RANGE = 2;
+
+    /**
+     * Exact powers of ten that can be represented by a double, used by the fast conversion path
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private int intValue;
+    private double doubleValue;
+
+    // Reusable views so char[] and ByteBuffer input go through the same code without allocating
+    private final CharArrayView charArrayView = new CharArrayView();
+    private final AsciiSequence asciiSequence = new AsciiSequence();
+
+    public NumberParser() { }
+
+    /**
+     * @return The value from the last int parse that returned {@link #OK}
+     */
+    public int getInt() {
+        return intValue;
+    }
+
+    /**
+     * @return The value from the last double parse that returned {@link #OK}
+     */
+    public double getDouble() {
+        return doubleValue;
+    }
+
+    /**
+     * Parses an int and performs an <b>inclusive</b> range check
+     *
+     * @param input           Input to parse
+     * @param minimumValue    Minimum allowed value
+     * @param maximumValue    Maximum allowed value
+     * @return Status code
+     */
+    public int parseInt(CharSequence input, int minimumValue, int maximumValue) {
+        return parseInt(input, 0, input.length(), minimumValue, maximumValue);
+    }
+
+    /**
+     * Parses an int from {@code input[start, end)} and performs an <b>inclusive</b> range check
+     *
+     * @param input           Input to parse
+     * @param start           Index of the first character
+     * @param end             Index after the last character
+     * @param minimumValue    Minimum allowed value
+     * @param maximumValue    Maximum allowed value
+     * @return Status code
+     */
+    public int parseInt(CharSequence input, int start, int end, int minimumValue, int maximumValue) {
+        // Same algorithm as Integer.parseInt, accumulating negatively to reach Integer.MIN_VALUE
+        if(start >= end) {
+            return INVALID_FORMAT;
+        }
+        int position = start;
+        boolean negative = false;
+        int limit = -Integer.MAX_VALUE;
+        char first = input.charAt(position);
+        if(first < '0') {
+            if(first == '-') {
+                negative = true;
+                limit = Integer.MIN_VALUE;
+            } else if(first != '+') {
+                return INVALID_FORMAT;
+            }
+            if(++position == end) {
+                return INVALID_FORMAT;
+            }
+        }
+        int multiplyMinimum = limit / 10;
+        int result = 0;
+        while(position < end) {
+            int digit = Character.digit(input.charAt(position++), 10);
+            if(digit < 0 || result < multiplyMinimum) {
+                return INVALID_FORMAT;
+            }
+            result *= 10;
+            if(result < limit + digit) {
+                return INVALID_FORMAT;
+            }
+            result -= digit;
+        }
+        result = negative ? result : -result;
+        if(result < minimumValue || result > maximumValue) {
+            return OUT_OF_RANGE;
+        }
+        intValue = result;
+        return OK;
+    }
+
+    /**
+     * Parses an int from {@code chars[start, end)} and performs an <b>inclusive</b> range check
+     *
+     * @see #parseInt(CharSequence, int, int, int, int)
+     */
+    public int parseInt(char[] chars, int start, int end, int minimumValue, int maximumValue) {
+        return parseInt(charArrayView.wrap(chars), start, end, minimumValue, maximumValue);
+    }
+
+    /**
+     * Parses an int from the ASCII bytes at the absolute positions {@code [start, end)} of a buffer and performs
+     * an <b>inclusive</b> range check. The position and limit of the buffer are not changed.
+     *
+     * @see #parseInt(CharSequence, int, int, int, int)
+     */
+    public int parseInt(ByteBuffer buffer, int start, int end, int minimumValue, int maximumValue) {
+        return parseInt(asciiSequence.wrap(buffer, 0, buffer.limit()), start, end, minimumValue, maximumValue);
+    }
+
+    /**
+     * Parses a double and performs an <b>inclusive</b> range check
+     *
+     * @param input           Input to parse
+     * @param minimumValue    Minimum allowed value
+     * @param maximumValue    Maximum allowed value
+     * @return Status code
+     */
+    public int parseDouble(CharSequence input, double minimumValue, double maximumValue) {
+        return parseDouble(input, 0, input.length(), minimumValue, maximumValue);
+    }
+
+    /**
+     * Parses a double from {@code input[start, end)} and performs an <b>inclusive</b> range check.
+     * Like {@code Double.parseDouble}, leading and trailing whitespace is ignored.
+     *
+     * @param input           Input to parse
+     * @param start           Index of the first character
+     * @param end             Index after the last character
+     * @param minimumValue    Minimum allowed value
+     * @param maximumValue    Maximum allowed value
+     * @return Status code
+     */
+    public int parseDouble(CharSequence input, int start, int end, double minimumValue, double maximumValue) {
+        while(start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        while(end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if(start == end) {
+            return INVALID_FORMAT;
+        }
+
+        int position = start;
+        boolean negative = false;
+        char c = input.charAt(position);
+        if(c == '-' || c == '+') {
+            negative = c == '-';
+            if(++position == end) {
+                return INVALID_FORMAT;
+            }
+            c = input.charAt(position);
+        }
+
+        double value;
+        if(c == 'N' || c == 'I') {
+            if(regionEquals(input, position, end, "NaN")) {
+                value = Double.NaN;
+            } else if(regionEquals(input, position, end, "Infinity")) {
+                value = negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            } else {
+                return INVALID_FORMAT;
+            }
+        } else if(c == '0' && position + 1 < end && (input.charAt(position + 1) | 0x20) == 'x') {
+            if(!isHexFloatingPoint(input, position + 2, end)) {
+                return INVALID_FORMAT;
+            }
+            value = slowParse(input, start, end);
+        } else {
+            // Decimal: digits, optional dot, digits, optional exponent, optional type suffix
+            long significand = 0;
+            int significantDigits = 0;
+            int digitCount = 0;
+            int exponent = 0;
+            boolean seenDot = false;
+            for(; position < end; position++) {
+                c = input.charAt(position);
+                if(c >= '0' && c <= '9') {
+                    digitCount++;
+                    // Leading zeros are not significant. The exponent is only exact up to 19 significant
+                    // digits, which is fine because anything over 15 takes the slow path anyway.
+                    if(significantDigits > 0 || c != '0') {
+                        if(significantDigits < 19) {
+                            significand = significand * 10 + (c - '0');
+                        }
+                        significantDigits++;
+                    }
+                    if(seenDot) {
+                        exponent--;
+                    }
+                } else if(c == '.' && !seenDot) {
+                    seenDot = true;
+                } else {
+                    break;
+                }
+            }
+            if(digitCount == 0) {
+                return INVALID_FORMAT;
+            }
+            int explicitExponent = 0;
+            boolean exponentOverflow = false;
+            if(position < end && (c == 'e' || c == 'E')) {
+                if(++position == end) {
+                    return INVALID_FORMAT;
+                }
+                boolean negativeExponent = false;
+                c = input.charAt(position);
+                if(c == '-' || c == '+') {
+                    negativeExponent = c == '-';
+                    if(++position == end) {
+                        return INVALID_FORMAT;
+                    }
+                }
+                int exponentStart = position;
+                for(; position < end; position++) {
+                    c = input.charAt(position);
+                    if(c < '0' || c > '9') {
+                        break;
+                    }
+                    if(explicitExponent < 100000) {
+                        explicitExponent = explicitExponent * 10 + (c - '0');
+                    } else {
+                        exponentOverflow = true;
+                    }
+                }
+                if(position == exponentStart) {
+                    return INVALID_FORMAT;
+                }
+                explicitExponent = negativeExponent ? -explicitExponent : explicitExponent;
+            }
+            if(position < end) {
+                c = input.charAt(position);
+                if(position != end - 1 || (c != 'd' && c != 'D' && c != 'f' && c != 'F')) {
+                    return INVALID_FORMAT;
+                }
+            }
+            exponent += explicitExponent;
+
+            if(significand == 0) {
+                value = negative ? -0.0d : 0.0d;
+            } else if(!exponentOverflow && significantDigits <= 15 && exponent >= -22 && exponent <= 22) {
+                // Both the significand and the power of ten are exact, so one IEEE operation rounds correctly
+                value = exponent < 0 ? significand / POWERS_OF_TEN[-exponent] : significand * POWERS_OF_TEN[exponent];
+                value = negative ? -value : value;
+            } else {
+                value = slowParse(input, start, end);
+            }
+        }
+
+        if(value < minimumValue || value > maximumValue) {
+            return OUT_OF_RANGE;
+        }
+        doubleValue = value;
+        return OK;
+    }
+
+    /**
+     * Parses a double from {@code chars[start, end)} and performs an <b>inclusive</b> range check
+     *
+     * @see #parseDouble(CharSequence, int, int, double, double)
+     */
+    public int parseDouble(char[] chars, int start, int end, double minimumValue, double maximumValue) {
+        return parseDouble(charArrayView.wrap(chars), start, end, minimumValue, maximumValue);
+    }
+
+    /**
+     * Parses a double from the ASCII bytes at the absolute positions {@code [start, end)} of a buffer and
+     * performs an <b>inclusive</b> range check. The position and limit of the buffer are not changed.
+     *
+     * @see #parseDouble(CharSequence, int, int, double, double)
+     */
+    public int parseDouble(ByteBuffer buffer, int start, int end, double minimumValue, double maximumValue) {
+        return parseDouble(asciiSequence.wrap(buffer, 0, buffer.limit()), start, end, minimumValue, maximumValue);
+    }
+
+    /**
+     * Hands input that is already known to be valid to {@code Double.parseDouble}. Only used for long
+     * significands, large exponents and hexadecimal input.
+     */
+    private static double slowParse(CharSequence input, int start, int end) {
+        return Double.parseDouble(input.subSequence(start, end).toString());
+    }
+
+    private static boolean regionEquals(CharSequence input, int start, int end, String expected) {
+        if(end - start != expected.length()) {
+            return false;
+        }
+        for(int i = 0; i < expected.length(); i++) {
+            if(input.charAt(start + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Grammar check for the part of a hexadecimal floating point value after {@code 0x}:
+     * {@code (hex+ .? | hex* . hex+) [pP] [+-]? digit+ [fFdD]?}
+     */
+    private static boolean isHexFloatingPoint(CharSequence input, int position, int end) {
+        int digits = 0;
+        boolean seenDot = false;
+        char c = 0;
+        for(; position < end; position++) {
+            c = input.charAt(position);
+            if(Character.digit(c, 16) >= 0 && c < 128) {
+                digits++;
+            } else if(c == '.' && !seenDot) {
+                seenDot = true;
+            } else {
+                break;
+            }
+        }
+        if(digits == 0 || position == end || (c != 'p' && c != 'P')) {
+            return false;
+        }
+        if(++position < end && (input.charAt(position) == '+' || input.charAt(position) == '-')) {
+            position++;
+        }
+        int exponentStart = position;
+        while(position < end && input.charAt(position) >= '0' && input.charAt(position) <= '9') {
+            position++;
+        }
+        if(position == exponentStart) {
+            return false;
+        }
+        if(position == end) {
+            return true;
+        }
+        c = input.charAt(position);
+        return position == end - 1 && (c == 'd' || c == 'D' || c == 'f' || c == 'F');
+    }
+
+    /**
+     * CharSequence over a whole {@code char[]}, the parse methods apply the range
+     */
+    private static final class CharArrayView implements CharSequence {
+        private char[] chars;
+
+        CharArrayView wrap(char[] chars) {
+            this.chars = chars;
+            return this;
+        }
+
+        public int length() {
+            return chars.length;
+        }
+
+        public char charAt(int index) {
+            return chars[index];
+        }
+
+        public CharSequence subSequence(int start, int end) {
+            return new String(chars, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars);
+        }
+    }
+}
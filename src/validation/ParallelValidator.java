@@ -0,0 +1,201 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * {@code ParallelValidator} validates a large in-memory collection of values against one {@link ValidationRule}
+ * using all available cores, for example during an import.
+ *
+ * <p>The values are split into contiguous chunks that are validated independently, on a {@link ForkJoinPool}
+ * (the common pool by default) or on a caller supplied {@link Executor}. Each chunk writes its own words of the
+ * valid bitmap, and the per chunk counts and failures are merged in order, so the {@link BulkValidationReport}
+ * is exactly the same as validating the values one after the other. Failures report a byte offset of -1.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * BulkValidationReport report = ParallelValidator.validate(customerEmails,
+ *         ValidationRule.pattern({@link Constants#MATCH_EMAIL MATCH_EMAIL}), 100);
+ * </pre></blockquote>
+ *
+ * @see BulkValidationReport
+ * @see ValidationRule
+ */
+public final class ParallelValidator {
+    private ParallelValidator() {}
+
+    /**
+     * Default number of values per chunk, a multiple of 64 so chunks never share a bitmap word
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    /**
+     * Validates a list on the common ForkJoinPool
+     *
+     * @param values             Values to validate
+     * @param rule               Rule each value must pass
+     * @param maximumFailures    Number of failures to keep in detail, further failures are only counted
+     * @return Report with counts, a bitmap of valid indexes and the first failures
+     */
+    public static BulkValidationReport validate(List<? extends CharSequence> values, ValidationRule rule, int maximumFailures) {
+        return validate(values, rule, maximumFailures, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Validates an array, such as a {@code String[]}, on the common ForkJoinPool
+     *
+     * @see #validate(java.util.List, ValidationRule, int)
+     */
+    public static BulkValidationReport validate(CharSequence[] values, ValidationRule rule, int maximumFailures) {
+        return validate(Arrays.asList(values), rule, maximumFailures, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Validates a list on the given ForkJoinPool
+     *
+     * @param values             Values to validate
+     * @param rule               Rule each value must pass
+     * @param maximumFailures    Number of failures to keep in detail, further failures are only counted
+     * @param pool               Pool to run the chunks on
+     * @return Report with counts, a bitmap of valid indexes and the first failures
+     */
+    public static BulkValidationReport validate(List<? extends CharSequence> values, ValidationRule rule, int maximumFailures,
+                                                ForkJoinPool pool) {
+        List<? extends CharSequence> randomAccessValues = randomAccess(values);
+        long[] validWords = new long[wordCount(randomAccessValues.size())];
+        BulkValidationReport report = pool.invoke(new ChunkTask(randomAccessValues, 0, randomAccessValues.size(), rule,
+                maximumFailures, validWords));
+        report.setValidIndexes(validWords);
+        return report;
+    }
+
+    /**
+     * Validates a list in chunks of {@link #DEFAULT_CHUNK_SIZE} on a caller supplied executor
+     *
+     * @param values             Values to validate
+     * @param rule               Rule each value must pass
+     * @param maximumFailures    Number of failures to keep in detail, further failures are only counted
+     * @param executor           Executor to run the chunks on
+     * @return Report with counts, a bitmap of valid indexes and the first failures
+     * @throws InterruptedException if interrupted while waiting for the chunks
+     */
+    public static BulkValidationReport validate(List<? extends CharSequence> values, final ValidationRule rule,
+                                                final int maximumFailures, Executor executor) throws InterruptedException {
+        final List<? extends CharSequence> randomAccessValues = randomAccess(values);
+        int size = randomAccessValues.size();
+        final long[] validWords = new long[wordCount(size)];
+        List<FutureTask<BulkValidationReport>> chunks = new ArrayList<FutureTask<BulkValidationReport>>();
+        for(int chunkStart = 0; chunkStart < size; chunkStart += DEFAULT_CHUNK_SIZE) {
+            final int start = chunkStart;
+            final int end = Math.min(size, chunkStart + DEFAULT_CHUNK_SIZE);
+            FutureTask<BulkValidationReport> chunk = new FutureTask<BulkValidationReport>(new Callable<BulkValidationReport>() {
+                public BulkValidationReport call() {
+                    return validateChunk(randomAccessValues, start, end, rule, maximumFailures, validWords);
+                }
+            });
+            chunks.add(chunk);
+            executor.execute(chunk);
+        }
+        BulkValidationReport report = new BulkValidationReport(rule.getId(), maximumFailures);
+        try {
+            for(FutureTask<BulkValidationReport> chunk : chunks) {
+                report.merge(chunk.get());
+            }
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } finally {
+            for(FutureTask<BulkValidationReport> chunk : chunks) {
+                chunk.cancel(false);
+            }
+        }
+        report.setValidIndexes(validWords);
+        return report;
+    }
+
+    /**
+     * Validates a range of values on the calling thread, setting valid bits in the shared words. Chunk ranges
+     * always start on a multiple of 64, so no two chunks write the same word.
+     */
+    static BulkValidationReport validateChunk(List<? extends CharSequence> values, int start, int end, ValidationRule rule,
+                                              int maximumFailures, long[] validWords) {
+        BulkValidationReport report = new BulkValidationReport(rule.getId(), maximumFailures);
+        ValidationResult result = new ValidationResult();
+        for(int index = start; index < end; index++) {
+            CharSequence value = values.get(index);
+            if(rule.validate(value, result)) {
+                validWords[index >>> 6] |= 1L << index;
+                report.recordValid();
+            } else {
+                report.recordInvalid(index, -1, result.getErrorCode(), value);
+            }
+        }
+        return report;
+    }
+
+    private static List<? extends CharSequence> randomAccess(List<? extends CharSequence> values) {
+        if(values instanceof RandomAccess) {
+            return values;
+        }
+        return new ArrayList<CharSequence>(values);
+    }
+
+    private static int wordCount(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if(cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if(cause instanceof Error) {
+            throw (Error) cause;
+        }
+        throw new IllegalStateException(cause);
+    }
+
+    /**
+     * Splits its range in half until it is no larger than one chunk, then validates it. Results are merged
+     * left to right so failures stay in index order.
+     */
+    @SuppressWarnings("serial") // never serialized, only forked within one pool
+    private static final class ChunkTask extends RecursiveTask<BulkValidationReport> {
+        private final List<? extends CharSequence> values;
+        private final int start;
+        private final int end;
+        private final ValidationRule rule;
+        private final int maximumFailures;
+        private final long[] validWords;
+
+        ChunkTask(List<? extends CharSequence> values, int start, int end, ValidationRule rule, int maximumFailures,
+                  long[] validWords) {
+            this.values = values;
+            this.start = start;
+            this.end = end;
+            this.rule = rule;
+            this.maximumFailures = maximumFailures;
+            this.validWords = validWords;
+        }
+
+        @Override
+        protected BulkValidationReport compute() {
+            if(end - start <= DEFAULT_CHUNK_SIZE) {
+                return validateChunk(values, start, end, rule, maximumFailures, validWords);
+            }
+            // Split on a chunk boundary so every chunk starts on a bitmap word
+            int chunks = (end - start + DEFAULT_CHUNK_SIZE - 1) / DEFAULT_CHUNK_SIZE;
+            int middle = start + (chunks / 2) * DEFAULT_CHUNK_SIZE;
+            ChunkTask right = new ChunkTask(values, middle, end, rule, maximumFailures, validWords);
+            right.fork();
+            BulkValidationReport report = new ChunkTask(values, start, middle, rule, maximumFailures, validWords).compute();
+            report.merge(right.join());
+            return report;
+        }
+    }
+}
@@ -0,0 +1,906 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * {@code PatternClassifier} finds every pattern out of a set that <b>entirely</b> matches an input, in a single
+ * pass over the input, for example to route a record by whether a value is an email address, an SSN or a Y/N
+ * choice.
+ *
+ * <p>The patterns are compiled into one combined automaton (a Thompson NFA per pattern behind a shared start
+ * state). {@link #classify(CharSequence)} simulates it as a DFA whose states are built lazily the first time
+ * they are reached and then reused, so after warm up each ASCII character costs one table lookup and any other
+ * character a binary search over the few seen in that state. At most {@value #MAXIMUM_DFA_STATES} DFA states are
+ * kept, further states are computed on the fly. Patterns whose counted repeats would expand the combined NFA
+ * past {@value #MAXIMUM_NFA_NODES} nodes are matched separately.
+ *
+ * <p>The automaton supports the regular expression subset used by {@link Constants}: literals and escaped
+ * characters, {@code .}, character classes with ranges and negation, {@code \d \D \w \W \s \S}, groups
+ * (capturing or {@code (?:...)}), alternation and the greedy or reluctant quantifiers {@code ? * + {n} {n,}
+ * {n,m}}. Patterns with anything else (anchors, back references, look around, possessive quantifiers, flags)
+ * are matched separately with {@link PatternRegistry}, so every pattern is supported and the result is always
+ * the same as calling {@code Pattern.matches} for each one.
+ *
+ * <p>Classifiers are immutable and safe to share between threads.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * PatternClassifier classifier = PatternClassifier.builder()
+ *         .add({@link Constants#MATCH_EMAIL MATCH_EMAIL})     // bit 0
+ *         .add({@link Constants#MATCH_SSN MATCH_SSN})       // bit 1
+ *         .add({@link Constants#MATCH_CHOICE_YN MATCH_CHOICE_YN}) // bit 2
+ *         .add("[A-Za-z][0-9]{5}")  // bit 3, customer number
+ *         .build();
+ * long matches = classifier.classify(value);
+ * if ((matches &amp; 1L) != 0) {
+ *     routeToEmail(value);
+ * }
+ * </pre></blockquote>
+ *
+ * @see PatternRegistry
+ */
+public final class PatternClassifier {
+
+    /**
+     * Maximum number of patterns, one bit of the result each
+     */
+    public static final int MAXIMUM_PATTERNS = 64;
+
+    /**
+     * Maximum number of DFA states kept per classifier
+     */
+    static final int MAXIMUM_DFA_STATES = 4096;
+
+    /**
+     * Code points below this have a transition table in each DFA state
+     */
+    private static final int TABLE_SIZE = 128;
+
+    /**
+     * Maximum number of transitions on code points from {@value #TABLE_SIZE} up kept per DFA state
+     */
+    private static final int MAXIMUM_WIDE_TRANSITIONS = 32;
+
+    /**
+     * Maximum number of nodes in the combined NFA, patterns that would grow it further are matched separately
+     */
+    static final int MAXIMUM_NFA_NODES = 10000;
+
+    private final Pattern[] patterns;
+    private final long compiledMask;
+    private final Pattern[] fallbackPatterns;
+    private final int[] fallbackBits;
+
+    // The combined NFA, one entry per node
+    private final int[] nodeTypes;
+    private final int[][] nodeRanges;
+    private final int[] nodeNext;
+    private final int[] nodeAlternative;
+    private final long[] nodeBits;
+
+    private final DState start;
+    private final Map<StateKey, DState> dfaStates = new HashMap<StateKey, DState>();
+
+    private PatternClassifier(List<Pattern> patternList) {
+        patterns = patternList.toArray(new Pattern[patternList.size()]);
+        Nfa nfa = new Nfa();
+        List<Integer> starts = new ArrayList<Integer>();
+        List<Pattern> fallbacks = new ArrayList<Pattern>();
+        List<Integer> fallbackBitList = new ArrayList<Integer>();
+        long compiled = 0;
+        for(int bit = 0; bit < patterns.length; bit++) {
+            Node ast = patterns[bit].flags() == 0 ? new Parser(patterns[bit].pattern()).parse() : null;
+            if(ast == null) {
+                fallbacks.add(patterns[bit]);
+                fallbackBitList.add(bit);
+                continue;
+            }
+            int size = nfa.size();
+            try {
+                starts.add(nfa.compile(ast, nfa.add(Nfa.MATCH, null, -1, -1, 1L << bit)));
+            } catch (UnsupportedSyntax e) {
+                // Counted repeats multiply, so a short pattern can expand past the node limit
+                nfa.truncate(size);
+                fallbacks.add(patterns[bit]);
+                fallbackBitList.add(bit);
+                continue;
+            }
+            compiled |= 1L << bit;
+        }
+        compiledMask = compiled;
+        fallbackPatterns = fallbacks.toArray(new Pattern[fallbacks.size()]);
+        fallbackBits = new int[fallbackBitList.size()];
+        for(int i = 0; i < fallbackBits.length; i++) {
+            fallbackBits[i] = fallbackBitList.get(i);
+        }
+        nodeTypes = nfa.toArray(nfa.types);
+        nodeNext = nfa.toArray(nfa.next);
+        nodeAlternative = nfa.toArray(nfa.alternative);
+        nodeRanges = nfa.ranges.toArray(new int[nfa.ranges.size()][]);
+        nodeBits = new long[nfa.bits.size()];
+        for(int i = 0; i < nodeBits.length; i++) {
+            nodeBits[i] = nfa.bits.get(i);
+        }
+        boolean[] visited = new boolean[nodeTypes.length];
+        IntList closure = new IntList();
+        IntList stack = new IntList();
+        for(int node : starts) {
+            addClosure(node, visited, closure, stack);
+        }
+        start = intern(closure.sortedCopy(), true);
+    }
+
+    /**
+     * @return Builder collecting the patterns in bit order
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Finds every pattern that <b>entirely</b> matches the input
+     *
+     * @param input    Input to classify
+     * @return Bitmask with bit {@code i} set if the pattern added {@code i}th matches
+     */
+    public long classify(CharSequence input) {
+        long matches = 0;
+        if(compiledMask != 0) {
+            DState state = start;
+            int length = input.length();
+            for(int i = 0; i < length && !state.dead; ) {
+                int codePoint = Character.codePointAt(input, i);
+                i += Character.charCount(codePoint);
+                DState next = codePoint < state.next.length ? state.next[codePoint]
+                        : codePoint >= TABLE_SIZE ? state.wideTransition(codePoint) : null;
+                state = next != null ? next : transition(state, codePoint);
+            }
+            matches = state.dead ? 0 : state.acceptBits;
+        }
+        for(int i = 0; i < fallbackPatterns.length; i++) {
+            if(PatternRegistry.matches(input, fallbackPatterns[i])) {
+                matches |= 1L << fallbackBits[i];
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * @return Number of patterns
+     */
+    public int size() {
+        return patterns.length;
+    }
+
+    /**
+     * @param bit    Bit of the pattern
+     * @return The pattern for a bit of the result
+     */
+    public Pattern getPattern(int bit) {
+        return patterns[bit];
+    }
+
+    /**
+     * @param bit    Bit of the pattern
+     * @return {@code true} if the pattern is part of the combined automaton, {@code false} if it is matched
+     *         separately
+     */
+    public boolean isCombined(int bit) {
+        return (compiledMask & (1L << bit)) != 0;
+    }
+
+    /**
+     * @return Number of DFA states built so far
+     */
+    public int getDfaStateCount() {
+        synchronized (dfaStates) {
+            return dfaStates.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PatternClassifier[patterns=" + patterns.length + ", combined=" + Long.bitCount(compiledMask)
+                + ", dfaStates=" + getDfaStateCount() + "]";
+    }
+
+    /**
+     * Computes a transition that is not in the table yet, and adds it to the table when it can be
+     */
+    private DState transition(DState state, int codePoint) {
+        boolean[] visited = new boolean[nodeTypes.length];
+        IntList closure = new IntList();
+        IntList stack = new IntList();
+        for(int node : state.nodes) {
+            if(nodeTypes[node] == Nfa.CHARS && contains(nodeRanges[node], codePoint)) {
+                addClosure(nodeNext[node], visited, closure, stack);
+            }
+        }
+        synchronized (dfaStates) {
+            DState next = intern(closure.sortedCopy(), state.cached);
+            if(state.cached && next.cached) {
+                if(codePoint < TABLE_SIZE) {
+                    state.next[codePoint] = next;
+                } else {
+                    state.addWideTransition(codePoint, next);
+                }
+            }
+            return next;
+        }
+    }
+
+    /**
+     * Returns the DFA state for a set of NFA nodes, creating it if needed. Only states reached from cached
+     * states are cached, and only while there is room.
+     */
+    private DState intern(int[] nodes, boolean cache) {
+        StateKey key = new StateKey(nodes);
+        synchronized (dfaStates) {
+            DState state = dfaStates.get(key);
+            if(state == null) {
+                long acceptBits = 0;
+                for(int node : nodes) {
+                    if(nodeTypes[node] == Nfa.MATCH) {
+                        acceptBits |= nodeBits[node];
+                    }
+                }
+                boolean cached = cache && dfaStates.size() < MAXIMUM_DFA_STATES;
+                state = new DState(nodes, acceptBits, cached);
+                if(cached) {
+                    dfaStates.put(key, state);
+                }
+            }
+            return state;
+        }
+    }
+
+    /**
+     * Adds the character and match nodes reachable from a node without consuming input. Iterative, since chains
+     * of empty and split nodes can be as long as the NFA.
+     */
+    private void addClosure(int node, boolean[] visited, IntList closure, IntList stack) {
+        stack.add(node);
+        while(!stack.isEmpty()) {
+            node = stack.removeLast();
+            if(visited[node]) {
+                continue;
+            }
+            visited[node] = true;
+            switch (nodeTypes[node]) {
+                case Nfa.SPLIT:
+                    // Pushed in reverse so the next node is expanded first
+                    stack.add(nodeAlternative[node]);
+                    stack.add(nodeNext[node]);
+                    break;
+                case Nfa.EMPTY:
+                    stack.add(nodeNext[node]);
+                    break;
+                default:
+                    closure.add(node);
+            }
+        }
+    }
+
+    private static boolean contains(int[] ranges, int codePoint) {
+        // Ranges are sorted pairs of inclusive bounds
+        int low = 0;
+        int high = ranges.length / 2 - 1;
+        while(low <= high) {
+            int middle = (low + high) >>> 1;
+            if(codePoint < ranges[middle * 2]) {
+                high = middle - 1;
+            } else if(codePoint > ranges[middle * 2 + 1]) {
+                low = middle + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects patterns in bit order
+     */
+    public static final class Builder {
+        private final List<Pattern> patterns = new ArrayList<Pattern>();
+
+        private Builder() { }
+
+        /**
+         * @param pattern    Regular expression, compiled through {@link PatternRegistry}
+         * @return This builder
+         * @throws IllegalStateException if {@value #MAXIMUM_PATTERNS} patterns have already been added
+         */
+        public Builder add(String pattern) {
+            return add(PatternRegistry.compile(pattern));
+        }
+
+        /**
+         * @param pattern    Compiled Pattern
+         * @return This builder
+         * @throws IllegalStateException if {@value #MAXIMUM_PATTERNS} patterns have already been added
+         */
+        public Builder add(Pattern pattern) {
+            if(patterns.size() == MAXIMUM_PATTERNS) {
+                throw new IllegalStateException("A classifier holds at most " + MAXIMUM_PATTERNS + " patterns");
+            }
+            patterns.add(pattern);
+            return this;
+        }
+
+        /**
+         * @return Classifier for the patterns added so far
+         */
+        public PatternClassifier build() {
+            return new PatternClassifier(patterns);
+        }
+    }
+
+    /**
+     * A set of NFA nodes with its lazily filled transition table
+     */
+    private static final class DState {
+        final int[] nodes;
+        final long acceptBits;
+        final boolean dead;
+        final boolean cached;
+        final DState[] next;
+
+        /**
+         * Transitions on non-ASCII code points, replaced as a whole so readers need no lock
+         */
+        private volatile WideTransitions wide = WideTransitions.EMPTY;
+
+        DState(int[] nodes, long acceptBits, boolean cached) {
+            this.nodes = nodes;
+            this.acceptBits = acceptBits;
+            this.dead = nodes.length == 0;
+            this.cached = cached;
+            this.next = new DState[cached ? TABLE_SIZE : 0];
+        }
+
+        DState wideTransition(int codePoint) {
+            WideTransitions transitions = wide;
+            int index = Arrays.binarySearch(transitions.codePoints, codePoint);
+            return index >= 0 ? transitions.states[index] : null;
+        }
+
+        /**
+         * Called with the DFA state lock held
+         */
+        void addWideTransition(int codePoint, DState state) {
+            WideTransitions transitions = wide;
+            int index = Arrays.binarySearch(transitions.codePoints, codePoint);
+            if(index >= 0 || transitions.codePoints.length >= MAXIMUM_WIDE_TRANSITIONS) {
+                return;
+            }
+            index = -index - 1;
+            int length = transitions.codePoints.length;
+            int[] codePoints = new int[length + 1];
+            DState[] states = new DState[length + 1];
+            System.arraycopy(transitions.codePoints, 0, codePoints, 0, index);
+            System.arraycopy(transitions.states, 0, states, 0, index);
+            codePoints[index] = codePoint;
+            states[index] = state;
+            System.arraycopy(transitions.codePoints, index, codePoints, index + 1, length - index);
+            System.arraycopy(transitions.states, index, states, index + 1, length - index);
+            wide = new WideTransitions(codePoints, states);
+        }
+    }
+
+    /**
+     * Sorted code points and the states they lead to
+     */
+    private static final class WideTransitions {
+        static final WideTransitions EMPTY = new WideTransitions(new int[0], new DState[0]);
+
+        final int[] codePoints;
+        final DState[] states;
+
+        WideTransitions(int[] codePoints, DState[] states) {
+            this.codePoints = codePoints;
+            this.states = states;
+        }
+    }
+
+    private static final class StateKey {
+        private final int[] nodes;
+        private final int hash;
+
+        StateKey(int[] nodes) {
+            this.nodes = nodes;
+            this.hash = Arrays.hashCode(nodes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof StateKey && Arrays.equals(nodes, ((StateKey) other).nodes);
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if(size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int removeLast() {
+            return values[--size];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int[] sortedCopy() {
+            int[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    /**
+     * Thompson construction of the combined NFA. Nodes are built back to front: each part is compiled with the
+     * node that follows it already known.
+     */
+    private static final class Nfa {
+        static final int CHARS = 0;
+        static final int SPLIT = 1;
+        static final int EMPTY = 2;
+        static final int MATCH = 3;
+
+        final List<Integer> types = new ArrayList<Integer>();
+        final List<int[]> ranges = new ArrayList<int[]>();
+        final List<Integer> next = new ArrayList<Integer>();
+        final List<Integer> alternative = new ArrayList<Integer>();
+        final List<Long> bits = new ArrayList<Long>();
+
+        int add(int type, int[] charRanges, int nextNode, int alternativeNode, long acceptBits) {
+            if(types.size() >= MAXIMUM_NFA_NODES) {
+                throw UnsupportedSyntax.INSTANCE;
+            }
+            types.add(type);
+            ranges.add(charRanges);
+            next.add(nextNode);
+            alternative.add(alternativeNode);
+            bits.add(acceptBits);
+            return types.size() - 1;
+        }
+
+        int size() {
+            return types.size();
+        }
+
+        /**
+         * Removes the nodes added after the first {@code size}
+         */
+        void truncate(int size) {
+            types.subList(size, types.size()).clear();
+            ranges.subList(size, ranges.size()).clear();
+            next.subList(size, next.size()).clear();
+            alternative.subList(size, alternative.size()).clear();
+            bits.subList(size, bits.size()).clear();
+        }
+
+        int[] toArray(List<Integer> list) {
+            int[] array = new int[list.size()];
+            for(int i = 0; i < array.length; i++) {
+                array[i] = list.get(i);
+            }
+            return array;
+        }
+
+        /**
+         * @return Start node of the syntax tree, continuing with the follow node
+         */
+        int compile(Node node, int follow) {
+            switch (node.type) {
+                case Node.CHARS:
+                    return add(CHARS, node.ranges, follow, -1, 0);
+                case Node.CONCAT: {
+                    int start = follow;
+                    for(int i = node.children.size() - 1; i >= 0; i--) {
+                        start = compile(node.children.get(i), start);
+                    }
+                    return start;
+                }
+                case Node.ALTERNATION: {
+                    int start = compile(node.children.get(node.children.size() - 1), follow);
+                    for(int i = node.children.size() - 2; i >= 0; i--) {
+                        start = add(SPLIT, null, compile(node.children.get(i), follow), start, 0);
+                    }
+                    return start;
+                }
+                case Node.REPEAT: {
+                    Node child = node.children.get(0);
+                    int start = follow;
+                    if(node.maximum < 0) {
+                        // Loop: the split is created first so the body can return to it
+                        int loop = add(SPLIT, null, -1, follow, 0);
+                        next.set(loop, compile(child, loop));
+                        start = loop;
+                    } else {
+                        for(int i = node.minimum; i < node.maximum; i++) {
+                            start = add(SPLIT, null, compile(child, start), follow, 0);
+                        }
+                    }
+                    for(int i = 0; i < node.minimum; i++) {
+                        start = compile(child, start);
+                    }
+                    return start;
+                }
+                default:
+                    return add(EMPTY, null, follow, -1, 0);
+            }
+        }
+    }
+
+    /**
+     * Syntax tree of the supported subset
+     */
+    private static final class Node {
+        static final int CHARS = 0;
+        static final int CONCAT = 1;
+        static final int ALTERNATION = 2;
+        static final int REPEAT = 3;
+        static final int EMPTY = 4;
+
+        final int type;
+        final int[] ranges;
+        final List<Node> children = new ArrayList<Node>();
+        int minimum;
+        int maximum;
+
+        Node(int type, int[] ranges) {
+            this.type = type;
+            this.ranges = ranges;
+        }
+    }
+
+    /**
+     * Parses the supported subset of the {@code java.util.regex} syntax. Returns {@code null} for anything else.
+     */
+    private static final class Parser {
+        /**
+         * Largest bound accepted in a counted quantifier, larger counts are matched separately
+         */
+        private static final int MAXIMUM_COUNT = 100;
+
+        private static final int[] DIGIT = {'0', '9'};
+        private static final int[] WORD = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+        private static final int[] SPACE = {'\t', '\r', ' ', ' '};
+        private static final int[] LINE_TERMINATORS = {'\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029};
+
+        private final String pattern;
+        private int position;
+
+        Parser(String pattern) {
+            this.pattern = pattern;
+        }
+
+        Node parse() {
+            try {
+                Node node = parseAlternation();
+                return position == pattern.length() ? node : null;
+            } catch (UnsupportedSyntax e) {
+                return null;
+            }
+        }
+
+        private Node parseAlternation() {
+            Node first = parseConcatenation();
+            if(!peek('|')) {
+                return first;
+            }
+            Node alternation = new Node(Node.ALTERNATION, null);
+            alternation.children.add(first);
+            while(peek('|')) {
+                position++;
+                alternation.children.add(parseConcatenation());
+            }
+            return alternation;
+        }
+
+        private Node parseConcatenation() {
+            Node concatenation = new Node(Node.CONCAT, null);
+            while(position < pattern.length() && !peek('|') && !peek(')')) {
+                concatenation.children.add(parseRepeat());
+            }
+            return concatenation;
+        }
+
+        private Node parseRepeat() {
+            Node atom = parseAtom();
+            if(position < pattern.length()) {
+                char c = pattern.charAt(position);
+                int minimum;
+                int maximum;
+                if(c == '*') {
+                    minimum = 0;
+                    maximum = -1;
+                    position++;
+                } else if(c == '+') {
+                    minimum = 1;
+                    maximum = -1;
+                    position++;
+                } else if(c == '?') {
+                    minimum = 0;
+                    maximum = 1;
+                    position++;
+                } else if(c == '{') {
+                    position++;
+                    minimum = parseCount();
+                    maximum = minimum;
+                    if(peek(',')) {
+                        position++;
+                        maximum = peek('}') ? -1 : parseCount();
+                    }
+                    expect('}');
+                    if(maximum >= 0 && maximum < minimum) {
+                        throw UnsupportedSyntax.INSTANCE;
+                    }
+                } else {
+                    return atom;
+                }
+                // Reluctant quantifiers accept the same whole inputs as greedy ones, possessive ones do not
+                if(peek('?')) {
+                    position++;
+                } else if(peek('+')) {
+                    throw UnsupportedSyntax.INSTANCE;
+                }
+                Node repeat = new Node(Node.REPEAT, null);
+                repeat.children.add(atom);
+                repeat.minimum = minimum;
+                repeat.maximum = maximum;
+                atom = repeat;
+                // java.util.regex does not repeat a repeat (a{2}{3} is not a{6}), leave stacked quantifiers to it
+                if(peek('*') || peek('+') || peek('?') || peek('{')) {
+                    throw UnsupportedSyntax.INSTANCE;
+                }
+            }
+            return atom;
+        }
+
+        private int parseCount() {
+            int start = position;
+            int count = 0;
+            while(position < pattern.length() && pattern.charAt(position) >= '0' && pattern.charAt(position) <= '9') {
+                count = count * 10 + pattern.charAt(position++) - '0';
+                if(count > MAXIMUM_COUNT) {
+                    throw UnsupportedSyntax.INSTANCE;
+                }
+            }
+            if(position == start) {
+                throw UnsupportedSyntax.INSTANCE;
+            }
+            return count;
+        }
+
+        private Node parseAtom() {
+            int codePoint = pattern.codePointAt(position);
+            switch (codePoint) {
+                case '(': {
+                    position++;
+                    if(peek('?')) {
+                        if(pattern.startsWith("?:", position)) {
+                            position += 2;
+                        } else {
+                            throw UnsupportedSyntax.INSTANCE;
+                        }
+                    }
+                    Node group = parseAlternation();
+                    expect(')');
+                    return group;
+                }
+                case '[':
+                    position++;
+                    return new Node(Node.CHARS, parseClass());
+                case '.':
+                    position++;
+                    return new Node(Node.CHARS, complement(LINE_TERMINATORS));
+                case '\\':
+                    position++;
+                    return new Node(Node.CHARS, parseEscape(false));
+                case '^':
+                case '$':
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                case ')':
+                    throw UnsupportedSyntax.INSTANCE;
+                default:
+                    position += Character.charCount(codePoint);
+                    return new Node(Node.CHARS, new int[] {codePoint, codePoint});
+            }
+        }
+
+        /**
+         * Parses a class after its opening bracket, up to and including the closing bracket
+         */
+        private int[] parseClass() {
+            boolean negated = false;
+            if(peek('^')) {
+                negated = true;
+                position++;
+            }
+            if(peek(']')) {
+                throw UnsupportedSyntax.INSTANCE;
+            }
+            List<int[]> parts = new ArrayList<int[]>();
+            while(!peek(']')) {
+                if(position >= pattern.length()) {
+                    throw UnsupportedSyntax.INSTANCE;
+                }
+                int codePoint = pattern.codePointAt(position);
+                if(codePoint == '[' || pattern.startsWith("&&", position)) {
+                    throw UnsupportedSyntax.INSTANCE;
+                }
+                int[] item;
+                if(codePoint == '\\') {
+                    position++;
+                    item = parseEscape(true);
+                } else {
+                    position += Character.charCount(codePoint);
+                    item = new int[] {codePoint, codePoint};
+                }
+                if(peek('-') && position + 1 < pattern.length() && pattern.charAt(position + 1) != ']') {
+                    // Range, both ends must be single characters
+                    position++;
+                    int end = pattern.codePointAt(position);
+                    if(end == '[' || item.length != 2 || item[0] != item[1]) {
+                        throw UnsupportedSyntax.INSTANCE;
+                    }
+                    int[] endItem;
+                    if(end == '\\') {
+                        position++;
+                        endItem = parseEscape(true);
+                    } else {
+                        position += Character.charCount(end);
+                        endItem = new int[] {end, end};
+                    }
+                    if(endItem.length != 2 || endItem[0] != endItem[1] || endItem[0] < item[0]) {
+                        throw UnsupportedSyntax.INSTANCE;
+                    }
+                    item = new int[] {item[0], endItem[0]};
+                }
+                parts.add(item);
+            }
+            position++;
+            int[] ranges = union(parts);
+            return negated ? complement(ranges) : ranges;
+        }
+
+        /**
+         * Parses an escape after its backslash
+         */
+        private int[] parseEscape(boolean inClass) {
+            if(position >= pattern.length()) {
+                throw UnsupportedSyntax.INSTANCE;
+            }
+            char c = pattern.charAt(position++);
+            switch (c) {
+                case 'd':
+                    return DIGIT;
+                case 'D':
+                    return complement(DIGIT);
+                case 'w':
+                    return WORD;
+                case 'W':
+                    return complement(WORD);
+                case 's':
+                    return SPACE;
+                case 'S':
+                    return complement(SPACE);
+                case 't':
+                    return new int[] {'\t', '\t'};
+                case 'n':
+                    return new int[] {'\n', '\n'};
+                case 'r':
+                    return new int[] {'\r', '\r'};
+                case 'f':
+                    return new int[] {'\f', '\f'};
+                case 'a':
+                    return new int[] {7, 7};
+                case 'e':
+                    return new int[] {27, 27};
+                default:
+                    // Any other letter or digit has a special meaning (or none), punctuation stands for itself
+                    if((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c > 127) {
+                        throw UnsupportedSyntax.INSTANCE;
+                    }
+                    return new int[] {c, c};
+            }
+        }
+
+        private boolean peek(char c) {
+            return position < pattern.length() && pattern.charAt(position) == c;
+        }
+
+        private void expect(char c) {
+            if(!peek(c)) {
+                throw UnsupportedSyntax.INSTANCE;
+            }
+            position++;
+        }
+
+        /**
+         * @return Sorted, merged ranges covering every part
+         */
+        private static int[] union(List<int[]> parts) {
+            List<int[]> pairs = new ArrayList<int[]>();
+            for(int[] part : parts) {
+                for(int i = 0; i < part.length; i += 2) {
+                    pairs.add(new int[] {part[i], part[i + 1]});
+                }
+            }
+            int[][] sorted = pairs.toArray(new int[pairs.size()][]);
+            Arrays.sort(sorted, new Comparator<int[]>() {
+                public int compare(int[] a, int[] b) {
+                    return Integer.compare(a[0], b[0]);
+                }
+            });
+            int[] values = new int[sorted.length * 2];
+            int count = 0;
+            for(int[] pair : sorted) {
+                if(count > 0 && pair[0] <= values[count - 1] + 1) {
+                    values[count - 1] = Math.max(values[count - 1], pair[1]);
+                } else {
+                    values[count++] = pair[0];
+                    values[count++] = pair[1];
+                }
+            }
+            return Arrays.copyOf(values, count);
+        }
+
+        /**
+         * @return Ranges covering every code point not in the sorted ranges
+         */
+        private static int[] complement(int[] ranges) {
+            int[] result = new int[ranges.length + 2];
+            int count = 0;
+            int next = 0;
+            for(int i = 0; i < ranges.length; i += 2) {
+                if(ranges[i] > next) {
+                    result[count++] = next;
+                    result[count++] = ranges[i] - 1;
+                }
+                next = ranges[i + 1] + 1;
+            }
+            if(next <= Character.MAX_CODE_POINT) {
+                result[count++] = next;
+                result[count++] = Character.MAX_CODE_POINT;
+            }
+            return Arrays.copyOf(result, count);
+        }
+    }
+
+    /**
+     * Thrown by the parser for syntax outside the supported subset. One stackless instance is shared.
+     */
+    private static final class UnsupportedSyntax extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        static final UnsupportedSyntax INSTANCE = new UnsupportedSyntax();
+
+        private UnsupportedSyntax() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package validation;
+
+import java.util.regex.Pattern;
+
+import static validation.Constants.*;
+
+/**
+ * Hand written, single pass matchers for the predefined {@link Constants} regular expressions.
+ *
+ * <p>Each matcher walks the input once from left to right, never backtracks and does not allocate, so the
+ * running time is linear in the length of the input no matter what the input looks like. This matters most for
+ * {@link Constants#MATCH_EMAIL}, where the nested quantifiers of the regular expression backtrack exponentially
+ * on a long name with no {@code @}.
+ *
+ * <p>The matchers accept and reject exactly the same inputs as {@code input.matches(pattern)} does for the
+ * corresponding constant. {@link PatternRegistry} uses them automatically whenever it is handed one of the
+ * {@code MATCH_*} Strings or {@code PATTERN_*} Patterns from Constants.
+ *
+ * @see Constants
+ * @see PatternRegistry
+ */
+public final class PatternMatchers {
+    private PatternMatchers() {}
+
+    // Identifiers for the predefined patterns
+    static final int NONE = -1;
+    static final int CHOICE_YN = 0;
+    static final int SSN = 1;
+    static final int EMAIL = 2;
+    static final int NOT_EMPTY = 3;
+    static final int ANY = 4;
+    static final int CHAR = 5;
+
+    /**
+     * {@link Constants#MATCH_CHOICE_YN}: a single {@code Y, y, N, or n}
+     *
+     * @param input    Input to evaluate
+     * @return {@code boolean} true if the input matches
+     */
+    public static boolean matchesChoiceYN(CharSequence input) {
+        if(input.length() != 1) {
+            return false;
+        }
+        char c = input.charAt(0);
+        return c == 'y' || c == 'Y' || c == 'n' || c == 'N';
+    }
+
+    /**
+     * {@link Constants#MATCH_SSN}: three digits, optional hyphen, two digits, optional hyphen, four digits
+     *
+     * @param input    Input to evaluate
+     * @return {@code boolean} true if the input matches
+     */
+    public static boolean matchesSsn(CharSequence input) {
+        return packSsn(input) >= 0;
+    }
+
+    /**
+     * Matches {@link Constants#MATCH_SSN} and packs the nine digits into an int in the same pass
+     *
+     * @param input    Input to evaluate
+     * @return The digits as a number from 0 to 999999999, or -1 if the input does not match
+     */
+    static int packSsn(CharSequence input) {
+        int length = input.length();
+        if(length < 9 || length > 11) {
+            return -1;
+        }
+        int packed = 0;
+        int digits = 0;
+        for(int position = 0; position < length; position++) {
+            char c = input.charAt(position);
+            if(c >= '0' && c <= '9') {
+                packed = packed * 10 + (c - '0');
+                digits++;
+            } else if(c != '-' || (digits != 3 && digits != 5) || input.charAt(position - 1) == '-') {
+                // A hyphen is only allowed once, after the third or the fifth digit
+                return -1;
+            }
+        }
+        return digits == 9 ? packed : -1;
+    }
+
+    /**
+     * {@link Constants#MATCH_EMAIL}: a name made of the RFC3696 characters where single dots may follow any run
+     * of them, one {@code @}, a first domain label of word characters or hyphens and at least one more
+     * dot separated label of word characters.
+     *
+     * @param input    Input to evaluate
+     * @return {@code boolean} true if the input matches
+     */
+    public static boolean matchesEmail(CharSequence input) {
+        return emailAt(input) >= 0;
+    }
+
+    /**
+     * Matches {@link Constants#MATCH_EMAIL} and returns the position of the {@code @} found on the way, which
+     * splits the address into its name and its domain
+     *
+     * @param input    Input to evaluate
+     * @return Index of the {@code @}, or -1 if the input does not match
+     */
+    static int emailAt(CharSequence input) {
+        int length = input.length();
+        int position = 0;
+        int at;
+
+        // Name: starts with a name character, a dot may follow any name character but never another dot
+        if(length == 0 || !isEmailNameChar(input.charAt(0))) {
+            return -1;
+        }
+        position++;
+        while(true) {
+            if(position == length) {
+                return -1;
+            }
+            char c = input.charAt(position++);
+            if(c == '@') {
+                at = position - 1;
+                break;
+            } else if(c == '.') {
+                if(input.charAt(position - 2) == '.') {
+                    return -1;
+                }
+            } else if(!isEmailNameChar(c)) {
+                return -1;
+            }
+        }
+
+        // First domain label: one or more word characters or hyphens
+        int labelStart = position;
+        while(position < length) {
+            char c = input.charAt(position);
+            if(!isWordChar(c) && c != '-') {
+                break;
+            }
+            position++;
+        }
+        if(position == labelStart) {
+            return -1;
+        }
+
+        // Then one or more labels of word characters, each preceded by exactly one dot
+        int labels = 0;
+        while(position < length) {
+            if(input.charAt(position++) != '.') {
+                return -1;
+            }
+            labelStart = position;
+            while(position < length && isWordChar(input.charAt(position))) {
+                position++;
+            }
+            if(position == labelStart) {
+                return -1;
+            }
+            labels++;
+        }
+        return labels > 0 ? at : -1;
+    }
+
+    /**
+     * {@link Constants#MATCH_NOT_EMPTY}: at least one character, none of them line terminators
+     *
+     * @param input    Input to evaluate
+     * @return {@code boolean} true if the input matches
+     */
+    public static boolean matchesNotEmpty(CharSequence input) {
+        return input.length() > 0 && matchesAny(input);
+    }
+
+    /**
+     * {@link Constants#MATCH_ANY}: any input that does not contain a line terminator
+     *
+     * @param input    Input to evaluate
+     * @return {@code boolean} true if the input matches
+     */
+    public static boolean matchesAny(CharSequence input) {
+        for(int i = 0, length = input.length(); i < length; i++) {
+            if(isLineTerminator(input.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@link Constants#MATCH_CHAR}: empty, or a single character (code point) that is not a line terminator
+     *
+     * @param input    Input to evaluate
+     * @return {@code boolean} true if the input matches
+     */
+    public static boolean matchesChar(CharSequence input) {
+        switch (input.length()) {
+            case 0:
+                return true;
+            case 1:
+                return !isLineTerminator(input.charAt(0));
+            case 2:
+                // A surrogate pair is a single code point to the regular expression engine
+                return Character.isHighSurrogate(input.charAt(0)) && Character.isLowSurrogate(input.charAt(1));
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the identifier of a predefined pattern
+     *
+     * @param pattern    Regular expression
+     * @return           Identifier, or {@link #NONE} if the expression is not one of the Constants
+     */
+    static int idOf(String pattern) {
+        // Callers almost always pass the constant itself, so check identity before equality
+        if(pattern == MATCH_NOT_EMPTY || MATCH_NOT_EMPTY.equals(pattern)) {
+            return NOT_EMPTY;
+        } else if(pattern == MATCH_ANY || MATCH_ANY.equals(pattern)) {
+            return ANY;
+        } else if(pattern == MATCH_CHAR || MATCH_CHAR.equals(pattern)) {
+            return CHAR;
+        } else if(pattern == MATCH_CHOICE_YN || MATCH_CHOICE_YN.equals(pattern)) {
+            return CHOICE_YN;
+        } else if(pattern == MATCH_SSN || MATCH_SSN.equals(pattern)) {
+            return SSN;
+        } else if(pattern == MATCH_EMAIL || MATCH_EMAIL.equals(pattern)) {
+            return EMAIL;
+        }
+        return NONE;
+    }
+
+    /**
+     * Returns the identifier of a predefined Pattern. Only the {@code Constants.PATTERN_*} instances themselves
+     * are recognized, a Pattern compiled with flags may not behave the same as the hand written matcher.
+     *
+     * @param pattern    Compiled Pattern
+     * @return           Identifier, or {@link #NONE} if the Pattern is not one of the Constants
+     */
+    static int idOf(Pattern pattern) {
+        if(pattern == PATTERN_NOT_EMPTY) {
+            return NOT_EMPTY;
+        } else if(pattern == PATTERN_ANY) {
+            return ANY;
+        } else if(pattern == PATTERN_CHAR) {
+            return CHAR;
+        } else if(pattern == PATTERN_CHOICE_YN) {
+            return CHOICE_YN;
+        } else if(pattern == PATTERN_SSN) {
+            return SSN;
+        } else if(pattern == PATTERN_EMAIL) {
+            return EMAIL;
+        }
+        return NONE;
+    }
+
+    /**
+     * Runs the matcher for a predefined pattern identifier
+     *
+     * @param id       Identifier returned by {@code idOf}
+     * @param input    Input to evaluate
+     * @return {@code boolean} true if the input matches
+     */
+    static boolean matches(int id, CharSequence input) {
+        switch (id) {
+            case CHOICE_YN:
+                return matchesChoiceYN(input);
+            case SSN:
+                return matchesSsn(input);
+            case EMAIL:
+                return matchesEmail(input);
+            case NOT_EMPTY:
+                return matchesNotEmpty(input);
+            case ANY:
+                return matchesAny(input);
+            case CHAR:
+                return matchesChar(input);
+            default:
+                throw new IllegalArgumentException("Not a predefined pattern: " + id);
+        }
+    }
+
+    /**
+     * Same set of characters as {@code \w} without the UNICODE_CHARACTER_CLASS flag
+     */
+    static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /**
+     * Characters allowed in the name part of {@link Constants#MATCH_EMAIL}, {@code [\w+!$#%&'*-/=?^`{}|~]}
+     */
+    static boolean isEmailNameChar(char c) {
+        if(isWordChar(c)) {
+            return true;
+        }
+        switch (c) {
+            case '+': case '!': case '$': case '#': case '%': case '&': case '\'': case '*':
+            case '-': case '/': case '=': case '?': case '^': case '`': case '{': case '}':
+            case '|': case '~':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Characters the regular expression {@code .} does not match when the DOTALL flag is off
+     */
+    static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
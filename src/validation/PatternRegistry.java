@@ -0,0 +1,237 @@
+package validation;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import static validation.Constants.*;
+
+/**
+ * {@code PatternRegistry} hands out compiled {@link Pattern} objects so the Validator does not have to compile
+ * a regular expression every time input is checked ({@code String.matches} compiles a new Pattern on every call).
+ *
+ * <p>The predefined {@link Constants} patterns are compiled once when the class is loaded. Any other pattern
+ * String passed to the Validator is compiled on first use and kept in a bounded cache that is safe to use from
+ * multiple threads. Lookups take no lock: recency is tracked approximately, as the number of misses seen when a
+ * pattern was last used, and a full cache evicts the least recently used sixteenth at once. Hit and miss counters
+ * are kept for the cache so its size can be tuned.
+ *
+ * <p>Matching against one of the predefined patterns does not use the regular expression engine at all, the
+ * linear time {@link PatternMatchers} are used instead.
+ *
+ * <p>Callers that validate in a tight loop can skip the lookup entirely by compiling the Pattern themselves (or
+ * using one of the {@code Constants.PATTERN_*} constants) and calling the Validator overloads that take a Pattern.
+ *
+ * @see Validator
+ * @see Constants
+ */
+public final class PatternRegistry {
+    private PatternRegistry() {}
+
+    /**
+     * Default maximum number of caller supplied patterns kept in the cache
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+    private static final LongAdder hitCount = new LongAdder();
+    private static final LongAdder missCount = new LongAdder();
+    private static volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    /**
+     * Recency clock, advanced on every miss. Hits stamp their entry with it, so between two misses every hit
+     * only reads it.
+     */
+    private static final AtomicLong clock = new AtomicLong();
+
+    /**
+     * Serializes evictions, lookups and inserts do not take it
+     */
+    private static final Object evictionLock = new Object();
+
+    private static final ConcurrentMap<String, CachedPattern> patternCache = new ConcurrentHashMap<String, CachedPattern>(64);
+
+    /**
+     * Returns the compiled Pattern for a regular expression. The predefined {@link Constants} patterns are
+     * returned without touching the cache.
+     *
+     * @param pattern    Regular expression to compile
+     * @return           Compiled Pattern
+     * @throws java.util.regex.PatternSyntaxException if the expression is not valid
+     */
+    public static Pattern compile(String pattern) {
+        Pattern compiled = getPredefined(pattern);
+        if(compiled != null) {
+            return compiled;
+        }
+        CachedPattern cached = patternCache.get(pattern);
+        if(cached != null) {
+            hitCount.increment();
+            long now = clock.get();
+            if(cached.lastUsed != now) {
+                // Only the first hit after a miss writes, so hot entries are not written by every thread
+                cached.lastUsed = now;
+            }
+            return cached.pattern;
+        }
+        missCount.increment();
+        // A duplicate compile under contention is harmless
+        compiled = Pattern.compile(pattern);
+        patternCache.put(pattern, new CachedPattern(compiled, clock.incrementAndGet()));
+        if(patternCache.size() > maximumSize) {
+            evict();
+        }
+        return compiled;
+    }
+
+    /**
+     * Removes the least recently used entries until the cache is a sixteenth below its maximum size
+     */
+    private static void evict() {
+        synchronized (evictionLock) {
+            int maximum = maximumSize;
+            int excess = patternCache.size() - (maximum - maximum / 16);
+            if(patternCache.size() <= maximum || excess <= 0) {
+                return;
+            }
+            long[] stamps = new long[patternCache.size()];
+            int count = 0;
+            for(CachedPattern cached : patternCache.values()) {
+                if(count == stamps.length) {
+                    break;
+                }
+                stamps[count++] = cached.lastUsed;
+            }
+            Arrays.sort(stamps, 0, count);
+            // Entries used at or before the cutoff go, ties may take a few more
+            long cutoff = stamps[Math.min(excess, count) - 1];
+            for(Iterator<CachedPattern> iterator = patternCache.values().iterator(); iterator.hasNext(); ) {
+                if(iterator.next().lastUsed <= cutoff) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if the <b>entire</b> input matches the pattern, same as {@code String.matches}
+     *
+     * @param input      Input to evaluate
+     * @param pattern    Regular expression to match
+     * @return {@code boolean} true if the input matches
+     */
+    public static boolean matches(CharSequence input, String pattern) {
+        int predefined = PatternMatchers.idOf(pattern);
+        if(predefined != PatternMatchers.NONE) {
+            return PatternMatchers.matches(predefined, input);
+        }
+        return compile(pattern).matcher(input).matches();
+    }
+
+    /**
+     * Checks if the <b>entire</b> input matches a precompiled pattern
+     *
+     * @param input      Input to evaluate
+     * @param pattern    Compiled Pattern to match
+     * @return {@code boolean} true if the input matches
+     */
+    public static boolean matches(CharSequence input, Pattern pattern) {
+        int predefined = PatternMatchers.idOf(pattern);
+        if(predefined != PatternMatchers.NONE) {
+            return PatternMatchers.matches(predefined, input);
+        }
+        return pattern.matcher(input).matches();
+    }
+
+    /**
+     * Returns the precompiled Pattern for one of the {@link Constants} regular expressions
+     *
+     * @param pattern    Regular expression
+     * @return           Precompiled Pattern, or {@code null} if the expression is not one of the Constants
+     */
+    static Pattern getPredefined(String pattern) {
+        switch (PatternMatchers.idOf(pattern)) {
+            case PatternMatchers.CHOICE_YN:
+                return PATTERN_CHOICE_YN;
+            case PatternMatchers.SSN:
+                return PATTERN_SSN;
+            case PatternMatchers.EMAIL:
+                return PATTERN_EMAIL;
+            case PatternMatchers.NOT_EMPTY:
+                return PATTERN_NOT_EMPTY;
+            case PatternMatchers.ANY:
+                return PATTERN_ANY;
+            case PatternMatchers.CHAR:
+                return PATTERN_CHAR;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Changes the maximum number of caller supplied patterns kept in the cache. Shrinking the cache evicts
+     * the least recently used patterns on the next miss.
+     *
+     * @param size    Maximum number of cached patterns, must be at least 1
+     */
+    public static void setMaximumSize(int size) {
+        if(size < 1) {
+            throw new IllegalArgumentException("Maximum size must be at least 1");
+        }
+        maximumSize = size;
+    }
+
+    /**
+     * @return Maximum number of caller supplied patterns kept in the cache
+     */
+    public static int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return Number of caller supplied patterns currently cached
+     */
+    public static int size() {
+        return patternCache.size();
+    }
+
+    /**
+     * @return Number of lookups that found an already compiled pattern in the cache
+     */
+    public static long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return Number of lookups that had to compile the pattern
+     */
+    public static long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Removes all caller supplied patterns from the cache and resets the hit and miss counters.
+     * The predefined {@link Constants} patterns are not affected.
+     */
+    public static void clear() {
+        patternCache.clear();
+        hitCount.reset();
+        missCount.reset();
+    }
+
+    /**
+     * A compiled pattern and the recency clock when it was last returned
+     */
+    private static final class CachedPattern {
+        final Pattern pattern;
+        volatile long lastUsed;
+
+        CachedPattern(Pattern pattern, long lastUsed) {
+            this.pattern = pattern;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package validation;
+
+import java.util.regex.Pattern;
+
+/**
+ * A {@code PrefixRule} is a {@link ValidationRule} whose valid values can be recognized left to right: once a
+ * prefix of the input can no longer be extended into a valid value, no later character can fix it. Rules like
+ * "digits only" and {@link Constants#MATCH_SSN MATCH_SSN} have this property, most free form patterns do not.
+ *
+ * <p>This lets {@link LiveValidator} check only the text after an edit, and flag a field as soon as the text
+ * can no longer become valid rather than whenever it is not complete yet.
+ *
+ * @see LiveValidator
+ */
+public abstract class PrefixRule extends ValidationRule {
+
+    private static final PrefixRule DIGITS = new PrefixRule(PatternRegistry.compile("[0-9]+")) {
+        @Override
+        public int scan(CharSequence input, int from) {
+            int length = input.length();
+            for(int i = from; i < length; i++) {
+                char c = input.charAt(i);
+                if(c < '0' || c > '9') {
+                    return i;
+                }
+            }
+            return length;
+        }
+
+        @Override
+        public boolean isComplete(CharSequence input) {
+            return input.length() > 0;
+        }
+    };
+
+    private static final PrefixRule SSN = new PrefixRule(Constants.PATTERN_SSN) {
+        @Override
+        public int scan(CharSequence input, int from) {
+            // The optional dashes make the state depend on more than the position, an SSN is short enough
+            // to simply scan again
+            int length = input.length();
+            int digits = 0;
+            boolean firstDash = false;
+            boolean secondDash = false;
+            for(int i = 0; i < length; i++) {
+                char c = input.charAt(i);
+                if(c >= '0' && c <= '9' && digits < 9) {
+                    digits++;
+                } else if(c == '-' && digits == 3 && !firstDash) {
+                    firstDash = true;
+                } else if(c == '-' && digits == 5 && !secondDash) {
+                    secondDash = true;
+                } else {
+                    return i;
+                }
+            }
+            return length;
+        }
+
+        @Override
+        public boolean isComplete(CharSequence input) {
+            return PatternMatchers.matchesSsn(input);
+        }
+    };
+
+    private final Pattern pattern;
+
+    /**
+     * @param pattern    Pattern equivalent to the rule, used by {@link #validate(CharSequence, ValidationResult)}
+     */
+    protected PrefixRule(Pattern pattern) {
+        super(pattern.pattern());
+        this.pattern = pattern;
+    }
+
+    /**
+     * @return Rule for one or more ASCII digits
+     */
+    public static PrefixRule digits() {
+        return DIGITS;
+    }
+
+    /**
+     * @return Rule for {@link Constants#MATCH_SSN MATCH_SSN}
+     */
+    public static PrefixRule ssn() {
+        return SSN;
+    }
+
+    /**
+     * Finds the longest prefix of the input that can still be extended into a valid value
+     *
+     * @param input    Input to scan
+     * @param from     Length of a prefix already known to be extendable and unchanged since it was scanned.
+     *                 Implementations may resume there or scan again from the start.
+     * @return Length of the longest extendable prefix, the input length if the whole input is extendable
+     */
+    public abstract int scan(CharSequence input, int from);
+
+    /**
+     * Checks if an input whose whole length is extendable is also a complete valid value
+     *
+     * @param input    Input for which {@link #scan(CharSequence, int)} returned the full length
+     * @return {@code true} if the input is valid
+     */
+    public abstract boolean isComplete(CharSequence input);
+
+    @Override
+    public boolean validate(CharSequence input, ValidationResult result) {
+        return ValidationEngine.validateString(input, pattern, result);
+    }
+}
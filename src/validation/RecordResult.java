@@ -0,0 +1,182 @@
+package validation;
+
+/**
+ * {@code RecordResult} holds the outcome of validating one row with a {@link ValidationPlan}: a
+ * {@link ValidationResult} per field, with its error code and parsed value.
+ *
+ * <p>Like ValidationResult, a RecordResult is overwritten by every row it is passed to and must not be shared
+ * between threads. For lines, {@link #getValue(int)} is a view into the line that is only valid until the next
+ * row; call {@code toString()} to keep it.
+ *
+ * @see ValidationPlan
+ */
+public final class RecordResult {
+
+    private final ValidationPlan plan;
+    private final ValidationResult[] fieldResults;
+    private final CharSequenceView[] views;
+    private int invalidFieldCount;
+    private int firstInvalidField;
+    private int columnCount;
+
+    RecordResult(ValidationPlan plan, int fieldCount) {
+        this.plan = plan;
+        fieldResults = new ValidationResult[fieldCount];
+        views = new CharSequenceView[fieldCount];
+        for(int i = 0; i < fieldCount; i++) {
+            fieldResults[i] = new ValidationResult();
+            views[i] = new CharSequenceView();
+        }
+    }
+
+    void reset(int columnCount) {
+        this.columnCount = columnCount;
+        invalidFieldCount = 0;
+        firstInvalidField = -1;
+    }
+
+    void setColumnCount(int columnCount) {
+        this.columnCount = columnCount;
+    }
+
+    void recordInvalid(int field) {
+        if(invalidFieldCount++ == 0) {
+            firstInvalidField = field;
+        }
+    }
+
+    CharSequenceView view(int field) {
+        return views[field];
+    }
+
+    /**
+     * @return The plan this result belongs to
+     */
+    public ValidationPlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * @return {@code true} if every field of the last row was valid
+     */
+    public boolean isValid() {
+        return invalidFieldCount == 0;
+    }
+
+    /**
+     * @return Number of invalid fields in the last row
+     */
+    public int getInvalidFieldCount() {
+        return invalidFieldCount;
+    }
+
+    /**
+     * @return Index of the first invalid field, or -1 if the row was valid
+     */
+    public int getFirstInvalidField() {
+        return firstInvalidField;
+    }
+
+    /**
+     * @return Number of elements or delimited columns in the last row, which may differ from the number of
+     *         fields
+     */
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    /**
+     * @param field    Index of the field
+     * @return Full outcome of the field
+     */
+    public ValidationResult getFieldResult(int field) {
+        return fieldResults[field];
+    }
+
+    /**
+     * @param field    Index of the field
+     * @return {@code true} if the field was valid
+     */
+    public boolean isValid(int field) {
+        return fieldResults[field].isValid();
+    }
+
+    /**
+     * @param field    Index of the field
+     * @return Error code from {@link ValidationResult}, {@link ValidationResult#VALID} if the field was valid
+     */
+    public int getErrorCode(int field) {
+        return fieldResults[field].getErrorCode();
+    }
+
+    /**
+     * @param field    Index of the field
+     * @return Message key for the error, {@code null} if the field was valid
+     */
+    public String getMessageKey(int field) {
+        return fieldResults[field].getMessageKey();
+    }
+
+    /**
+     * @param field    Index of the field
+     * @return Message for the error in the default locale, {@code null} if the field was valid
+     * @see ValidationMessages
+     */
+    public String getMessage(int field) {
+        return fieldResults[field].getMessage();
+    }
+
+    /**
+     * @param field    Index of the field
+     * @return Value of the field in the last row
+     */
+    public CharSequence getValue(int field) {
+        return fieldResults[field].getInput();
+    }
+
+    /**
+     * @param field    Index of the field
+     * @return Validated value of an int field, or the packed value of an SSN field
+     */
+    public int getInt(int field) {
+        return fieldResults[field].getInt();
+    }
+
+    /**
+     * @param field    Index of the field
+     * @return Validated value of a double field
+     */
+    public double getDouble(int field) {
+        return fieldResults[field].getDouble();
+    }
+
+    /**
+     * @param field    Index of the field
+     * @return Validated value of a char field, converted to upper case
+     */
+    public char getChar(int field) {
+        return fieldResults[field].getChar();
+    }
+
+    /**
+     * @param field    Index of the field
+     * @return Validated value of a yes/no field
+     */
+    public boolean getBoolean(int field) {
+        return fieldResults[field].getBoolean();
+    }
+
+    /**
+     * @param field    Index of the field
+     * @return Index of the {@code @} in an email field
+     */
+    public int getAtIndex(int field) {
+        return fieldResults[field].getAtIndex();
+    }
+
+    @Override
+    public String toString() {
+        return isValid() ? "RecordResult[valid]"
+                : "RecordResult[invalid=" + invalidFieldCount + ", first=" + plan.getFieldName(firstInvalidField) + "]";
+    }
+}
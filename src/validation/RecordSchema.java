@@ -0,0 +1,207 @@
+package validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * {@code RecordSchema} declares the fields of a record, in order, with the rule each field must pass. A schema
+ * is built once and compiled into a {@link ValidationPlan}, which then validates any number of rows.
+ *
+ * <p>Fields are required unless declared optional: an empty or missing required field fails with
+ * {@link ValidationResult#REQUIRED}, an empty optional field is valid without running its rule. Patterns given as
+ * Strings are compiled when the field is declared.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * ValidationPlan customers = RecordSchema.builder()
+ *         .field("name", {@link Constants#MATCH_NOT_EMPTY MATCH_NOT_EMPTY})
+ *         .field("email", {@link Constants#PATTERN_EMAIL PATTERN_EMAIL})
+ *         .field("ssn", {@link Constants#PATTERN_SSN PATTERN_SSN})
+ *         .field("age", ValidationRule.intRange(0, 130))
+ *         .optional("balance", ValidationRule.doubleRange(0, 1000000))
+ *         .delimiter('|')
+ *         .build()
+ *         .compile();
+ * </pre></blockquote>
+ *
+ * @see ValidationPlan
+ * @see ValidationRule
+ */
+public final class RecordSchema {
+
+    /**
+     * Delimiter used for lines unless another one is set
+     */
+    public static final char DEFAULT_DELIMITER = ',';
+
+    private final List<Field> fields;
+    private final char delimiter;
+
+    private RecordSchema(List<Field> fields, char delimiter) {
+        this.fields = Collections.unmodifiableList(new ArrayList<Field>(fields));
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * @return Builder for a schema with no fields
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return Plan validating rows against this schema
+     */
+    public ValidationPlan compile() {
+        return new ValidationPlan(this);
+    }
+
+    /**
+     * @return The fields in record order
+     */
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * @return Character separating the fields of a line
+     */
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    @Override
+    public String toString() {
+        return "RecordSchema" + fields;
+    }
+
+    /**
+     * One declared field
+     */
+    public static final class Field {
+        private final String name;
+        private final ValidationRule rule;
+        private final boolean required;
+
+        Field(String name, ValidationRule rule, boolean required) {
+            this.name = name;
+            this.rule = rule;
+            this.required = required;
+        }
+
+        /**
+         * @return Name of the field
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return Rule the field must pass
+         */
+        public ValidationRule getRule() {
+            return rule;
+        }
+
+        /**
+         * @return {@code true} if the field may not be empty
+         */
+        public boolean isRequired() {
+            return required;
+        }
+
+        @Override
+        public String toString() {
+            return name + (required ? "" : "?") + ": " + rule;
+        }
+    }
+
+    /**
+     * Collects fields in record order
+     */
+    public static final class Builder {
+        private final List<Field> fields = new ArrayList<Field>();
+        private char delimiter = DEFAULT_DELIMITER;
+
+        private Builder() { }
+
+        /**
+         * Adds a required field
+         *
+         * @param name    Name of the field, unique within the schema
+         * @param rule    Rule the field must pass
+         * @return This builder
+         * @throws IllegalArgumentException if the name is already used
+         */
+        public Builder field(String name, ValidationRule rule) {
+            return add(name, rule, true);
+        }
+
+        /**
+         * Adds a required field that must <b>entirely</b> match a regular expression
+         *
+         * @param name       Name of the field, unique within the schema
+         * @param pattern    Regular expression, compiled through {@link PatternRegistry}
+         * @return This builder
+         * @throws IllegalArgumentException if the name is already used
+         */
+        public Builder field(String name, String pattern) {
+            return add(name, ValidationRule.pattern(pattern), true);
+        }
+
+        /**
+         * Adds a required field that must <b>entirely</b> match a precompiled pattern
+         *
+         * @param name       Name of the field, unique within the schema
+         * @param pattern    Compiled Pattern
+         * @return This builder
+         * @throws IllegalArgumentException if the name is already used
+         */
+        public Builder field(String name, Pattern pattern) {
+            return add(name, ValidationRule.pattern(pattern), true);
+        }
+
+        /**
+         * Adds a field that may be empty or missing, and is only checked against its rule when it is not
+         *
+         * @param name    Name of the field, unique within the schema
+         * @param rule    Rule the field must pass when present
+         * @return This builder
+         * @throws IllegalArgumentException if the name is already used
+         */
+        public Builder optional(String name, ValidationRule rule) {
+            return add(name, rule, false);
+        }
+
+        /**
+         * @param delimiter    Character separating the fields of a line
+         * @return This builder
+         */
+        public Builder delimiter(char delimiter) {
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        /**
+         * @return Schema with the fields added so far
+         */
+        public RecordSchema build() {
+            return new RecordSchema(fields, delimiter);
+        }
+
+        private Builder add(String name, ValidationRule rule, boolean required) {
+            if(name == null || rule == null) {
+                throw new NullPointerException(name == null ? "name" : "rule");
+            }
+            for(Field field : fields) {
+                if(field.getName().equals(name)) {
+                    throw new IllegalArgumentException("Duplicate field " + name);
+                }
+            }
+            fields.add(new Field(name, rule, required));
+            return this;
+        }
+    }
+}
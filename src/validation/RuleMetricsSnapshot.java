@@ -0,0 +1,114 @@
+package validation;
+
+/**
+ * Point in time copy of the {@link ValidationMetrics} counters for one rule.
+ *
+ * @see ValidationMetrics#snapshot()
+ */
+public final class RuleMetricsSnapshot implements Comparable<RuleMetricsSnapshot> {
+    private final String ruleId;
+    private final long count;
+    private final long rejectedCount;
+    private final long totalNanos;
+    private final long[] histogram;
+
+    RuleMetricsSnapshot(String ruleId, long count, long rejectedCount, long totalNanos, long[] histogram) {
+        this.ruleId = ruleId;
+        this.count = count;
+        this.rejectedCount = rejectedCount;
+        this.totalNanos = totalNanos;
+        this.histogram = histogram;
+    }
+
+    /**
+     * @return Identifier of the rule
+     */
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    /**
+     * @return Number of checks
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return Number of checks that rejected the input
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * @return Total time spent in the checks, in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return Mean time per check in nanoseconds, 0 if there were no checks
+     */
+    public long getMeanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    /**
+     * @return Upper bound of the median check time in nanoseconds
+     */
+    public long getP50Nanos() {
+        return getPercentileNanos(0.50);
+    }
+
+    /**
+     * @return Upper bound of the 99th percentile check time in nanoseconds
+     */
+    public long getP99Nanos() {
+        return getPercentileNanos(0.99);
+    }
+
+    /**
+     * @return Latency histogram, element {@code i} counts checks that took {@code [2^(i-1), 2^i)} nanoseconds
+     */
+    public long[] getHistogram() {
+        return histogram.clone();
+    }
+
+    /**
+     * Estimates a percentile from the histogram. The result is the upper bound of the bucket that contains the
+     * percentile, so it is accurate within a factor of two.
+     *
+     * @param percentile    Percentile between 0 and 1
+     * @return Upper bound of the percentile in nanoseconds, 0 if there were no checks
+     */
+    public long getPercentileNanos(double percentile) {
+        long total = 0;
+        for(long bucket : histogram) {
+            total += bucket;
+        }
+        if(total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(total * percentile);
+        long cumulative = 0;
+        for(int i = 0; i < histogram.length; i++) {
+            cumulative += histogram[i];
+            if(cumulative >= Math.max(1, target)) {
+                return i >= 63 ? Long.MAX_VALUE : 1L << i;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    public int compareTo(RuleMetricsSnapshot other) {
+        return ruleId.compareTo(other.ruleId);
+    }
+
+    @Override
+    public String toString() {
+        return ruleId + ": count=" + count + ", rejected=" + rejectedCount + ", mean=" + getMeanNanos()
+                + "ns, p50<=" + getP50Nanos() + "ns, p99<=" + getP99Nanos() + "ns";
+    }
+}
@@ -0,0 +1,48 @@
+package validation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for a validation check that took longer than the {@link ValidationMetrics} slow threshold. Only
+ * emitted while metrics are enabled and a flight recording has the event turned on.
+ *
+ * @see ValidationMetrics#setSlowThreshold(long, java.util.concurrent.TimeUnit)
+ */
+@Name("validation.SlowValidation")
+@Label("Slow Validation")
+@Category("Validation")
+@Description("A validation rule took longer than the configured threshold")
+public final class SlowValidationEvent extends Event {
+
+    @Label("Rule")
+    @Description("ValidationRule id: the pattern, or a form such as int[0, 100], double{...} or char[YN] for the numeric and character checks")
+    String ruleId;
+
+    @Label("Input Length")
+    int inputLength;
+
+    @Label("Valid")
+    boolean valid;
+
+    @Label("Check Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long checkDuration;
+
+    SlowValidationEvent() { }
+
+    static void emit(String ruleId, int inputLength, boolean valid, long elapsedNanos) {
+        SlowValidationEvent event = new SlowValidationEvent();
+        if(event.isEnabled()) {
+            event.ruleId = ruleId;
+            event.inputLength = inputLength;
+            event.valid = valid;
+            event.checkDuration = elapsedNanos;
+            event.commit();
+        }
+    }
+}
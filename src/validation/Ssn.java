@@ -0,0 +1,95 @@
+package validation;
+
+/**
+ * Helpers for social security numbers packed into an int by {@link ValidationEngine#validateSsn}. A packed SSN
+ * is the number formed by its nine digits, so it takes 4 bytes in an {@code int[]} or an int field instead of a
+ * String of 9 to 11 characters, and two packed SSNs are equal exactly when their digits are.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * int ssn = Validator.getSsn(console, "SSN: ");
+ * console.println("Stored " + Ssn.format(ssn));   // 123-45-6789
+ * </pre></blockquote>
+ *
+ * @see ValidationEngine#validateSsn(CharSequence, ValidationResult)
+ */
+public final class Ssn {
+    private Ssn() {}
+
+    /**
+     * Returned by {@link #pack(CharSequence)} for input that is not an SSN
+     */
+    public static final int NOT_AN_SSN = -1;
+
+    /**
+     * Packs an SSN matching {@link Constants#MATCH_SSN}
+     *
+     * @param input    SSN with or without hyphens
+     * @return The packed SSN, or {@link #NOT_AN_SSN} if the input does not match
+     */
+    public static int pack(CharSequence input) {
+        return PatternMatchers.packSsn(input);
+    }
+
+    /**
+     * @param packed    Packed SSN
+     * @return The SSN in {@code AAA-GG-SSSS} form
+     */
+    public static String format(int packed) {
+        return appendTo(new StringBuilder(11), packed).toString();
+    }
+
+    /**
+     * Appends an SSN in {@code AAA-GG-SSSS} form
+     *
+     * @param builder    Builder to append to
+     * @param packed     Packed SSN
+     * @return The builder
+     */
+    public static StringBuilder appendTo(StringBuilder builder, int packed) {
+        checkPacked(packed);
+        appendDigits(builder, getArea(packed), 100).append('-');
+        appendDigits(builder, getGroup(packed), 10).append('-');
+        return appendDigits(builder, getSerial(packed), 1000);
+    }
+
+    /**
+     * @param packed    Packed SSN
+     * @return The first three digits
+     */
+    public static int getArea(int packed) {
+        return packed / 1000000;
+    }
+
+    /**
+     * @param packed    Packed SSN
+     * @return The middle two digits
+     */
+    public static int getGroup(int packed) {
+        return packed / 10000 % 100;
+    }
+
+    /**
+     * @param packed    Packed SSN
+     * @return The last four digits
+     */
+    public static int getSerial(int packed) {
+        return packed % 10000;
+    }
+
+    private static void checkPacked(int packed) {
+        if(packed < 0 || packed > 999999999) {
+            throw new IllegalArgumentException("Not a packed SSN: " + packed);
+        }
+    }
+
+    /**
+     * Appends a value with leading zeros, {@code divisor} is the place value of its first digit
+     */
+    private static StringBuilder appendDigits(StringBuilder builder, int value, int divisor) {
+        for(; divisor > 0; divisor /= 10) {
+            builder.append((char) ('0' + value / divisor % 10));
+        }
+        return builder;
+    }
+}
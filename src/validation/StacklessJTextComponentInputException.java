@@ -0,0 +1,52 @@
+package validation;
+
+import javax.swing.text.JTextComponent;
+
+/**
+ * {@code StacklessJTextComponentInputException} is an {@link InvalidJTextComponentInputException} that does not
+ * record a stack trace. Filling in the stack trace is by far the most expensive part of creating an exception,
+ * and callers of the JTextComponent methods only use the exception to highlight the field and show a message.
+ *
+ * <p>SwingValidator throws this class, so existing {@code catch (InvalidJTextComponentInputException e)} blocks
+ * keep working. When even the allocation matters, {@link SwingValidator#setSharedExceptions(boolean)} makes the
+ * Validator throw the single {@link #getSharedInstance() shared instance} instead. The shared instance does not
+ * carry the component, rule or value, so callers must use the component they passed in.
+ *
+ * @see InvalidJTextComponentInputException
+ * @see Validator
+ */
+public class StacklessJTextComponentInputException extends InvalidJTextComponentInputException {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final StacklessJTextComponentInputException sharedInstance = new StacklessJTextComponentInputException();
+
+    public StacklessJTextComponentInputException () {
+    }
+
+    /**
+     * @param jTextComponent    JTextComponent with the invalid input
+     * @param ruleId            Identifier of the rule that failed, the pattern for String input
+     * @param invalidValue      The input that failed validation
+     */
+    public StacklessJTextComponentInputException (JTextComponent jTextComponent, String ruleId, String invalidValue) {
+        super(jTextComponent, ruleId, invalidValue);
+    }
+
+    /**
+     * @return Shared instance with no component, rule or value
+     */
+    public static StacklessJTextComponentInputException getSharedInstance() {
+        return sharedInstance;
+    }
+
+    /**
+     * Skips walking the stack, the exception is only used to report a validation error
+     *
+     * @return this exception
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,329 @@
+package validation;
+
+import javax.swing.text.JTextComponent;
+import java.util.regex.Pattern;
+
+import static validation.Constants.*;
+
+/**
+ * {@code SwingValidator} validates the text of JTextComponent objects. Invalid input throws an
+ * {@link InvalidJTextComponentInputException}, the calling code can choose how to handle highlighting the error
+ * by changing the background color as well as displaying the error message dialog.
+ *
+ * <p>These methods used to be part of {@link Validator}. Keeping them in a class of their own means console
+ * programs and headless jobs, which only use Validator, {@link ValidationEngine} and {@link Constants}, never
+ * load or initialize AWT; the error highlighting color lives in {@link ErrorFieldRegistry} for the same reason.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * try {
+ *     int testScore = SwingValidator.getInt(testScoreTextField, "A Valid Test Score between 0 and 100 is Required.", 0, 100);
+ *     testScores.enterScore(testScore);
+ * } catch (InvalidJTextComponentInputException e) {
+ *     e.setInvalidFieldBackground(testScoreTextField);
+ *     e.showErrorMessageDialog(testScoreTextField, "A Valid Test Score between 0 and 100 is Required.");
+ * }
+ * </pre></blockquote>
+ *
+ * @see Validator
+ * @see ErrorFieldRegistry
+ */
+public final class SwingValidator {
+    private SwingValidator() {}
+
+    /**
+     * When true, the JTextComponent methods throw the shared exception instance instead of creating one
+     */
+    private static volatile boolean sharedExceptions = false;
+
+    /**
+     * Validates text as double from JTextComponent object
+     *
+     * @param jTextComponent    JTextComponent object being validated
+     * @param inputErrorMessage Error message to display to the user
+     * @return valid {@code double}
+     * @exception InvalidJTextComponentInputException thrown if an input validation error occurs
+     * @see #getDouble(javax.swing.text.JTextComponent, String, double, double)
+     */
+    public static double getDouble(JTextComponent jTextComponent, String inputErrorMessage) throws InvalidJTextComponentInputException{
+        return getDouble(jTextComponent, inputErrorMessage, -Double.MAX_VALUE, Double.MAX_VALUE);
+    }
+
+    /**
+     * Validates text as double from JTextComponent object
+     *
+     * @param jTextComponent    JTextComponent object being validated
+     * @param inputErrorMessage Error message to display to the user
+     * @param minimumValue      Minimum value for double
+     * @param maximumValue      Maximum value for double
+     * @return valid {@code double}
+     * @exception InvalidJTextComponentInputException thrown if an input validation error occurs
+     */
+    public static double getDouble(JTextComponent jTextComponent, String inputErrorMessage, double minimumValue, double maximumValue) throws InvalidJTextComponentInputException {
+        String userInput;
+        ValidationResult result = new ValidationResult();
+
+        userInput = getInputFromJTextComponent(jTextComponent, inputErrorMessage, PATTERN_NOT_EMPTY);
+
+        if(!ValidationEngine.validateDouble(userInput, minimumValue, maximumValue, result)) {
+            throw invalidInput(jTextComponent, "double", userInput);
+        }
+        return result.getDouble();
+    }
+
+    /**
+     * Validates text as double from JTextComponent object, then checks it against a constraint of several
+     * ranges or values
+     *
+     * @param jTextComponent       JTextComponent object to use for validation
+     * @param inputErrorMessage    Error message to display to user
+     * @param constraint           Allowed ranges and values
+     * @return {@code double} with the validated input
+     * @throws InvalidJTextComponentInputException
+     */
+    public static double getDouble(JTextComponent jTextComponent, String inputErrorMessage, DoubleConstraint constraint) throws InvalidJTextComponentInputException {
+        ValidationResult result = new ValidationResult();
+        String userInput = getInputFromJTextComponent(jTextComponent, inputErrorMessage, PATTERN_NOT_EMPTY);
+        if(!ValidationEngine.validateDouble(userInput, constraint, result)) {
+            throw invalidInput(jTextComponent, "double", userInput);
+        }
+        return result.getDouble();
+    }
+
+
+    /**
+     * Validates text as int from JTextComponent object
+     *
+     * @param jTextComponent    JTextComponent object being validated
+     * @param inputErrorMessage Error message to display to the user
+     * @return valid {@code Integer}
+     * @exception InvalidJTextComponentInputException thrown if an input validation error occurs
+     * @see #getInt(javax.swing.text.JTextComponent, String, int, int)
+     */
+    public static int getInt(JTextComponent jTextComponent, String inputErrorMessage) throws InvalidJTextComponentInputException {
+        return getInt(jTextComponent, inputErrorMessage, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Validates text as int from JTextComponent object with a minimum value specified
+     *
+     * @param jTextComponent    JTextComponent object being validated
+     * @param inputErrorMessage Error message to display to the user
+     * @param minimumValue      Minimum value for int
+     * @return valid {@code Integer}
+     * @exception InvalidJTextComponentInputException thrown if an input validation error occurs
+     * @see #getInt(javax.swing.text.JTextComponent, String, int, int)
+     */
+    public static int getInt(JTextComponent jTextComponent, String inputErrorMessage, int minimumValue) throws InvalidJTextComponentInputException {
+        return getInt(jTextComponent, inputErrorMessage, minimumValue, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Validates text from JTextComponent object with <strong>inclusive</strong> range check.
+     *
+     * @param jTextComponent    JTextComponent object being validated
+     * @param inputErrorMessage Error message to display to the user
+     * @param minimumValue      Minimum value if a range is required
+     * @param maximumValue      Maximum value if a range is required
+     * @return valid {@code Integer}
+     * @exception InvalidJTextComponentInputException thrown if an input validation error occurs
+     */
+    public static int getInt(JTextComponent jTextComponent, String inputErrorMessage, int minimumValue, int maximumValue) throws InvalidJTextComponentInputException {
+        String userInput;
+        ValidationResult result = new ValidationResult();
+
+        userInput = getInputFromJTextComponent(jTextComponent, inputErrorMessage, PATTERN_NOT_EMPTY);
+
+        if(!ValidationEngine.validateInt(userInput, minimumValue, maximumValue, result)) {
+            throw invalidInput(jTextComponent, "int", userInput);
+        }
+        return result.getInt();
+    }
+
+    /**
+     * Validates text as int from JTextComponent object, then checks it against a constraint of several ranges
+     * or values
+     *
+     * @param jTextComponent       JTextComponent object to use for validation
+     * @param inputErrorMessage    Error message to display to user
+     * @param constraint           Allowed ranges and values
+     * @return {@code int} with the validated input
+     * @throws InvalidJTextComponentInputException
+     */
+    public static int getInt(JTextComponent jTextComponent, String inputErrorMessage, IntConstraint constraint) throws InvalidJTextComponentInputException {
+        ValidationResult result = new ValidationResult();
+        String userInput = getInputFromJTextComponent(jTextComponent, inputErrorMessage, PATTERN_NOT_EMPTY);
+        if(!ValidationEngine.validateInt(userInput, constraint, result)) {
+            throw invalidInput(jTextComponent, "int", userInput);
+        }
+        return result.getInt();
+    }
+
+    /**
+     * Accepts a JTextComponent and validates it against a pattern. If valid input is found
+     * it returns the valid input as a string. Invalid input throws an InvalidJTextComponentInputException
+     * exception to be handled by the calling code. See docs for getInputFromJTextComponent for an example.
+     *
+     * @param jTextComponent       JTextComponent object being validated
+     * @param inputErrorMessage    Error message to display to the user
+     * @param pattern              Pattern to match.
+     * @return valid {@code String}
+     * @exception InvalidJTextComponentInputException thrown if an input validation error occurs
+     */
+    public static String getString(JTextComponent jTextComponent, String inputErrorMessage, String pattern) {
+        return getInputFromJTextComponent(jTextComponent, inputErrorMessage, pattern);
+    }
+
+    /**
+     * Accepts a JTextComponent and validates it against a precompiled pattern.
+     *
+     * @param jTextComponent       JTextComponent object being validated
+     * @param inputErrorMessage    Error message to display to the user
+     * @param pattern              Compiled Pattern to match.
+     * @return valid {@code String}
+     * @exception InvalidJTextComponentInputException thrown if an input validation error occurs
+     * @see #getString(javax.swing.text.JTextComponent, String, String)
+     */
+    public static String getString(JTextComponent jTextComponent, String inputErrorMessage, Pattern pattern) {
+        return getInputFromJTextComponent(jTextComponent, inputErrorMessage, pattern);
+    }
+
+    /**
+     * For GUI validation, works with anything that inherits from JTextComponent. This method is called
+     * from other overloaded methods for retrieving int, double, and String input.
+     *
+     * @see #getInt(javax.swing.text.JTextComponent, String)
+     * @see #getInt(javax.swing.text.JTextComponent, String, int, int)
+     * @see #getDouble(javax.swing.text.JTextComponent, String)
+     * @see #getDouble(javax.swing.text.JTextComponent, String, double, double)
+     * @see #getString(javax.swing.text.JTextComponent, String, String)
+     *
+     * <p>An exception of type InvalidJTextComponentInputException is thrown if the input is not
+     * valid. The exception needs to be handled by the original calling code.
+     *
+     * <p><strong>Example:</strong> This example uses one the {@link #getInt(javax.swing.text.JTextComponent, String, int, int)} method.
+     * <blockquote><pre>
+     * public void actionPerformed(ActionEvent e) {
+     *     int testScore = 0;
+     *     try {
+     *         // Pass JTextField "testScore" to Validator.getInt with error message and valid range
+     *         testScore = SwingValidator.getInt(testScoreTextField, "A Valid Test Score between 0 and 100 is Required.", 0, 100);
+     *         // If valid continue with code, if not exception thrown to catch block below
+     *         testScores.enterScore(testScore);
+     *      } catch (InvalidJTextComponentInputException e) {
+     *         // Change the JTextField background color to highlight the error
+     *         e.setInvalidFieldBackground(testScoreTextField);
+     *         // Display the error message dialog box
+     *         e.showErrorMessageDialog(testScoreTextField, "A Valid Test Score between 0 and 100 is Required.");
+     *      }
+     * }
+     * </blockquote></pre>
+     *
+     * @param jTextComponent     JTextComponent object to use for validation
+     * @param inputErrorMessage  Error message to display to user
+     * @param pattern            Pattern to match.
+     * @return                   Returns the string acquired from the JTextComponent
+     * @exception InvalidJTextComponentInputException thrown if an input validation error occurs
+     */
+    public static String getInputFromJTextComponent(JTextComponent jTextComponent, String inputErrorMessage, String pattern) throws InvalidJTextComponentInputException {
+        return getInputFromJTextComponent(jTextComponent, inputErrorMessage, PatternRegistry.compile(pattern));
+    }
+
+    /**
+     * For GUI validation, same as {@link #getInputFromJTextComponent(javax.swing.text.JTextComponent, String, String)}
+     * but takes a precompiled Pattern so no lookup or compilation is done per call.
+     *
+     * @param jTextComponent     JTextComponent object to use for validation
+     * @param inputErrorMessage  Error message to display to user
+     * @param pattern            Compiled Pattern to match.
+     * @return                   Returns the string acquired from the JTextComponent
+     * @exception InvalidJTextComponentInputException thrown if an input validation error occurs
+     */
+    public static String getInputFromJTextComponent(JTextComponent jTextComponent, String inputErrorMessage, Pattern pattern) throws InvalidJTextComponentInputException {
+        String userInput;
+        ValidationResult result = new ValidationResult();
+
+        userInput = jTextComponent.getText();
+        if(!ValidationEngine.validateString(userInput, pattern, result)) {
+            throw invalidInput(jTextComponent, pattern.pattern(), userInput);
+        }
+        // If there is a previous error, set the background back to original state
+        clearErrorField(jTextComponent);
+
+        return userInput;
+    }
+
+    /**
+     * Creates the exception thrown by the JTextComponent methods. The exception does not fill in a stack trace,
+     * and is not created at all when shared exceptions are turned on.
+     *
+     * @param jTextComponent    JTextComponent with the invalid input
+     * @param ruleId            Identifier of the rule that failed
+     * @param invalidValue      The input that failed validation
+     * @return Exception to throw
+     * @see #setSharedExceptions(boolean)
+     */
+    private static InvalidJTextComponentInputException invalidInput(JTextComponent jTextComponent, String ruleId, String invalidValue) {
+        if(sharedExceptions) {
+            return StacklessJTextComponentInputException.getSharedInstance();
+        }
+        return new StacklessJTextComponentInputException(jTextComponent, ruleId, invalidValue);
+    }
+
+    /**
+     * Chooses whether the JTextComponent methods throw a single shared exception instance. The shared instance
+     * does not carry the component, rule or invalid value, so only turn this on if the calling code uses the
+     * component it passed in (as in the example for getInputFromJTextComponent).
+     *
+     * @param shared    {@code true} to throw the shared instance, {@code false} (the default) for a new exception
+     * @see StacklessJTextComponentInputException#getSharedInstance()
+     */
+    public static void setSharedExceptions(boolean shared) {
+        sharedExceptions = shared;
+    }
+
+    /**
+     * Check if the passed JTextComponent has been flagged with a validation error
+     *
+     * @param jTextComponent    The JTextComponent to Test
+     * @return boolean          Returns true if this JTextComponent has been flagged with an error
+     * @see ErrorFieldRegistry#getDefault()
+     */
+    public static boolean isErrorField(JTextComponent jTextComponent) {
+        return ErrorFieldRegistry.getDefault().isErrorField(jTextComponent);
+    }
+
+    /**
+     * Resets the background color and clears the error flag for a JTextComponent
+     *
+     * @param jTextComponent    The JTextComponent to modify
+     * @see #isErrorField(javax.swing.text.JTextComponent)
+     */
+    public static void clearErrorField(JTextComponent jTextComponent) {
+        ErrorFieldRegistry.getDefault().clearErrorField(jTextComponent);
+    }
+
+    /**
+     * Stores the original background color of a JTextComponent in the default {@link ErrorFieldRegistry}, and then
+     * changes the current background color to reflect a validation error for the field.
+     *
+     * @param jTextComponent    The JTextComponent to modify
+     * @see ErrorFieldRegistry#getDefault()
+     */
+    public static void setErrorField(JTextComponent jTextComponent) {
+        ErrorFieldRegistry.getDefault().setErrorField(jTextComponent);
+    }
+
+    /**
+     * Called on form "Clear" action.
+     *
+     * <p>Sets all fields flagged in the default {@link ErrorFieldRegistry} back to their original background and
+     * clears the registry so it is in an initial state again for fresh use. Forms that create their own
+     * ErrorFieldRegistry should call {@link ErrorFieldRegistry#resetErrorFields()} on it instead.
+     *
+     * @see #clearErrorField(javax.swing.text.JTextComponent)
+     */
+    public static void resetErrorFields() {
+        ErrorFieldRegistry.getDefault().resetErrorFields();
+    }
+}
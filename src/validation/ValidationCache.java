@@ -0,0 +1,460 @@
+package validation;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * {@code ValidationCache} remembers whether an input matched a pattern, so feeds that repeat the same values
+ * (the same customer emails, the same amounts) only run an expensive pattern once per distinct value.
+ *
+ * <p>The cache is keyed by pattern (including its flags) and input, and bounded both by the number of entries
+ * and by their weight, the number of input characters plus a fixed overhead per entry. It is split into
+ * independently locked segments so threads rarely wait for each other. When a segment is full, the
+ * {@link Policy#LRU LRU} policy evicts the least recently used entry. The {@link Policy#TINY_LFU TINY_LFU} policy
+ * is W-TinyLFU: new entries go to a small LRU window of about 1% of the segment, and an entry leaving the window
+ * only enters the main part if it has been looked up more often than the entry it would evict there. This keeps
+ * one-off values from flushing the values that really repeat, while the window still gives a value that is
+ * repeated in a short burst a chance to be hit before the frequency filter judges it.
+ *
+ * <p>Cheap patterns bypass the cache entirely: the predefined {@link Constants} patterns with a short fixed
+ * length ({@code CHOICE_YN}, {@code SSN}, {@code CHAR}) and the trivial ones ({@code NOT_EMPTY}, {@code ANY})
+ * are faster to match than to look up. {@link Constants#MATCH_EMAIL MATCH_EMAIL} and caller supplied patterns
+ * are cached. Only pattern checks are cached, the numeric and character checks are always cheaper than a lookup.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * ValidationEngine.setCache(new ValidationCache(100000, 16 * 1024 * 1024, ValidationCache.Policy.TINY_LFU));
+ * ...
+ * System.out.println("Hit rate " + (double) cache.getHitCount() / (cache.getHitCount() + cache.getMissCount()));
+ * </pre></blockquote>
+ *
+ * @see ValidationEngine#setCache(ValidationCache)
+ */
+public final class ValidationCache {
+
+    /**
+     * Eviction policy used when a segment is full
+     */
+    public enum Policy {
+        /**
+         * Always admit the new entry and evict the least recently used one
+         */
+        LRU,
+        /**
+         * Keep new entries in a small LRU window, then admit them to the main part only if they are looked up more
+         * often than its least recently used entry
+         */
+        TINY_LFU
+    }
+
+    /**
+     * Weight added to the input length of every entry for the key, the entry and the map node
+     */
+    static final int ENTRY_OVERHEAD = 64;
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final Policy policy;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder rejectionCount = new LongAdder();
+
+    /**
+     * Creates an LRU cache bounded only by the number of entries
+     *
+     * @param maximumSize    Maximum number of entries
+     */
+    public ValidationCache(int maximumSize) {
+        this(maximumSize, Long.MAX_VALUE, Policy.LRU);
+    }
+
+    /**
+     * Creates a cache whose bounds are split as evenly as possible between its 16 segments. The total never
+     * exceeds the bounds, but each segment only holds its share, so a small cache can start evicting before it
+     * is full when its keys hash unevenly.
+     *
+     * @param maximumSize      Maximum number of entries
+     * @param maximumWeight    Maximum total weight, the input characters plus {@value #ENTRY_OVERHEAD} per entry
+     * @param policy           Eviction policy
+     */
+    public ValidationCache(int maximumSize, long maximumWeight, Policy policy) {
+        if(maximumSize < 0 || maximumWeight < 0) {
+            throw new IllegalArgumentException("Bounds must not be negative");
+        }
+        this.policy = policy;
+        // The first segments take one more of the remainder each, so the shares add up to the exact bound
+        for(int i = 0; i < segments.length; i++) {
+            int segmentSize = maximumSize / SEGMENT_COUNT + (i < maximumSize % SEGMENT_COUNT ? 1 : 0);
+            long segmentWeight = maximumWeight == Long.MAX_VALUE ? Long.MAX_VALUE
+                    : maximumWeight / SEGMENT_COUNT + (i < maximumWeight % SEGMENT_COUNT ? 1 : 0);
+            segments[i] = new Segment(segmentSize, segmentWeight);
+        }
+    }
+
+    /**
+     * Checks if the <b>entire</b> input matches a pattern, using the cached outcome when there is one
+     *
+     * @param input      Input to evaluate
+     * @param pattern    Compiled Pattern to match
+     * @return {@code boolean} true if the input matches
+     */
+    public boolean matches(CharSequence input, Pattern pattern) {
+        if(isCheap(pattern)) {
+            return PatternRegistry.matches(input, pattern);
+        }
+        int hash = hash(pattern, input);
+        Boolean cached = lookup(input, pattern, hash);
+        if(cached != null) {
+            return cached;
+        }
+        boolean valid = PatternRegistry.matches(input, pattern);
+        store(input, pattern, hash, valid);
+        return valid;
+    }
+
+    /**
+     * Looks up a cached outcome and counts the hit or miss
+     *
+     * @param input      Input to evaluate
+     * @param pattern    Compiled Pattern that is not {@link #isCheap(Pattern) cheap}
+     * @param hash       Hash from {@link #hash(Pattern, CharSequence)}
+     * @return The cached outcome, {@code null} on a miss
+     */
+    Boolean lookup(CharSequence input, Pattern pattern, int hash) {
+        Boolean cached = segmentFor(hash).get(new Key(pattern.pattern(), pattern.flags(), input, hash));
+        if(cached != null) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return cached;
+    }
+
+    /**
+     * Caches the outcome of a match that missed
+     */
+    void store(CharSequence input, Pattern pattern, int hash, boolean valid) {
+        segmentFor(hash).put(new Key(pattern.pattern(), pattern.flags(), input.toString(), hash), valid);
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    /**
+     * @param pattern    Compiled Pattern
+     * @return {@code true} if the pattern is matched without consulting the cache
+     */
+    static boolean isCheap(Pattern pattern) {
+        int id = PatternMatchers.idOf(pattern);
+        return id != PatternMatchers.NONE && id != PatternMatchers.EMAIL;
+    }
+
+    /**
+     * @return Eviction policy
+     */
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * @return Number of lookups that found a cached outcome
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return Number of lookups that had to match the pattern
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return Number of entries evicted to make room for new ones
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * @return Number of entries leaving the window that the {@link Policy#TINY_LFU TINY_LFU} policy did not
+     *         admit to the main part
+     */
+    public long getRejectionCount() {
+        return rejectionCount.sum();
+    }
+
+    /**
+     * @return Number of cached entries
+     */
+    public int size() {
+        int size = 0;
+        for(Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.window.size() + segment.entries.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return Total weight of the cached entries
+     */
+    public long weight() {
+        long weight = 0;
+        for(Segment segment : segments) {
+            synchronized (segment) {
+                weight += segment.weight;
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * Removes every entry. The counters are kept.
+     */
+    public void clear() {
+        for(Segment segment : segments) {
+            synchronized (segment) {
+                segment.window.clear();
+                segment.entries.clear();
+                segment.weight = 0;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationCache[policy=" + policy + ", size=" + size() + ", hits=" + getHitCount() + ", misses="
+                + getMissCount() + ", evictions=" + getEvictionCount() + "]";
+    }
+
+    /**
+     * Same as {@code (pattern + input).hashCode()} mixed with the flags, without creating a String
+     */
+    static int hash(Pattern pattern, CharSequence input) {
+        int hash = pattern.pattern().hashCode() * 31 + pattern.flags();
+        if(input instanceof String) {
+            return hash * 31 + input.hashCode();
+        }
+        int inputHash = 0;
+        for(int i = 0; i < input.length(); i++) {
+            inputHash = 31 * inputHash + input.charAt(i);
+        }
+        return hash * 31 + inputHash;
+    }
+
+    private static int weightOf(Key key) {
+        return key.input.length() + ENTRY_OVERHEAD;
+    }
+
+    /**
+     * One independently locked part of the cache, with its own frequency sketch. Under LRU the window is unused
+     * and every entry is in the main part.
+     */
+    private final class Segment {
+        private final int maximumSize;
+        private final long maximumWeight;
+        private final int windowSize;
+        private final LinkedHashMap<Key, Boolean> window = new LinkedHashMap<Key, Boolean>(16, 0.75f, true);
+        private final LinkedHashMap<Key, Boolean> entries = new LinkedHashMap<Key, Boolean>(16, 0.75f, true);
+        private final FrequencySketch sketch;
+
+        /**
+         * Weight of the window and the main part together
+         */
+        private long weight;
+
+        Segment(int maximumSize, long maximumWeight) {
+            this.maximumSize = maximumSize;
+            this.maximumWeight = maximumWeight;
+            if(policy == Policy.TINY_LFU) {
+                this.windowSize = maximumSize <= 1 ? maximumSize : Math.max(1, maximumSize / 100);
+                this.sketch = new FrequencySketch(maximumSize);
+            } else {
+                this.windowSize = 0;
+                this.sketch = null;
+            }
+        }
+
+        synchronized Boolean get(Key key) {
+            if(sketch == null) {
+                return entries.get(key);
+            }
+            sketch.increment(key.hash);
+            Boolean cached = window.get(key);
+            return cached != null ? cached : entries.get(key);
+        }
+
+        synchronized void put(Key key, boolean valid) {
+            int entryWeight = weightOf(key);
+            if(maximumSize == 0 || entryWeight > maximumWeight) {
+                return;
+            }
+            if(entries.containsKey(key) || window.containsKey(key)) {
+                return;
+            }
+            if(sketch == null) {
+                Iterator<Map.Entry<Key, Boolean>> eldest = entries.entrySet().iterator();
+                while(entries.size() >= maximumSize || weight + entryWeight > maximumWeight) {
+                    evict(eldest);
+                }
+                entries.put(key, valid);
+                weight += entryWeight;
+                return;
+            }
+            window.put(key, valid);
+            weight += entryWeight;
+            Iterator<Map.Entry<Key, Boolean>> windowEldest = window.entrySet().iterator();
+            while(window.size() > windowSize) {
+                Map.Entry<Key, Boolean> candidate = windowEldest.next();
+                windowEldest.remove();
+                admit(candidate.getKey(), candidate.getValue());
+            }
+            // Still over weight when a light candidate was rejected or the main part is empty
+            while(weight > maximumWeight) {
+                evict((entries.isEmpty() ? window : entries).entrySet().iterator());
+            }
+        }
+
+        /**
+         * Moves an entry leaving the window to the main part if it is looked up more often than the entries it
+         * would evict there. Its weight is already counted.
+         */
+        private void admit(Key candidate, boolean valid) {
+            int mainSize = maximumSize - windowSize;
+            Iterator<Map.Entry<Key, Boolean>> eldest = entries.entrySet().iterator();
+            while(mainSize == 0 || entries.size() >= mainSize || weight > maximumWeight) {
+                if(entries.isEmpty()) {
+                    if(mainSize == 0) {
+                        weight -= weightOf(candidate);
+                        evictionCount.increment();
+                        return;
+                    }
+                    break;
+                }
+                Key victim = entries.keySet().iterator().next();
+                if(sketch.frequency(candidate.hash) <= sketch.frequency(victim.hash)) {
+                    weight -= weightOf(candidate);
+                    rejectionCount.increment();
+                    return;
+                }
+                evict(eldest);
+            }
+            entries.put(candidate, valid);
+        }
+
+        private void evict(Iterator<Map.Entry<Key, Boolean>> eldest) {
+            Key victim = eldest.next().getKey();
+            eldest.remove();
+            weight -= weightOf(victim);
+            evictionCount.increment();
+        }
+    }
+
+    /**
+     * Count-min sketch of 4 bit counters estimating how often each key was looked up. All counters are halved
+     * once the number of increments reaches ten times the capacity, so old popularity fades.
+     */
+    private static final class FrequencySketch {
+        private static final int MAXIMUM_COUNT = 15;
+
+        private final byte[][] rows = new byte[4][];
+        private final int mask;
+        private final int sampleSize;
+        private int increments;
+
+        FrequencySketch(int capacity) {
+            int width = Integer.highestOneBit(Math.max(16, capacity - 1) << 1);
+            for(int i = 0; i < rows.length; i++) {
+                rows[i] = new byte[width];
+            }
+            mask = width - 1;
+            sampleSize = Math.max(160, 10 * capacity);
+        }
+
+        void increment(int hash) {
+            for(int i = 0; i < rows.length; i++) {
+                int index = index(hash, i);
+                if(rows[i][index] < MAXIMUM_COUNT) {
+                    rows[i][index]++;
+                }
+            }
+            if(++increments >= sampleSize) {
+                increments = 0;
+                for(byte[] row : rows) {
+                    for(int i = 0; i < row.length; i++) {
+                        row[i] >>>= 1;
+                    }
+                }
+            }
+        }
+
+        int frequency(int hash) {
+            int frequency = MAXIMUM_COUNT;
+            for(int i = 0; i < rows.length; i++) {
+                frequency = Math.min(frequency, rows[i][index(hash, i)]);
+            }
+            return frequency;
+        }
+
+        private int index(int hash, int row) {
+            int h = (hash + row) * 0x9E3779B9;
+            return (h ^ (h >>> 15)) & mask;
+        }
+    }
+
+    /**
+     * Pattern, flags and input. Lookups wrap the caller's CharSequence, stored keys always hold a String.
+     */
+    private static final class Key {
+        final String pattern;
+        final int flags;
+        final CharSequence input;
+        final int hash;
+
+        Key(String pattern, int flags, CharSequence input, int hash) {
+            this.pattern = pattern;
+            this.flags = flags;
+            this.input = input;
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if(this == other) {
+                return true;
+            }
+            if(!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return hash == key.hash && flags == key.flags && pattern.equals(key.pattern) && contentEquals(input, key.input);
+        }
+
+        private static boolean contentEquals(CharSequence a, CharSequence b) {
+            int length = a.length();
+            if(length != b.length()) {
+                return false;
+            }
+            for(int i = 0; i < length; i++) {
+                if(a.charAt(i) != b.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
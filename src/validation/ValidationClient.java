@@ -0,0 +1,257 @@
+package validation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code ValidationClient} is a connection to a {@link ValidationServer}. Requests are buffered by
+ * {@link #send(String, CharSequence)} and written out by {@link #flush()}, then their responses are read back in
+ * the same order with {@link #receive()}, so a batch takes one round trip.
+ *
+ * <p>Batches of any size are safe: once {@link ValidationServer#MAX_IN_FLIGHT} requests are waiting on the
+ * server, {@code send} flushes and reads responses into a local queue before writing more, so neither side
+ * blocks on a full socket buffer. Batches larger than that take more than one round trip.
+ *
+ * <p>A client is not thread safe; use one connection per thread.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * ValidationClient client = ValidationClient.connect("localhost", ValidationServer.DEFAULT_PORT);
+ * for (String email : emails) {
+ *     client.send("email", email);
+ * }
+ * client.flush();
+ * for (String email : emails) {
+ *     if (client.receive() != ValidationResult.VALID) {
+ *         reject(email, client.getMessageKey());
+ *     }
+ * }
+ * client.close();
+ * </pre></blockquote>
+ *
+ * @see ValidationServer
+ */
+public final class ValidationClient implements Closeable {
+
+    private final Socket socket;
+    private final OutputStream out;
+    private final InputStream in;
+    private final Map<String, byte[]> encodedRules = new HashMap<String, byte[]>();
+    private final byte[] responseBuffer = new byte[256];
+    private String messageKey;
+
+    /**
+     * Requests sent whose responses have not been read from the socket yet
+     */
+    private int inFlight;
+
+    // Responses read ahead by send(), oldest first, waiting for receive()
+    private int[] queuedCodes = new int[64];
+    private String[] queuedKeys = new String[64];
+    private int queueHead;
+    private int queueSize;
+
+    private ValidationClient(Socket socket) throws IOException {
+        this.socket = socket;
+        socket.setTcpNoDelay(true);
+        this.out = new BufferedOutputStream(socket.getOutputStream(), 64 * 1024);
+        this.in = new BufferedInputStream(socket.getInputStream(), 64 * 1024);
+    }
+
+    /**
+     * @param host    Host of the server
+     * @param port    Port of the server
+     * @return A connected client
+     * @throws IOException if the connection cannot be made
+     */
+    public static ValidationClient connect(String host, int port) throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port));
+            return new ValidationClient(socket);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Buffers a request. The value must not contain line terminators.
+     *
+     * @param rule     Name of a rule on the server
+     * @param value    Value to validate
+     * @throws IOException if the buffer is full and cannot be written
+     * @throws IllegalArgumentException if the value contains a line terminator
+     */
+    public void send(String rule, CharSequence value) throws IOException {
+        if(inFlight >= ValidationServer.MAX_IN_FLIGHT) {
+            // Let the server write its responses before it is sent more requests
+            out.flush();
+            while(inFlight > ValidationServer.MAX_IN_FLIGHT / 2) {
+                enqueue(read());
+            }
+        }
+        int length = value.length();
+        boolean ascii = true;
+        for(int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if(c == '\n' || c == '\r') {
+                throw new IllegalArgumentException("Value contains a line terminator");
+            }
+            ascii &= c < 0x80;
+        }
+        byte[] encodedRule = encodedRules.get(rule);
+        if(encodedRule == null) {
+            encodedRule = rule.getBytes(StandardCharsets.UTF_8);
+            encodedRules.put(rule, encodedRule);
+        }
+        out.write(encodedRule);
+        out.write('\t');
+        if(ascii) {
+            for(int i = 0; i < length; i++) {
+                out.write(value.charAt(i));
+            }
+        } else {
+            out.write(value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        out.write('\n');
+        inFlight++;
+    }
+
+    /**
+     * Writes the buffered requests to the server
+     *
+     * @throws IOException if the requests cannot be written
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Reads the response to the oldest request not answered yet, flushing the buffered requests first if needed
+     *
+     * @return {@link ValidationResult#VALID}, a ValidationResult error code, {@link ValidationServer#UNKNOWN_RULE}
+     *         or {@link ValidationServer#MALFORMED_REQUEST}
+     * @throws IOException if the response cannot be read
+     * @throws IllegalStateException if every request has been answered
+     */
+    public int receive() throws IOException {
+        if(queueSize > 0) {
+            int code = queuedCodes[queueHead];
+            messageKey = queuedKeys[queueHead];
+            queuedKeys[queueHead] = null;
+            queueHead = (queueHead + 1) & (queuedCodes.length - 1);
+            queueSize--;
+            return code;
+        }
+        if(inFlight == 0) {
+            throw new IllegalStateException("No request is waiting for a response");
+        }
+        if(in.available() == 0) {
+            out.flush();
+        }
+        return read();
+    }
+
+    /**
+     * Reads the next response from the socket
+     *
+     * @return Response code, the message key is left in {@code messageKey}
+     */
+    private int read() throws IOException {
+        int length = 0;
+        int b;
+        while((b = in.read()) != '\n') {
+            if(b < 0) {
+                throw new EOFException("Connection closed by the server");
+            }
+            if(length < responseBuffer.length) {
+                responseBuffer[length++] = (byte) b;
+            }
+        }
+        inFlight--;
+        int position = 0;
+        boolean negative = length > 0 && responseBuffer[0] == '-';
+        if(negative) {
+            position++;
+        }
+        int code = 0;
+        for(; position < length && responseBuffer[position] != '\t'; position++) {
+            code = code * 10 + (responseBuffer[position] - '0');
+        }
+        messageKey = position < length ? new String(responseBuffer, position + 1, length - position - 1, StandardCharsets.UTF_8) : null;
+        return negative ? -code : code;
+    }
+
+    private void enqueue(int code) {
+        if(queueSize == queuedCodes.length) {
+            // Grow, unwrapping the ring so the oldest response is first
+            int[] codes = new int[queueSize * 2];
+            String[] keys = new String[queueSize * 2];
+            for(int i = 0; i < queueSize; i++) {
+                codes[i] = queuedCodes[(queueHead + i) & (queuedCodes.length - 1)];
+                keys[i] = queuedKeys[(queueHead + i) & (queuedCodes.length - 1)];
+            }
+            queuedCodes = codes;
+            queuedKeys = keys;
+            queueHead = 0;
+        }
+        int tail = (queueHead + queueSize) & (queuedCodes.length - 1);
+        queuedCodes[tail] = code;
+        queuedKeys[tail] = messageKey;
+        queueSize++;
+    }
+
+    /**
+     * Validates one value and waits for the response. Use {@link #send(String, CharSequence)} and
+     * {@link #receive()} to validate many values with one round trip.
+     *
+     * @param rule     Name of a rule on the server
+     * @param value    Value to validate
+     * @return Response code, see {@link #receive()}
+     * @throws IOException if the connection fails
+     */
+    public int validate(String rule, CharSequence value) throws IOException {
+        send(rule, value);
+        flush();
+        int code = receive();
+        while(getPendingCount() > 0) {
+            // Responses to requests sent before this one came first
+            code = receive();
+        }
+        return code;
+    }
+
+    /**
+     * @return Message key of the last response, {@code null} if it was valid
+     */
+    public String getMessageKey() {
+        return messageKey;
+    }
+
+    /**
+     * @return Number of requests sent that have not been received yet
+     */
+    public int getPendingCount() {
+        return inFlight + queueSize;
+    }
+
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationClient[" + socket.getRemoteSocketAddress() + ", pending=" + getPendingCount() + "]";
+    }
+}
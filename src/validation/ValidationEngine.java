@@ -0,0 +1,490 @@
+package validation;
+
+import java.util.regex.Pattern;
+
+import static validation.Constants.*;
+
+/**
+ * {@code ValidationEngine} contains the validation rules used by the {@link Validator}, without any input or
+ * output. Every check takes a {@code CharSequence} and a reusable {@link ValidationResult}, never prints, never
+ * blocks and never throws for invalid input.
+ *
+ * <p>The console and Swing methods in the Validator are thin adapters over these checks: they read the input,
+ * run the check and then print the message, retry or throw as before. Services that only need the rules can
+ * call the engine directly.
+ *
+ * <p>Every check is recorded by {@link ValidationMetrics} while metrics are enabled. Pattern checks consult the
+ * {@link #setCache(ValidationCache) cache} when one is set, and caller supplied patterns can be limited by a
+ * {@link #setMatchBudget(MatchBudget) match budget}.
+ *
+ * @see ValidationResult
+ * @see ValidationRule
+ * @see ValidationMetrics
+ * @see Validator
+ */
+public final class ValidationEngine {
+    private ValidationEngine() {}
+
+    /**
+     * @return Identifier of an int range check, as reported to {@link ValidationMetrics} and by
+     *         {@link ValidationRule#getId()}
+     */
+    static String intRuleId(int minimumValue, int maximumValue) {
+        return "int[" + minimumValue + ", " + maximumValue + "]";
+    }
+
+    static String intRuleId(IntConstraint constraint) {
+        return "int{" + constraint + "}";
+    }
+
+    static String doubleRuleId(double minimumValue, double maximumValue) {
+        return "double[" + minimumValue + ", " + maximumValue + "]";
+    }
+
+    static String doubleRuleId(DoubleConstraint constraint) {
+        return "double{" + constraint + "}";
+    }
+
+    static String charRuleId(String validChars) {
+        return "char[" + validChars + "]";
+    }
+
+    static final String SSN_RULE_ID = "ssn";
+    static final String YES_NO_RULE_ID = "yesNo";
+    static final String EMAIL_RULE_ID = "email";
+
+    private static volatile ValidationCache cache;
+    private static volatile MatchBudget matchBudget;
+
+    /**
+     * Sets the cache consulted by every pattern check, including the Validator methods. Cheap patterns bypass
+     * it, see {@link ValidationCache}.
+     *
+     * @param validationCache    Cache to use, {@code null} to stop caching (the default)
+     */
+    public static void setCache(ValidationCache validationCache) {
+        cache = validationCache;
+    }
+
+    /**
+     * @return The cache consulted by pattern checks, {@code null} if caching is off
+     */
+    public static ValidationCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Sets the budget for every caller supplied pattern checked without an explicit budget, including by the
+     * Validator methods. The predefined patterns are never limited.
+     *
+     * @param budget    Budget to apply, {@code null} for no limit (the default)
+     */
+    public static void setMatchBudget(MatchBudget budget) {
+        matchBudget = budget;
+    }
+
+    /**
+     * @return The budget applied to caller supplied patterns, {@code null} if there is no limit
+     */
+    public static MatchBudget getMatchBudget() {
+        return matchBudget;
+    }
+
+    /**
+     * Validates an int with an <b>inclusive</b> range check
+     *
+     * @param input           Input to validate
+     * @param minimumValue    Minimum allowed value
+     * @param maximumValue    Maximum allowed value
+     * @param result          Receives the value or the error
+     * @return {@code boolean} true if the input is valid
+     */
+    public static boolean validateInt(CharSequence input, int minimumValue, int maximumValue, ValidationResult result) {
+        return validateInt(input, minimumValue, maximumValue, result, null);
+    }
+
+    /**
+     * @param ruleId    Identifier recorded by the metrics, {@code null} to build it only when they are enabled
+     */
+    static boolean validateInt(CharSequence input, int minimumValue, int maximumValue, ValidationResult result,
+                               String ruleId) {
+        if(!ValidationMetrics.isEnabled()) {
+            return checkInt(input, minimumValue, maximumValue, result);
+        }
+        long start = System.nanoTime();
+        boolean valid = checkInt(input, minimumValue, maximumValue, result);
+        ValidationMetrics.record(ruleId != null ? ruleId : intRuleId(minimumValue, maximumValue), input, valid,
+                System.nanoTime() - start);
+        return valid;
+    }
+
+    private static boolean checkInt(CharSequence input, int minimumValue, int maximumValue, ValidationResult result) {
+        result.reset(input);
+        NumberParser numberParser = result.numberParser;
+        switch (numberParser.parseInt(input, minimumValue, maximumValue)) {
+            case NumberParser.OK:
+                result.setInt(numberParser.getInt());
+                return true;
+            case NumberParser.OUT_OF_RANGE:
+                return result.fail(ValidationResult.OUT_OF_RANGE, ValidationResult.KEY_OUT_OF_RANGE, minimumValue, maximumValue);
+            default:
+                return result.fail(ValidationResult.INVALID_INT, ValidationResult.KEY_INVALID_INT);
+        }
+    }
+
+    /**
+     * Validates an int against a constraint of several ranges or values. A value outside the constraint fails
+     * with {@link ValidationResult#OUT_OF_RANGE}, and input that does not fit in an int fails with
+     * {@link ValidationResult#INVALID_INT}.
+     *
+     * @param input         Input to validate
+     * @param constraint    Allowed ranges and values
+     * @param result        Receives the value or the error
+     * @return {@code boolean} true if the input is valid
+     */
+    public static boolean validateInt(CharSequence input, IntConstraint constraint, ValidationResult result) {
+        return validateInt(input, constraint, result, null);
+    }
+
+    static boolean validateInt(CharSequence input, IntConstraint constraint, ValidationResult result, String ruleId) {
+        if(!ValidationMetrics.isEnabled()) {
+            return checkInt(input, constraint, result);
+        }
+        long start = System.nanoTime();
+        boolean valid = checkInt(input, constraint, result);
+        ValidationMetrics.record(ruleId != null ? ruleId : intRuleId(constraint), input, valid, System.nanoTime() - start);
+        return valid;
+    }
+
+    private static boolean checkInt(CharSequence input, IntConstraint constraint, ValidationResult result) {
+        if(!checkInt(input, Integer.MIN_VALUE, Integer.MAX_VALUE, result)) {
+            return false;
+        }
+        if(!constraint.contains(result.getInt())) {
+            return result.fail(ValidationResult.OUT_OF_RANGE, ValidationResult.KEY_OUT_OF_RANGE, constraint);
+        }
+        return true;
+    }
+
+    /**
+     * Validates a double with an <b>inclusive</b> range check
+     *
+     * @param input           Input to validate
+     * @param minimumValue    Minimum allowed value
+     * @param maximumValue    Maximum allowed value
+     * @param result          Receives the value or the error
+     * @return {@code boolean} true if the input is valid
+     */
+    public static boolean validateDouble(CharSequence input, double minimumValue, double maximumValue, ValidationResult result) {
+        return validateDouble(input, minimumValue, maximumValue, result, null);
+    }
+
+    static boolean validateDouble(CharSequence input, double minimumValue, double maximumValue, ValidationResult result,
+                                  String ruleId) {
+        if(!ValidationMetrics.isEnabled()) {
+            return checkDouble(input, minimumValue, maximumValue, result);
+        }
+        long start = System.nanoTime();
+        boolean valid = checkDouble(input, minimumValue, maximumValue, result);
+        ValidationMetrics.record(ruleId != null ? ruleId : doubleRuleId(minimumValue, maximumValue), input, valid,
+                System.nanoTime() - start);
+        return valid;
+    }
+
+    private static boolean checkDouble(CharSequence input, double minimumValue, double maximumValue, ValidationResult result) {
+        result.reset(input);
+        NumberParser numberParser = result.numberParser;
+        switch (numberParser.parseDouble(input, minimumValue, maximumValue)) {
+            case NumberParser.OK:
+                result.setDouble(numberParser.getDouble());
+                return true;
+            case NumberParser.OUT_OF_RANGE:
+                return result.fail(ValidationResult.OUT_OF_RANGE, ValidationResult.KEY_OUT_OF_RANGE, minimumValue, maximumValue);
+            default:
+                return result.fail(ValidationResult.INVALID_DECIMAL, ValidationResult.KEY_INVALID_DECIMAL);
+        }
+    }
+
+    /**
+     * Validates a double against a constraint of several ranges or values. A value outside the constraint fails
+     * with {@link ValidationResult#OUT_OF_RANGE}.
+     *
+     * @param input         Input to validate
+     * @param constraint    Allowed ranges and values
+     * @param result        Receives the value or the error
+     * @return {@code boolean} true if the input is valid
+     */
+    public static boolean validateDouble(CharSequence input, DoubleConstraint constraint, ValidationResult result) {
+        return validateDouble(input, constraint, result, null);
+    }
+
+    static boolean validateDouble(CharSequence input, DoubleConstraint constraint, ValidationResult result, String ruleId) {
+        if(!ValidationMetrics.isEnabled()) {
+            return checkDouble(input, constraint, result);
+        }
+        long start = System.nanoTime();
+        boolean valid = checkDouble(input, constraint, result);
+        ValidationMetrics.record(ruleId != null ? ruleId : doubleRuleId(constraint), input, valid, System.nanoTime() - start);
+        return valid;
+    }
+
+    private static boolean checkDouble(CharSequence input, DoubleConstraint constraint, ValidationResult result) {
+        if(!checkDouble(input, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, result)) {
+            return false;
+        }
+        if(!constraint.contains(result.getDouble())) {
+            return result.fail(ValidationResult.OUT_OF_RANGE, ValidationResult.KEY_OUT_OF_RANGE, constraint);
+        }
+        return true;
+    }
+
+    /**
+     * Validates a single character. The comparison with the valid characters ignores case, and the validated
+     * value is converted to upper case. Passing {@link Constants#MATCH_CHAR} as the valid characters allows any
+     * single character.
+     *
+     * @param input         Input to validate
+     * @param validChars    String containing list of valid characters
+     * @param result        Receives the value or the error
+     * @return {@code boolean} true if the input is valid
+     */
+    public static boolean validateChar(CharSequence input, String validChars, ValidationResult result) {
+        if(!ValidationMetrics.isEnabled()) {
+            return checkChar(input, validChars, result);
+        }
+        long start = System.nanoTime();
+        boolean valid = checkChar(input, validChars, result);
+        ValidationMetrics.record(charRuleId(validChars), input, valid, System.nanoTime() - start);
+        return valid;
+    }
+
+    private static boolean checkChar(CharSequence input, String validChars, ValidationResult result) {
+        result.reset(input);
+        if(input.length() == 0 || !PatternMatchers.matchesChar(input)) {
+            return result.fail(ValidationResult.INVALID_CHAR, ValidationResult.KEY_INVALID_CHAR, validChars);
+        }
+        if(!MATCH_CHAR.equals(validChars) && !containsIgnoreCase(validChars, Character.codePointAt(input, 0))) {
+            return result.fail(ValidationResult.INVALID_CHAR, ValidationResult.KEY_INVALID_CHAR, validChars);
+        }
+        result.setChar(Character.toUpperCase(input.charAt(0)));
+        return true;
+    }
+
+    /**
+     * Validates a single character against a precompiled set of valid characters, ignoring case. The validated
+     * value is converted to upper case.
+     *
+     * @param input      Input to validate
+     * @param charSet    Valid characters
+     * @param result     Receives the value or the error
+     * @return {@code boolean} true if the input is valid
+     */
+    public static boolean validateChar(CharSequence input, CharSet charSet, ValidationResult result) {
+        return validateChar(input, charSet, result, null);
+    }
+
+    static boolean validateChar(CharSequence input, CharSet charSet, ValidationResult result, String ruleId) {
+        if(!ValidationMetrics.isEnabled()) {
+            return checkChar(input, charSet, result);
+        }
+        long start = System.nanoTime();
+        boolean valid = checkChar(input, charSet, result);
+        ValidationMetrics.record(ruleId != null ? ruleId : charRuleId(charSet.getValidChars()), input, valid,
+                System.nanoTime() - start);
+        return valid;
+    }
+
+    private static boolean checkChar(CharSequence input, CharSet charSet, ValidationResult result) {
+        result.reset(input);
+        if(input.length() == 0 || !PatternMatchers.matchesChar(input)
+                || !charSet.contains(Character.codePointAt(input, 0))) {
+            return result.fail(ValidationResult.INVALID_CHAR, ValidationResult.KEY_INVALID_CHAR, charSet.getValidChars());
+        }
+        result.setChar(Character.toUpperCase(input.charAt(0)));
+        return true;
+    }
+
+    /**
+     * Validates that the <b>entire</b> input matches a pattern
+     *
+     * @param input      Input to validate
+     * @param pattern    Regular expression to match
+     * @param result     Receives the error if the input does not match
+     * @return {@code boolean} true if the input is valid
+     */
+    public static boolean validateString(CharSequence input, String pattern, ValidationResult result) {
+        return validateString(input, PatternRegistry.compile(pattern), matchBudget, result);
+    }
+
+    /**
+     * Validates that the <b>entire</b> input matches a precompiled pattern
+     *
+     * @param input      Input to validate
+     * @param pattern    Compiled Pattern to match
+     * @param result     Receives the error if the input does not match
+     * @return {@code boolean} true if the input is valid
+     */
+    public static boolean validateString(CharSequence input, Pattern pattern, ValidationResult result) {
+        return validateString(input, pattern, matchBudget, result);
+    }
+
+    /**
+     * Validates that the <b>entire</b> input matches a precompiled pattern within a budget. A match that runs
+     * out of budget fails with {@link ValidationResult#MATCH_BUDGET_EXCEEDED}.
+     *
+     * @param input      Input to validate
+     * @param pattern    Compiled Pattern to match
+     * @param budget     Budget for caller supplied patterns, {@code null} for no limit
+     * @param result     Receives the error if the input does not match
+     * @return {@code boolean} true if the input is valid
+     */
+    public static boolean validateString(CharSequence input, Pattern pattern, MatchBudget budget, ValidationResult result) {
+        result.reset(input);
+        int outcome;
+        if(!ValidationMetrics.isEnabled()) {
+            outcome = match(input, pattern, budget, result);
+        } else {
+            long start = System.nanoTime();
+            outcome = match(input, pattern, budget, result);
+            ValidationMetrics.record(pattern.pattern(), input, outcome == MatchBudget.MATCH, System.nanoTime() - start);
+        }
+        switch (outcome) {
+            case MatchBudget.MATCH:
+                return true;
+            case MatchBudget.NO_MATCH:
+                return result.fail(ValidationResult.INVALID_STRING, ValidationResult.KEY_INVALID_STRING);
+            default:
+                return result.fail(ValidationResult.MATCH_BUDGET_EXCEEDED, ValidationResult.KEY_MATCH_BUDGET_EXCEEDED);
+        }
+    }
+
+    /**
+     * Validates a {@link Constants#MATCH_SSN social security number} and packs its nine digits into an int, with
+     * or without the hyphens. The packed value is available from {@link ValidationResult#getInt()} and can be
+     * formatted again with {@link Ssn#format(int)}.
+     *
+     * @param input     Input to validate
+     * @param result    Receives the packed value or the error
+     * @return {@code boolean} true if the input is valid
+     */
+    public static boolean validateSsn(CharSequence input, ValidationResult result) {
+        if(!ValidationMetrics.isEnabled()) {
+            return checkSsn(input, result);
+        }
+        long start = System.nanoTime();
+        boolean valid = checkSsn(input, result);
+        ValidationMetrics.record(SSN_RULE_ID, input, valid, System.nanoTime() - start);
+        return valid;
+    }
+
+    private static boolean checkSsn(CharSequence input, ValidationResult result) {
+        result.reset(input);
+        int packed = PatternMatchers.packSsn(input);
+        if(packed < 0) {
+            return result.fail(ValidationResult.INVALID_STRING, ValidationResult.KEY_INVALID_STRING);
+        }
+        result.setInt(packed);
+        return true;
+    }
+
+    /**
+     * Validates a {@link Constants#MATCH_CHOICE_YN yes or no} answer. The answer is available as a boolean from
+     * {@link ValidationResult#getBoolean()}, and as {@code 'Y'} or {@code 'N'} from
+     * {@link ValidationResult#getChar()}.
+     *
+     * @param input     Input to validate
+     * @param result    Receives the answer or the error
+     * @return {@code boolean} true if the input is valid
+     */
+    public static boolean validateYesNo(CharSequence input, ValidationResult result) {
+        if(!ValidationMetrics.isEnabled()) {
+            return checkYesNo(input, result);
+        }
+        long start = System.nanoTime();
+        boolean valid = checkYesNo(input, result);
+        ValidationMetrics.record(YES_NO_RULE_ID, input, valid, System.nanoTime() - start);
+        return valid;
+    }
+
+    private static boolean checkYesNo(CharSequence input, ValidationResult result) {
+        result.reset(input);
+        if(!PatternMatchers.matchesChoiceYN(input)) {
+            return result.fail(ValidationResult.INVALID_CHAR, ValidationResult.KEY_INVALID_CHAR);
+        }
+        char answer = Character.toUpperCase(input.charAt(0));
+        result.setChar(answer);
+        result.setBoolean(answer == 'Y');
+        return true;
+    }
+
+    /**
+     * Validates an {@link Constants#MATCH_EMAIL email address} and records where its name ends and its domain
+     * starts, see {@link ValidationResult#getAtIndex()}.
+     *
+     * @param input     Input to validate
+     * @param result    Receives the position of the {@code @} or the error
+     * @return {@code boolean} true if the input is valid
+     */
+    public static boolean validateEmail(CharSequence input, ValidationResult result) {
+        if(!ValidationMetrics.isEnabled()) {
+            return checkEmail(input, result);
+        }
+        long start = System.nanoTime();
+        boolean valid = checkEmail(input, result);
+        ValidationMetrics.record(EMAIL_RULE_ID, input, valid, System.nanoTime() - start);
+        return valid;
+    }
+
+    private static boolean checkEmail(CharSequence input, ValidationResult result) {
+        result.reset(input);
+        int at = PatternMatchers.emailAt(input);
+        if(at < 0) {
+            return result.fail(ValidationResult.INVALID_STRING, ValidationResult.KEY_INVALID_STRING);
+        }
+        result.setAtIndex(at);
+        return true;
+    }
+
+    /**
+     * Matches through the cache and the budget when they are set and the pattern is not a cheap predefined one
+     */
+    private static int match(CharSequence input, Pattern pattern, MatchBudget budget, ValidationResult result) {
+        ValidationCache validationCache = cache;
+        if(validationCache == null || ValidationCache.isCheap(pattern)) {
+            return guardedMatch(input, pattern, budget, result);
+        }
+        int hash = ValidationCache.hash(pattern, input);
+        Boolean cached = validationCache.lookup(input, pattern, hash);
+        if(cached != null) {
+            return cached ? MatchBudget.MATCH : MatchBudget.NO_MATCH;
+        }
+        int outcome = guardedMatch(input, pattern, budget, result);
+        if(outcome != MatchBudget.EXCEEDED) {
+            validationCache.store(input, pattern, hash, outcome == MatchBudget.MATCH);
+        }
+        return outcome;
+    }
+
+    private static int guardedMatch(CharSequence input, Pattern pattern, MatchBudget budget, ValidationResult result) {
+        int predefined = PatternMatchers.idOf(pattern);
+        if(predefined != PatternMatchers.NONE) {
+            return PatternMatchers.matches(predefined, input) ? MatchBudget.MATCH : MatchBudget.NO_MATCH;
+        }
+        if(budget == null) {
+            return result.matcher(pattern, input).matches() ? MatchBudget.MATCH : MatchBudget.NO_MATCH;
+        }
+        return budget.match(input, pattern, result);
+    }
+
+    private static boolean containsIgnoreCase(String validChars, int codePoint) {
+        int lowerCase = Character.toLowerCase(codePoint);
+        for(int i = 0; i < validChars.length(); ) {
+            int validCodePoint = validChars.codePointAt(i);
+            if(Character.toLowerCase(validCodePoint) == lowerCase) {
+                return true;
+            }
+            i += Character.charCount(validCodePoint);
+        }
+        return false;
+    }
+}
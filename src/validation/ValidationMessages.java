@@ -0,0 +1,163 @@
+package validation;
+
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static validation.Constants.*;
+
+/**
+ * {@code ValidationMessages} renders the message for a failed {@link ValidationResult} from its error code and the
+ * arguments recorded by the check, only when the message is displayed.
+ *
+ * <p>Messages are looked up by message key in the {@code validation.ValidationMessages} resource bundle, so they
+ * can be translated by adding {@code ValidationMessages_<language>.properties} files next to it. The bundle for
+ * each locale is loaded once and cached. Keys missing from the bundle, or a missing bundle, fall back to the
+ * English messages from {@link Constants}; a key unknown to both is returned as is.
+ *
+ * <p>Range bounds are rendered as Java literals, {@code 0} for an int and {@code 0.0} for a double, the way the
+ * {@link Validator} has always printed them.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * if (!rule.validate(value, result)) {
+ *     reject(value, result.getErrorCode());            // no message built
+ * }
+ * ...
+ * label.setText(ValidationMessages.format(result, Locale.FRENCH));
+ * </pre></blockquote>
+ *
+ * @see ValidationResult#getMessage()
+ */
+public final class ValidationMessages {
+    private ValidationMessages() {}
+
+    /**
+     * Base name of the resource bundle
+     */
+    public static final String BUNDLE_NAME = "validation.ValidationMessages";
+
+    // Keys of the message variants that list the arguments of a check
+    static final String KEY_OUT_OF_RANGE_VALUES = "out.of.range.values";
+    static final String KEY_INVALID_CHAR_CHOICES = "invalid.char.choices";
+
+    private static final Map<String, String> DEFAULT_MESSAGES = new HashMap<String, String>();
+
+    static {
+        DEFAULT_MESSAGES.put(ValidationResult.KEY_INVALID_INT, MSG_INVALID_INT);
+        DEFAULT_MESSAGES.put(ValidationResult.KEY_INVALID_DECIMAL, MSG_INVALID_DECIMAL);
+        DEFAULT_MESSAGES.put(ValidationResult.KEY_OUT_OF_RANGE, "The value entered must be within the range {0} through {1}. Please try again.");
+        DEFAULT_MESSAGES.put(KEY_OUT_OF_RANGE_VALUES, "The value entered must be one of {0}. Please try again.");
+        DEFAULT_MESSAGES.put(ValidationResult.KEY_INVALID_CHAR, MSG_INVALID_CHAR);
+        DEFAULT_MESSAGES.put(KEY_INVALID_CHAR_CHOICES, MSG_INVALID_CHAR + " [{0}]");
+        DEFAULT_MESSAGES.put(ValidationResult.KEY_INVALID_STRING, MSG_INVALID_STRING);
+        DEFAULT_MESSAGES.put(ValidationResult.KEY_MATCH_BUDGET_EXCEEDED, "Your input took too long to check. Please try again.");
+        DEFAULT_MESSAGES.put(ValidationResult.KEY_NOT_ALLOWED, "The value entered is not allowed. Please try again.");
+        DEFAULT_MESSAGES.put(ValidationResult.KEY_REQUIRED, "A value is required. Please try again.");
+    }
+
+    private static final ConcurrentHashMap<Locale, LocaleMessages> cache = new ConcurrentHashMap<Locale, LocaleMessages>();
+
+    /**
+     * Renders the message for a result in the default locale
+     *
+     * @param result    Result of a check
+     * @return Message for the error, {@code null} if the check passed
+     */
+    public static String format(ValidationResult result) {
+        return format(result, Locale.getDefault(Locale.Category.DISPLAY));
+    }
+
+    /**
+     * Renders the message for a result
+     *
+     * @param result    Result of a check
+     * @param locale    Locale of the message
+     * @return Message for the error, {@code null} if the check passed
+     */
+    public static String format(ValidationResult result, Locale locale) {
+        if(result.isValid()) {
+            return null;
+        }
+        LocaleMessages messages = messagesFor(locale);
+        String key = result.getMessageKey();
+        switch (result.getArgumentKind()) {
+            case ValidationResult.INT_ARGUMENTS:
+                return messages.format(key, Long.toString(result.getIntArgument(0)), Long.toString(result.getIntArgument(1)));
+            case ValidationResult.DOUBLE_ARGUMENTS:
+                return messages.format(key, Double.toString(result.getDoubleArgument(0)), Double.toString(result.getDoubleArgument(1)));
+            case ValidationResult.OBJECT_ARGUMENT:
+                Object argument = result.getObjectArgument();
+                if(result.getErrorCode() == ValidationResult.OUT_OF_RANGE) {
+                    return messages.format(KEY_OUT_OF_RANGE_VALUES, String.valueOf(argument));
+                } else if(result.getErrorCode() == ValidationResult.INVALID_CHAR) {
+                    String validChars = String.valueOf(argument);
+                    return messages.format(KEY_INVALID_CHAR_CHOICES, validChars.toUpperCase(locale) + validChars.toLowerCase(locale));
+                }
+                return messages.format(key, String.valueOf(argument));
+            default:
+                return messages.format(key);
+        }
+    }
+
+    /**
+     * Renders the message for a key with no arguments, for example one of the {@code ValidationResult.KEY_*}
+     * constants
+     *
+     * @param messageKey    Message key
+     * @param locale        Locale of the message
+     * @return The message, or the key itself if there is no message for it
+     */
+    public static String format(String messageKey, Locale locale) {
+        return messagesFor(locale).format(messageKey);
+    }
+
+    private static LocaleMessages messagesFor(Locale locale) {
+        LocaleMessages messages = cache.get(locale);
+        if(messages == null) {
+            ResourceBundle bundle;
+            try {
+                bundle = ResourceBundle.getBundle(BUNDLE_NAME, locale);
+            } catch (MissingResourceException e) {
+                bundle = null;
+            }
+            LocaleMessages loaded = new LocaleMessages(locale, bundle);
+            messages = cache.putIfAbsent(locale, loaded);
+            if(messages == null) {
+                messages = loaded;
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * The bundle of one locale, {@code null} if there is none
+     */
+    private static final class LocaleMessages {
+        private final Locale locale;
+        private final ResourceBundle bundle;
+
+        LocaleMessages(Locale locale, ResourceBundle bundle) {
+            this.locale = locale;
+            this.bundle = bundle;
+        }
+
+        String format(String key, Object... arguments) {
+            String pattern = null;
+            if(bundle != null && bundle.containsKey(key)) {
+                pattern = bundle.getString(key);
+            }
+            if(pattern == null) {
+                pattern = DEFAULT_MESSAGES.get(key);
+            }
+            if(pattern == null) {
+                return key;
+            }
+            return new MessageFormat(pattern, locale).format(arguments);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package validation;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code ValidationMetrics} counts how often each validation rule runs, how often it rejects its input and how long
+ * it takes. Instrumentation is off by default; when it is off the only cost per check is reading one flag.
+ *
+ * <p>Rules are identified as by {@link ValidationRule#getId()}: the pattern for String checks, and the range or
+ * the valid characters for the other {@link ValidationEngine} checks, for example {@code int[0, 100]}. At most
+ * {@value #MAXIMUM_RULES} rules are counted separately, further rules are counted together under
+ * {@value #OTHER_RULES}, so callers checking many generated patterns or ranges cannot grow the metrics without
+ * bound. Counters are striped ({@link LongAdder}) so many threads can
+ * record without contending, and each rule keeps a latency histogram with power of two buckets.
+ *
+ * <p>The counters can be read with {@link #snapshot()}, or over JMX after calling {@link #registerMBean()}.
+ * Checks slower than the {@link #setSlowThreshold(long, TimeUnit) slow threshold} are also reported as
+ * {@link SlowValidationEvent} JFR events with the rule and the input length.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * ValidationMetrics.setEnabled(true);
+ * ValidationMetrics.setSlowThreshold(1, TimeUnit.MILLISECONDS);
+ * ValidationMetrics.registerMBean();
+ * ...
+ * for (RuleMetricsSnapshot rule : ValidationMetrics.snapshot()) {
+ *     System.out.println(rule.getRuleId() + ": " + rule.getRejectedCount() + " of " + rule.getCount() + " rejected");
+ * }
+ * </pre></blockquote>
+ *
+ * @see RuleMetricsSnapshot
+ * @see ValidationMetricsMXBean
+ */
+public final class ValidationMetrics {
+    private ValidationMetrics() {}
+
+    /**
+     * Name the MBean is registered under
+     */
+    public static final String OBJECT_NAME = "validation:type=ValidationMetrics";
+
+    /**
+     * Maximum number of rules counted separately
+     */
+    public static final int MAXIMUM_RULES = 1000;
+
+    /**
+     * Rule identifier of the counters shared by the rules recorded after {@value #MAXIMUM_RULES} others
+     */
+    public static final String OTHER_RULES = "(other rules)";
+
+    /**
+     * Number of histogram buckets, bucket {@code i} counts durations in {@code [2^(i-1), 2^i)} nanoseconds
+     */
+    static final int BUCKET_COUNT = 64;
+
+    private static volatile boolean enabled = false;
+    private static volatile long slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final ConcurrentMap<String, RuleMetrics> rules = new ConcurrentHashMap<String, RuleMetrics>();
+
+    /**
+     * @param enable    {@code true} to start recording, {@code false} to stop. Counters are kept either way.
+     */
+    public static void setEnabled(boolean enable) {
+        enabled = enable;
+    }
+
+    /**
+     * @return {@code true} if checks are being recorded
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Checks that take longer than the threshold are reported as JFR events (default 10 milliseconds)
+     *
+     * @param threshold    Slow threshold
+     * @param unit         Unit of the threshold
+     */
+    public static void setSlowThreshold(long threshold, TimeUnit unit) {
+        slowThresholdNanos = unit.toNanos(threshold);
+    }
+
+    /**
+     * @return Slow threshold in nanoseconds
+     */
+    public static long getSlowThresholdNanos() {
+        return slowThresholdNanos;
+    }
+
+    /**
+     * Records one check. Only called when recording is enabled.
+     *
+     * @param ruleId         Identifier of the rule
+     * @param input          Input that was checked
+     * @param valid          Outcome of the check
+     * @param elapsedNanos   Time the check took
+     */
+    static void record(String ruleId, CharSequence input, boolean valid, long elapsedNanos) {
+        RuleMetrics metrics = rules.get(ruleId);
+        if(metrics == null) {
+            // Racing threads can add a few rules past the limit, which only matters if it grows without bound
+            metrics = getOrCreate(rules.size() < MAXIMUM_RULES ? ruleId : OTHER_RULES);
+        }
+        metrics.record(valid, elapsedNanos);
+        if(elapsedNanos > slowThresholdNanos) {
+            SlowValidationEvent.emit(ruleId, input.length(), valid, elapsedNanos);
+        }
+    }
+
+    private static RuleMetrics getOrCreate(String ruleId) {
+        RuleMetrics metrics = rules.get(ruleId);
+        if(metrics == null) {
+            RuleMetrics created = new RuleMetrics();
+            metrics = rules.putIfAbsent(ruleId, created);
+            if(metrics == null) {
+                metrics = created;
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * @return Point in time copy of the counters of every rule that has been recorded, sorted by rule
+     */
+    public static List<RuleMetricsSnapshot> snapshot() {
+        List<RuleMetricsSnapshot> snapshots = new ArrayList<RuleMetricsSnapshot>();
+        for(ConcurrentMap.Entry<String, RuleMetrics> rule : rules.entrySet()) {
+            snapshots.add(rule.getValue().snapshot(rule.getKey()));
+        }
+        Collections.sort(snapshots);
+        return snapshots;
+    }
+
+    /**
+     * @param ruleId    Identifier of the rule
+     * @return Point in time copy of the counters of one rule, {@code null} if it has not been recorded or is
+     *         counted under {@link #OTHER_RULES}
+     */
+    public static RuleMetricsSnapshot snapshot(String ruleId) {
+        RuleMetrics metrics = rules.get(ruleId);
+        return metrics == null ? null : metrics.snapshot(ruleId);
+    }
+
+    /**
+     * Forgets every rule and its counters
+     */
+    public static void reset() {
+        rules.clear();
+    }
+
+    /**
+     * Registers the {@link ValidationMetricsMXBean} with the platform MBean server under {@link #OBJECT_NAME}.
+     * Registering more than once has no effect.
+     *
+     * @throws IllegalStateException if the MBean cannot be registered
+     */
+    public static void registerMBean() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(new MXBean(), new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Already registered
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Counters for one rule
+     */
+    private static final class RuleMetrics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder rejectedCount = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder[] histogram = new LongAdder[BUCKET_COUNT];
+
+        RuleMetrics() {
+            for(int i = 0; i < histogram.length; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        void record(boolean valid, long elapsedNanos) {
+            count.increment();
+            if(!valid) {
+                rejectedCount.increment();
+            }
+            long nanos = Math.max(0, elapsedNanos);
+            totalNanos.add(nanos);
+            histogram[Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(nanos))].increment();
+        }
+
+        RuleMetricsSnapshot snapshot(String ruleId) {
+            long[] buckets = new long[BUCKET_COUNT];
+            for(int i = 0; i < buckets.length; i++) {
+                buckets[i] = histogram[i].sum();
+            }
+            return new RuleMetricsSnapshot(ruleId, count.sum(), rejectedCount.sum(), totalNanos.sum(), buckets);
+        }
+    }
+
+    /**
+     * JMX view of the metrics
+     */
+    private static final class MXBean implements ValidationMetricsMXBean {
+        public boolean isEnabled() {
+            return ValidationMetrics.isEnabled();
+        }
+
+        public void setEnabled(boolean enable) {
+            ValidationMetrics.setEnabled(enable);
+        }
+
+        public long getSlowThresholdNanos() {
+            return ValidationMetrics.getSlowThresholdNanos();
+        }
+
+        public void setSlowThresholdNanos(long nanos) {
+            ValidationMetrics.setSlowThreshold(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        public List<RuleMetricsSnapshot> getRules() {
+            return ValidationMetrics.snapshot();
+        }
+
+        public void reset() {
+            ValidationMetrics.reset();
+        }
+    }
+}
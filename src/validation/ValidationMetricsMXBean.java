@@ -0,0 +1,42 @@
+package validation;
+
+import java.util.List;
+
+/**
+ * JMX management interface for {@link ValidationMetrics}, registered with
+ * {@link ValidationMetrics#registerMBean()} under {@value ValidationMetrics#OBJECT_NAME}.
+ *
+ * @see ValidationMetrics
+ */
+public interface ValidationMetricsMXBean {
+
+    /**
+     * @return {@code true} if checks are being recorded
+     */
+    boolean isEnabled();
+
+    /**
+     * @param enable    {@code true} to start recording, {@code false} to stop
+     */
+    void setEnabled(boolean enable);
+
+    /**
+     * @return Duration in nanoseconds above which a check is reported as a JFR event
+     */
+    long getSlowThresholdNanos();
+
+    /**
+     * @param nanos    Duration in nanoseconds above which a check is reported as a JFR event
+     */
+    void setSlowThresholdNanos(long nanos);
+
+    /**
+     * @return Counters of every rule that has been recorded
+     */
+    List<RuleMetricsSnapshot> getRules();
+
+    /**
+     * Forgets every rule and its counters
+     */
+    void reset();
+}
@@ -0,0 +1,63 @@
+package validation;
+
+/**
+ * {@code ValidationOutcome} is the immutable outcome of validating one item of a stream, as published by a
+ * {@link ValidationProcessor}. Unlike {@link ValidationResult} it is never reused, so it can be handed to other
+ * threads.
+ *
+ * @see ValidationProcessor
+ */
+public final class ValidationOutcome {
+    private final long index;
+    private final CharSequence input;
+    private final int errorCode;
+    private final String messageKey;
+
+    ValidationOutcome(long index, CharSequence input, int errorCode, String messageKey) {
+        this.index = index;
+        this.input = input;
+        this.errorCode = errorCode;
+        this.messageKey = messageKey;
+    }
+
+    /**
+     * @return Zero based position of the item in the stream
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * @return The item as it was received
+     */
+    public CharSequence getInput() {
+        return input;
+    }
+
+    /**
+     * @return {@code true} if the item passed the rule
+     */
+    public boolean isValid() {
+        return errorCode == ValidationResult.VALID;
+    }
+
+    /**
+     * @return Error code from {@link ValidationResult}, {@link ValidationResult#VALID} if the item passed
+     */
+    public int getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * @return Message key for the error, {@code null} if the item passed
+     */
+    public String getMessageKey() {
+        return messageKey;
+    }
+
+    @Override
+    public String toString() {
+        return isValid() ? "ValidationOutcome[" + index + ", valid]"
+                : "ValidationOutcome[" + index + ", " + errorCode + ", " + messageKey + "]";
+    }
+}
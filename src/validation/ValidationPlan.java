@@ -0,0 +1,174 @@
+package validation;
+
+import java.util.List;
+
+/**
+ * {@code ValidationPlan} is a compiled {@link RecordSchema}: the rules of the fields in record order, ready to
+ * validate rows given as {@code CharSequence[]} or as delimited lines.
+ *
+ * <p>A plan is immutable and safe to share between threads. Each thread validates into its own
+ * {@link RecordResult} from {@link #newResult()}, which is reused for every row: fields of a line are validated
+ * through views instead of Strings, and custom patterns reuse their Matcher, so a row creates no objects once
+ * the result has been used.
+ *
+ * <p>Lines are split on the schema's delimiter with no quoting or escaping, and should not include their line
+ * terminator. Columns after the last field are ignored, see {@link RecordResult#getColumnCount()}.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * RecordResult result = customers.newResult();
+ * for (String line : lines) {
+ *     if (customers.validateLine(line, result)) {
+ *         load(line, result.getInt(customers.indexOf("age")));
+ *     } else {
+ *         int field = result.getFirstInvalidField();
+ *         reject(line, customers.getFieldName(field), result.getErrorCode(field));
+ *     }
+ * }
+ * </pre></blockquote>
+ *
+ * @see RecordSchema
+ * @see RecordResult
+ */
+public final class ValidationPlan {
+
+    private final RecordSchema schema;
+    private final String[] names;
+    private final ValidationRule[] rules;
+    private final boolean[] required;
+    private final char delimiter;
+
+    ValidationPlan(RecordSchema schema) {
+        this.schema = schema;
+        List<RecordSchema.Field> fields = schema.getFields();
+        names = new String[fields.size()];
+        rules = new ValidationRule[fields.size()];
+        required = new boolean[fields.size()];
+        for(int i = 0; i < names.length; i++) {
+            names[i] = fields.get(i).getName();
+            rules[i] = fields.get(i).getRule();
+            required[i] = fields.get(i).isRequired();
+        }
+        delimiter = schema.getDelimiter();
+    }
+
+    /**
+     * @return A result sized for this plan, to be reused for every row validated by one thread
+     */
+    public RecordResult newResult() {
+        return new RecordResult(this, names.length);
+    }
+
+    /**
+     * Validates a row whose elements are the field values in record order. Missing trailing elements count as
+     * empty fields.
+     *
+     * @param row       Field values
+     * @param result    Receives the outcome of every field, must come from this plan
+     * @return {@code true} if every field is valid
+     */
+    public boolean validate(CharSequence[] row, RecordResult result) {
+        checkResult(result);
+        result.reset(row.length);
+        for(int field = 0; field < names.length; field++) {
+            validateField(field, field < row.length ? row[field] : "", result);
+        }
+        return result.isValid();
+    }
+
+    /**
+     * Validates a delimited line. Missing trailing fields count as empty fields.
+     *
+     * @param line      Line without its line terminator
+     * @param result    Receives the outcome of every field, must come from this plan
+     * @return {@code true} if every field is valid
+     */
+    public boolean validateLine(CharSequence line, RecordResult result) {
+        checkResult(result);
+        result.reset(0);
+        int length = line.length();
+        int field = 0;
+        int fieldStart = 0;
+        int columns = 1;
+        for(int i = 0; i < length; i++) {
+            if(line.charAt(i) == delimiter) {
+                if(field < names.length) {
+                    validateField(field, result.view(field).wrap(line, fieldStart, i), result);
+                    field++;
+                }
+                fieldStart = i + 1;
+                columns++;
+            }
+        }
+        if(field < names.length) {
+            validateField(field, result.view(field).wrap(line, fieldStart, length), result);
+            field++;
+        }
+        for(; field < names.length; field++) {
+            validateField(field, "", result);
+        }
+        result.setColumnCount(columns);
+        return result.isValid();
+    }
+
+    private void validateField(int field, CharSequence value, RecordResult result) {
+        ValidationResult fieldResult = result.getFieldResult(field);
+        if(value.length() == 0) {
+            fieldResult.reset(value);
+            if(required[field]) {
+                fieldResult.fail(ValidationResult.REQUIRED, ValidationResult.KEY_REQUIRED);
+                result.recordInvalid(field);
+            }
+            return;
+        }
+        if(!rules[field].validate(value, fieldResult)) {
+            result.recordInvalid(field);
+        }
+    }
+
+    private void checkResult(RecordResult result) {
+        if(result.getPlan() != this) {
+            throw new IllegalArgumentException("The result was created by another plan");
+        }
+    }
+
+    /**
+     * @return The schema this plan was compiled from
+     */
+    public RecordSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * @return Number of fields
+     */
+    public int getFieldCount() {
+        return names.length;
+    }
+
+    /**
+     * @param field    Index of the field
+     * @return Name of the field
+     */
+    public String getFieldName(int field) {
+        return names[field];
+    }
+
+    /**
+     * @param name    Name of a field
+     * @return Index of the field, or -1 if the schema has no field with the name
+     */
+    public int indexOf(String name) {
+        for(int i = 0; i < names.length; i++) {
+            if(names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationPlan" + schema.getFields();
+    }
+}
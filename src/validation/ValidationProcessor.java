@@ -0,0 +1,353 @@
+package validation;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code ValidationProcessor} validates a stream of values against one {@link ValidationRule} as they arrive,
+ * publishing one {@link ValidationOutcome} per value in arrival order. It sits between a
+ * {@link Flow.Publisher} of values, for example a message consumer, and a single {@link Flow.Subscriber}.
+ *
+ * <p>Outcomes are only published while the subscriber has outstanding demand, and at most {@code bufferSize}
+ * values are in flight (requested from upstream but not yet published) at any time, so a slow subscriber slows
+ * the publisher down instead of filling the heap. Values are requested ahead of demand up to that bound, and
+ * upstream requests are made in batches of at least {@code batchSize} values, except when nothing is in flight,
+ * so {@code request(n)} is not signalled per value however little the subscriber requests at a time.
+ *
+ * <p>By default values are validated on the thread that delivers them. When an {@link Executor} is given, each
+ * value is validated there instead; up to {@code bufferSize} values are then validated at once, and the outcomes
+ * are still published in arrival order. A bounded pool, such as {@link java.util.concurrent.ThreadPoolExecutor}
+ * with a fixed number of threads, bounds the number of workers.
+ *
+ * <p>Errors from upstream, from the rule or from the executor are passed on to the subscriber right away, and
+ * outcomes not yet published are dropped; if the rule or the executor threw, upstream is cancelled. A processor
+ * subscribes to one publisher and accepts one subscriber; it cannot be reused.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * ValidationProcessor processor = new ValidationProcessor(ValidationRule.pattern({@link Constants#MATCH_EMAIL MATCH_EMAIL}),
+ *         256, 64, workerPool);
+ * consumerPublisher.subscribe(processor);
+ * processor.subscribe(routingSubscriber);
+ * </pre></blockquote>
+ *
+ * @see ValidationOutcome
+ * @see ValidationRule
+ */
+public class ValidationProcessor implements Flow.Processor<CharSequence, ValidationOutcome> {
+
+    /**
+     * Default maximum number of values in flight
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 256;
+
+    /**
+     * Default minimum number of values requested from upstream at once
+     */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    /**
+     * Scratch results for validation on executor threads
+     */
+    private static final ThreadLocal<ValidationResult> WORKER_RESULTS = new ThreadLocal<ValidationResult>() {
+        @Override
+        protected ValidationResult initialValue() {
+            return new ValidationResult();
+        }
+    };
+
+    private final ValidationRule rule;
+    private final int bufferSize;
+    private final int batchSize;
+    private final Executor executor;
+
+    /**
+     * Scratch result for validation on the upstream thread, whose signals are serialized
+     */
+    private final ValidationResult result = new ValidationResult();
+
+    /**
+     * Values in arrival order, their outcomes filled in once validated
+     */
+    private final ConcurrentLinkedQueue<Slot> slots = new ConcurrentLinkedQueue<Slot>();
+
+    /**
+     * Total demand signalled by the subscriber, Long.MAX_VALUE for unbounded
+     */
+    private final AtomicLong requested = new AtomicLong();
+
+    /**
+     * Number of pending calls to drain(), only the call that raises it from zero runs the loop
+     */
+    private final AtomicInteger work = new AtomicInteger();
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private volatile Flow.Subscription upstream;
+    private volatile Flow.Subscriber<? super ValidationOutcome> downstream;
+    private volatile boolean done;
+    private volatile Throwable error;
+    private volatile boolean cancelled;
+
+    // Only used by the thread running drain()
+    private long upstreamRequested;
+    private long published;
+    private boolean terminated;
+
+    // Only used by the upstream thread
+    private long nextIndex;
+
+    /**
+     * Validates on the upstream thread with the default buffer and batch sizes
+     *
+     * @param rule    Rule each value must pass
+     */
+    public ValidationProcessor(ValidationRule rule) {
+        this(rule, DEFAULT_BUFFER_SIZE, DEFAULT_BATCH_SIZE, null);
+    }
+
+    /**
+     * @param rule          Rule each value must pass
+     * @param bufferSize    Maximum number of values in flight
+     * @param batchSize     Minimum number of values requested from upstream at once, at most {@code bufferSize}
+     * @param executor      Executor to validate the values on, or {@code null} to validate on the upstream thread
+     * @throws IllegalArgumentException if the sizes are not positive or the batch is larger than the buffer
+     */
+    public ValidationProcessor(ValidationRule rule, int bufferSize, int batchSize, Executor executor) {
+        if(bufferSize < 1 || batchSize < 1 || batchSize > bufferSize) {
+            throw new IllegalArgumentException("Invalid buffer size " + bufferSize + " or batch size " + batchSize);
+        }
+        if(rule == null) {
+            throw new NullPointerException("rule");
+        }
+        this.rule = rule;
+        this.bufferSize = bufferSize;
+        this.batchSize = batchSize;
+        this.executor = executor;
+    }
+
+    /**
+     * @return Rule the values are validated against
+     */
+    public ValidationRule getRule() {
+        return rule;
+    }
+
+    // Downstream side
+
+    public void subscribe(Flow.Subscriber<? super ValidationOutcome> subscriber) {
+        if(subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        if(subscriberCount.getAndIncrement() != 0) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                public void request(long n) { }
+
+                public void cancel() { }
+            });
+            subscriber.onError(new IllegalStateException("ValidationProcessor accepts only one subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new Flow.Subscription() {
+            public void request(long n) {
+                ValidationProcessor.this.request(n);
+            }
+
+            public void cancel() {
+                ValidationProcessor.this.cancel();
+            }
+        });
+        downstream = subscriber;
+        drain();
+    }
+
+    private void request(long n) {
+        if(n <= 0) {
+            fail(new IllegalArgumentException("Demand must be positive, was " + n));
+            return;
+        }
+        long current;
+        long next;
+        do {
+            current = requested.get();
+            next = current + n < 0 ? Long.MAX_VALUE : current + n;
+        } while(!requested.compareAndSet(current, next));
+        drain();
+    }
+
+    private void cancel() {
+        cancelled = true;
+        Flow.Subscription subscription = upstream;
+        if(subscription != null) {
+            subscription.cancel();
+        }
+        drain();
+    }
+
+    // Upstream side
+
+    public void onSubscribe(Flow.Subscription subscription) {
+        if(upstream != null || cancelled) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        drain();
+    }
+
+    public void onNext(CharSequence item) {
+        if(item == null) {
+            throw new NullPointerException("item");
+        }
+        if(done || cancelled) {
+            return;
+        }
+        final Slot slot = new Slot(nextIndex++, item);
+        slots.offer(slot);
+        if(executor == null) {
+            try {
+                slot.validate(result);
+            } catch (Throwable t) {
+                fail(t);
+                return;
+            }
+            drain();
+            return;
+        }
+        try {
+            executor.execute(new Runnable() {
+                public void run() {
+                    try {
+                        slot.validate(WORKER_RESULTS.get());
+                    } catch (Throwable t) {
+                        fail(t);
+                        return;
+                    }
+                    drain();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            fail(e);
+        }
+    }
+
+    public void onError(Throwable throwable) {
+        if(throwable == null) {
+            throw new NullPointerException("throwable");
+        }
+        error = throwable;
+        done = true;
+        drain();
+    }
+
+    public void onComplete() {
+        done = true;
+        drain();
+    }
+
+    /**
+     * Cancels upstream and passes the failure on to the subscriber
+     */
+    private void fail(Throwable t) {
+        if(error == null) {
+            error = t;
+        }
+        done = true;
+        Flow.Subscription subscription = upstream;
+        if(subscription != null) {
+            subscription.cancel();
+        }
+        drain();
+    }
+
+    /**
+     * Publishes validated outcomes while there is demand, signals completion or failure, and requests more values
+     * from upstream. Calls from several threads are serialized: a call made while another is running makes that
+     * one loop again instead.
+     */
+    private void drain() {
+        if(work.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        while(true) {
+            Flow.Subscriber<? super ValidationOutcome> subscriber = downstream;
+            if(cancelled || terminated) {
+                slots.clear();
+            } else if(subscriber != null) {
+                Throwable failure = error;
+                if(failure != null) {
+                    terminated = true;
+                    slots.clear();
+                    subscriber.onError(failure);
+                } else {
+                    long demand = requested.get();
+                    while(published != demand && !cancelled) {
+                        Slot slot = slots.peek();
+                        if(slot == null || slot.outcome == null) {
+                            break;
+                        }
+                        slots.poll();
+                        published++;
+                        subscriber.onNext(slot.outcome);
+                    }
+                    if(!cancelled && error == null && done && slots.isEmpty()) {
+                        terminated = true;
+                        subscriber.onComplete();
+                    } else if(!cancelled && error == null) {
+                        requestUpstream();
+                    }
+                }
+            }
+            missed = work.addAndGet(-missed);
+            if(missed == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Fills the buffer once at least a batch of it is free, or as soon as nothing is in flight
+     */
+    private void requestUpstream() {
+        Flow.Subscription subscription = upstream;
+        if(subscription == null || done) {
+            return;
+        }
+        long inFlight = upstreamRequested - published;
+        long wanted = bufferSize - inFlight;
+        if(wanted >= batchSize || (wanted > 0 && inFlight == 0)) {
+            upstreamRequested += wanted;
+            subscription.request(wanted);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationProcessor[rule=" + rule + ", bufferSize=" + bufferSize + ", batchSize=" + batchSize
+                + (executor != null ? ", executor=" + executor : "") + "]";
+    }
+
+    /**
+     * One value and, once validated, its outcome
+     */
+    private final class Slot {
+        private final long index;
+        private final CharSequence input;
+        volatile ValidationOutcome outcome;
+
+        Slot(long index, CharSequence input) {
+            this.index = index;
+            this.input = input;
+        }
+
+        void validate(ValidationResult scratch) {
+            rule.validate(input, scratch);
+            outcome = new ValidationOutcome(index, input, scratch.getErrorCode(), scratch.getMessageKey());
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package validation;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@code ValidationResult} holds the outcome of one {@link ValidationEngine} check: the validated value, an
+ * error code and a message key describing why the input was rejected.
+ *
+ * <p>A ValidationResult is mutable and is overwritten by every check it is passed to, so one instance can be
+ * reused for millions of values without creating garbage. For the same reason an instance must not be shared
+ * between threads.
+ *
+ * <p>A failure only records its error code and the arguments of the check, such as the bounds of a range, as
+ * primitives. The message text is rendered by {@link #getMessage()} when it is displayed, so rejecting values
+ * builds no Strings.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * ValidationResult result = new ValidationResult();
+ * for (String line : lines) {
+ *     if (ValidationEngine.validateInt(line, 0, 100, result)) {
+ *         total += result.getInt();
+ *     } else if (result.getErrorCode() == ValidationResult.OUT_OF_RANGE) {
+ *         outOfRange++;
+ *     }
+ * }
+ * </pre></blockquote>
+ *
+ * @see ValidationEngine
+ */
+public final class ValidationResult {
+
+    // Error codes
+
+    /**
+     * The input is valid
+     */
+    public static final int VALID = 0;
+
+    /**
+     * The input is not an integer
+     */
+    public static final int INVALID_INT = 1;
+
+    /**
+     * The input is not a decimal
+     */
+    public static final int INVALID_DECIMAL = 2;
+
+    /**
+     * The input is a number outside of the allowed range
+     */
+    public static final int OUT_OF_RANGE = 3;
+
+    /**
+     * The input is not a single character or not one of the allowed characters
+     */
+    public static final int INVALID_CHAR = 4;
+
+    /**
+     * The input does not match the pattern
+     */
+    public static final int INVALID_STRING = 5;
+
+    /**
+     * The pattern could not be matched within its {@link MatchBudget}
+     */
+    public static final int MATCH_BUDGET_EXCEEDED = 6;
+
+    /**
+     * The input is on a block list, or missing from an allow list
+     */
+    public static final int NOT_ALLOWED = 7;
+
+    /**
+     * A required field of a record is empty or missing
+     */
+    public static final int REQUIRED = 8;
+
+    // Message keys, one per error code
+
+    public static final String KEY_INVALID_INT = "invalid.int";
+    public static final String KEY_INVALID_DECIMAL = "invalid.decimal";
+    public static final String KEY_OUT_OF_RANGE = "out.of.range";
+    public static final String KEY_INVALID_CHAR = "invalid.char";
+    public static final String KEY_INVALID_STRING = "invalid.string";
+    public static final String KEY_MATCH_BUDGET_EXCEEDED = "match.budget.exceeded";
+    public static final String KEY_NOT_ALLOWED = "not.allowed";
+    public static final String KEY_REQUIRED = "required";
+
+    // Kinds of message arguments recorded with a failure
+    static final int NO_ARGUMENTS = 0;
+    static final int INT_ARGUMENTS = 1;
+    static final int DOUBLE_ARGUMENTS = 2;
+    static final int OBJECT_ARGUMENT = 3;
+
+    private int errorCode;
+    private String messageKey;
+    private int argumentKind;
+    private long intArgument0;
+    private long intArgument1;
+    private double doubleArgument0;
+    private double doubleArgument1;
+    private Object objectArgument;
+    private CharSequence input;
+    private int intValue;
+    private double doubleValue;
+    private char charValue;
+    private boolean booleanValue;
+    private int atIndex;
+
+    /**
+     * Scratch parser reused by the numeric checks
+     */
+    final NumberParser numberParser = new NumberParser();
+
+    /**
+     * Scratch view used to validate ASCII bytes in place
+     */
+    final AsciiSequence asciiSequence = new AsciiSequence();
+
+    /**
+     * Scratch view used to count the characters read by a guarded match
+     */
+    final MatchBudget.GuardedSequence guardedSequence = new MatchBudget.GuardedSequence();
+
+    /**
+     * Matcher kept for the custom pattern last checked with this result
+     */
+    private Matcher matcher;
+
+    public ValidationResult() { }
+
+    /**
+     * Returns a matcher for the input, reusing the previous one when the same pattern is checked again so a
+     * loop over many values does not create a Matcher per value
+     *
+     * @param pattern    Pattern to match
+     * @param input      Input to match against
+     * @return Matcher reset to the input
+     */
+    Matcher matcher(Pattern pattern, CharSequence input) {
+        if(matcher == null || matcher.pattern() != pattern) {
+            matcher = pattern.matcher(input);
+        } else {
+            matcher.reset(input);
+        }
+        return matcher;
+    }
+
+    /**
+     * Clears the result before a new check and records the input being checked
+     *
+     * @param input    Input about to be validated
+     */
+    void reset(CharSequence input) {
+        this.input = input;
+        this.errorCode = VALID;
+        this.messageKey = null;
+    }
+
+    /**
+     * Marks the result as failed
+     *
+     * @param errorCode     One of the error code constants
+     * @param messageKey    Message key for the error code
+     * @return {@code false} so the engine can return the call directly
+     */
+    boolean fail(int errorCode, String messageKey) {
+        this.errorCode = errorCode;
+        this.messageKey = messageKey;
+        this.argumentKind = NO_ARGUMENTS;
+        return false;
+    }
+
+    /**
+     * Marks the result as failed, keeping int bounds for the message
+     */
+    boolean fail(int errorCode, String messageKey, int argument0, int argument1) {
+        fail(errorCode, messageKey);
+        this.argumentKind = INT_ARGUMENTS;
+        this.intArgument0 = argument0;
+        this.intArgument1 = argument1;
+        return false;
+    }
+
+    /**
+     * Marks the result as failed, keeping double bounds for the message
+     */
+    boolean fail(int errorCode, String messageKey, double argument0, double argument1) {
+        fail(errorCode, messageKey);
+        this.argumentKind = DOUBLE_ARGUMENTS;
+        this.doubleArgument0 = argument0;
+        this.doubleArgument1 = argument1;
+        return false;
+    }
+
+    /**
+     * Marks the result as failed, keeping the constraint or valid characters of the check for the message
+     */
+    boolean fail(int errorCode, String messageKey, Object argument) {
+        fail(errorCode, messageKey);
+        this.argumentKind = OBJECT_ARGUMENT;
+        this.objectArgument = argument;
+        return false;
+    }
+
+    int getArgumentKind() {
+        return argumentKind;
+    }
+
+    long getIntArgument(int index) {
+        return index == 0 ? intArgument0 : intArgument1;
+    }
+
+    double getDoubleArgument(int index) {
+        return index == 0 ? doubleArgument0 : doubleArgument1;
+    }
+
+    Object getObjectArgument() {
+        return objectArgument;
+    }
+
+    void setInt(int intValue) {
+        this.intValue = intValue;
+    }
+
+    void setDouble(double doubleValue) {
+        this.doubleValue = doubleValue;
+    }
+
+    void setChar(char charValue) {
+        this.charValue = charValue;
+    }
+
+    void setBoolean(boolean booleanValue) {
+        this.booleanValue = booleanValue;
+    }
+
+    void setAtIndex(int atIndex) {
+        this.atIndex = atIndex;
+    }
+
+    /**
+     * @return {@code true} if the last check passed
+     */
+    public boolean isValid() {
+        return errorCode == VALID;
+    }
+
+    /**
+     * @return Error code of the last check, {@link #VALID} if it passed
+     */
+    public int getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * @return Message key for the error, {@code null} if the last check passed
+     */
+    public String getMessageKey() {
+        return messageKey;
+    }
+
+    /**
+     * Renders the message for the error in the default locale
+     *
+     * @return Message for the error, {@code null} if the last check passed
+     * @see ValidationMessages
+     */
+    public String getMessage() {
+        return ValidationMessages.format(this);
+    }
+
+    /**
+     * Renders the message for the error
+     *
+     * @param locale    Locale of the message
+     * @return Message for the error, {@code null} if the last check passed
+     * @see ValidationMessages
+     */
+    public String getMessage(Locale locale) {
+        return ValidationMessages.format(this, locale);
+    }
+
+    /**
+     * @return The input of the last check, as passed to the engine. For byte input this is a view that is
+     *         overwritten by the next check, call {@code toString()} to keep it.
+     */
+    public CharSequence getInput() {
+        return input;
+    }
+
+    /**
+     * @return The validated value of the last int check
+     */
+    public int getInt() {
+        return intValue;
+    }
+
+    /**
+     * @return The validated value of the last double check
+     */
+    public double getDouble() {
+        return doubleValue;
+    }
+
+    /**
+     * @return The validated value of the last char or yes/no check, converted to upper case
+     */
+    public char getChar() {
+        return charValue;
+    }
+
+    /**
+     * @return The validated value of the last yes/no check, {@code true} for yes
+     */
+    public boolean getBoolean() {
+        return booleanValue;
+    }
+
+    /**
+     * Returns the position of the {@code @} in the last email check. The name is the input before it and the
+     * domain the input after it, so they can be compared or hashed in place without substrings.
+     *
+     * @return Index of the {@code @} in the input of the last email check
+     */
+    public int getAtIndex() {
+        return atIndex;
+    }
+
+    @Override
+    public String toString() {
+        return isValid() ? "ValidationResult[valid]" : "ValidationResult[" + errorCode + ", " + messageKey + "]";
+    }
+}
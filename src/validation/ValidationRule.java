@@ -0,0 +1,245 @@
+package validation;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * A {@code ValidationRule} is one of the {@link ValidationEngine} checks with its parameters bound, so it can be
+ * chosen once and then applied to many values, for example by bulk or form level validation.
+ *
+ * <p>Rules are immutable and safe to share between threads. The {@link ValidationResult} passed to
+ * {@link #validate(CharSequence, ValidationResult)} is not.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * ValidationRule testScore = ValidationRule.intRange(0, 100);
+ * ValidationRule email = ValidationRule.pattern({@link Constants#MATCH_EMAIL MATCH_EMAIL});
+ * </pre></blockquote>
+ *
+ * @see ValidationEngine
+ */
+public abstract class ValidationRule {
+
+    private final String id;
+
+    /**
+     * @param id    Identifier of the rule, used in results and error reporting
+     */
+    protected ValidationRule(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Validates the input against this rule
+     *
+     * @param input     Input to validate
+     * @param result    Receives the value or the error
+     * @return {@code boolean} true if the input is valid
+     */
+    public abstract boolean validate(CharSequence input, ValidationResult result);
+
+    /**
+     * Validates the bytes at the absolute positions {@code [start, end)} of a buffer against this rule. ASCII
+     * input is validated in place without decoding, any other input is decoded as UTF-8 first so the outcome is
+     * always the same as validating the decoded String.
+     *
+     * @param buffer    Buffer holding the input
+     * @param start     Position of the first byte
+     * @param end       Position after the last byte
+     * @param result    Receives the value or the error
+     * @return {@code boolean} true if the input is valid
+     */
+    public boolean validate(ByteBuffer buffer, int start, int end, ValidationResult result) {
+        if(AsciiSequence.isAscii(buffer, start, end)) {
+            return validate(result.asciiSequence.wrap(buffer, start, end), result);
+        }
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(end);
+        slice.position(start);
+        return validate(StandardCharsets.UTF_8.decode(slice).toString(), result);
+    }
+
+    /**
+     * @return Identifier of the rule
+     */
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+
+    /**
+     * Rule for an int within an <b>inclusive</b> range
+     *
+     * @param minimumValue    Minimum allowed value
+     * @param maximumValue    Maximum allowed value
+     * @return ValidationRule
+     * @see ValidationEngine#validateInt(CharSequence, int, int, ValidationResult)
+     */
+    public static ValidationRule intRange(final int minimumValue, final int maximumValue) {
+        return new ValidationRule(ValidationEngine.intRuleId(minimumValue, maximumValue)) {
+            @Override
+            public boolean validate(CharSequence input, ValidationResult result) {
+                return ValidationEngine.validateInt(input, minimumValue, maximumValue, result, getId());
+            }
+        };
+    }
+
+    /**
+     * Rule for an int allowed by a constraint of several ranges or values
+     *
+     * @param constraint    Allowed ranges and values
+     * @return ValidationRule
+     * @see ValidationEngine#validateInt(CharSequence, IntConstraint, ValidationResult)
+     */
+    public static ValidationRule intConstraint(final IntConstraint constraint) {
+        return new ValidationRule(ValidationEngine.intRuleId(constraint)) {
+            @Override
+            public boolean validate(CharSequence input, ValidationResult result) {
+                return ValidationEngine.validateInt(input, constraint, result, getId());
+            }
+        };
+    }
+
+    /**
+     * Rule for a double within an <b>inclusive</b> range
+     *
+     * @param minimumValue    Minimum allowed value
+     * @param maximumValue    Maximum allowed value
+     * @return ValidationRule
+     * @see ValidationEngine#validateDouble(CharSequence, double, double, ValidationResult)
+     */
+    public static ValidationRule doubleRange(final double minimumValue, final double maximumValue) {
+        return new ValidationRule(ValidationEngine.doubleRuleId(minimumValue, maximumValue)) {
+            @Override
+            public boolean validate(CharSequence input, ValidationResult result) {
+                return ValidationEngine.validateDouble(input, minimumValue, maximumValue, result, getId());
+            }
+        };
+    }
+
+    /**
+     * Rule for a double allowed by a constraint of several ranges or values
+     *
+     * @param constraint    Allowed ranges and values
+     * @return ValidationRule
+     * @see ValidationEngine#validateDouble(CharSequence, DoubleConstraint, ValidationResult)
+     */
+    public static ValidationRule doubleConstraint(final DoubleConstraint constraint) {
+        return new ValidationRule(ValidationEngine.doubleRuleId(constraint)) {
+            @Override
+            public boolean validate(CharSequence input, ValidationResult result) {
+                return ValidationEngine.validateDouble(input, constraint, result, getId());
+            }
+        };
+    }
+
+    /**
+     * Rule for a single character out of a list of valid characters, ignoring case
+     *
+     * @param validChars    String containing list of valid characters
+     * @return ValidationRule
+     * @see ValidationEngine#validateChar(CharSequence, String, ValidationResult)
+     */
+    public static ValidationRule chars(String validChars) {
+        return chars(CharSet.of(validChars));
+    }
+
+    /**
+     * Rule for a single character out of a precompiled set of valid characters, ignoring case
+     *
+     * @param charSet    Valid characters
+     * @return ValidationRule
+     * @see ValidationEngine#validateChar(CharSequence, CharSet, ValidationResult)
+     */
+    public static ValidationRule chars(final CharSet charSet) {
+        return new ValidationRule(ValidationEngine.charRuleId(charSet.getValidChars())) {
+            @Override
+            public boolean validate(CharSequence input, ValidationResult result) {
+                return ValidationEngine.validateChar(input, charSet, result, getId());
+            }
+        };
+    }
+
+    /**
+     * Rule for input that <b>entirely</b> matches a regular expression
+     *
+     * @param pattern    Regular expression to match
+     * @return ValidationRule
+     * @see ValidationEngine#validateString(CharSequence, java.util.regex.Pattern, ValidationResult)
+     */
+    public static ValidationRule pattern(String pattern) {
+        return pattern(PatternRegistry.compile(pattern));
+    }
+
+    /**
+     * Rule for input that <b>entirely</b> matches a precompiled pattern
+     *
+     * @param pattern    Compiled Pattern to match
+     * @return ValidationRule
+     * @see ValidationEngine#validateString(CharSequence, java.util.regex.Pattern, ValidationResult)
+     */
+    public static ValidationRule pattern(final Pattern pattern) {
+        return new ValidationRule(pattern.pattern()) {
+            @Override
+            public boolean validate(CharSequence input, ValidationResult result) {
+                return ValidationEngine.validateString(input, pattern, result);
+            }
+        };
+    }
+
+    /**
+     * Rule for a social security number, packing its digits into the int value of the result
+     *
+     * @return ValidationRule
+     * @see ValidationEngine#validateSsn(CharSequence, ValidationResult)
+     */
+    public static ValidationRule ssn() {
+        return SSN;
+    }
+
+    /**
+     * Rule for a yes or no answer, giving the boolean value of the result
+     *
+     * @return ValidationRule
+     * @see ValidationEngine#validateYesNo(CharSequence, ValidationResult)
+     */
+    public static ValidationRule yesNo() {
+        return YES_NO;
+    }
+
+    /**
+     * Rule for an email address, giving the position of its {@code @} in the result
+     *
+     * @return ValidationRule
+     * @see ValidationEngine#validateEmail(CharSequence, ValidationResult)
+     */
+    public static ValidationRule email() {
+        return EMAIL;
+    }
+
+    private static final ValidationRule SSN = new ValidationRule(ValidationEngine.SSN_RULE_ID) {
+        @Override
+        public boolean validate(CharSequence input, ValidationResult result) {
+            return ValidationEngine.validateSsn(input, result);
+        }
+    };
+
+    private static final ValidationRule YES_NO = new ValidationRule(ValidationEngine.YES_NO_RULE_ID) {
+        @Override
+        public boolean validate(CharSequence input, ValidationResult result) {
+            return ValidationEngine.validateYesNo(input, result);
+        }
+    };
+
+    private static final ValidationRule EMAIL = new ValidationRule(ValidationEngine.EMAIL_RULE_ID) {
+        @Override
+        public boolean validate(CharSequence input, ValidationResult result) {
+            return ValidationEngine.validateEmail(input, result);
+        }
+    };
+}
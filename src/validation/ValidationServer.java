@@ -0,0 +1,579 @@
+package validation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code ValidationServer} exposes named {@link ValidationRule}s over a local TCP socket, so programs that do not
+ * run on the JVM can use the same rules as the {@link Validator} without starting a JVM per check.
+ *
+ * <p><b>Protocol:</b> requests and responses are lines of UTF-8 text ending in {@code \n} (a {@code \r} before
+ * it is ignored). A request is a rule name, a tab and the value to validate:
+ * <blockquote><pre>
+ * email&#9;bob@example.com
+ * int&#9;forty two
+ * </pre></blockquote>
+ * Every request is answered by one line, in request order: {@code 0} if the value is valid, otherwise the
+ * {@link ValidationResult} error code, a tab and the message key:
+ * <blockquote><pre>
+ * 0
+ * 1&#9;invalid.int
+ * </pre></blockquote>
+ * An unknown rule is answered with {@link #UNKNOWN_RULE}, a line without a tab or that does not fit in the
+ * maximum line length with {@link #MALFORMED_REQUEST}.
+ *
+ * <p>Clients may pipeline: write a batch of requests, then read the responses. The server validates every
+ * complete line it has received and writes the responses out when it has caught up with the input, so a batch
+ * costs about one write and one read on each side. The server only reads more requests once its responses have
+ * been written, so a client must not have more than {@link #MAX_IN_FLIGHT} requests unanswered: beyond that,
+ * both sides can block writing to full socket buffers. {@link ValidationClient} implements the client side and
+ * keeps to that limit by itself.
+ *
+ * <p>Each connection is served by its own thread, a virtual thread on JDK 21 and later, so thousands of mostly
+ * idle connections are cheap. Values are validated in place in the read buffer, without decoding ASCII input to
+ * Strings.
+ *
+ * <p>The server binds to the loopback address unless another one is given. It has no authentication and is
+ * meant for local tools only.
+ *
+ * <p><b>Example:</b>
+ * <blockquote><pre>
+ * ValidationServer server = ValidationServer.builder()
+ *         .port(7463)
+ *         .rule("zip", ValidationRule.pattern("[0-9]{5}"))
+ *         .start();
+ * ...
+ * server.close();
+ * </pre></blockquote>
+ *
+ * <p><b>Command line:</b>
+ * <blockquote><pre>
+ * java -cp validation.jar validation.ValidationServer [-p port]
+ * </pre></blockquote>
+ *
+ * @see ValidationClient
+ * @see ValidationRule
+ */
+public final class ValidationServer implements Closeable {
+
+    /**
+     * Port used unless another one is set
+     */
+    public static final int DEFAULT_PORT = 7463;
+
+    /**
+     * Longest request line accepted unless another length is set, in bytes
+     */
+    public static final int DEFAULT_MAX_LINE_LENGTH = 64 * 1024;
+
+    /**
+     * Most requests a client may send before reading their responses
+     */
+    public static final int MAX_IN_FLIGHT = 4096;
+
+    // Response codes in addition to the ValidationResult error codes
+
+    /**
+     * The request names a rule the server does not have
+     */
+    public static final int UNKNOWN_RULE = -1;
+
+    /**
+     * The request has no tab or is longer than the maximum line length
+     */
+    public static final int MALFORMED_REQUEST = -2;
+
+    public static final String KEY_UNKNOWN_RULE = "unknown.rule";
+    public static final String KEY_MALFORMED_REQUEST = "malformed.request";
+
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+
+    private final ServerSocket serverSocket;
+    private final byte[][] ruleNames;
+    private final ValidationRule[] rules;
+    private final int maxLineLength;
+    private final ExecutorService connectionExecutor;
+    private final boolean virtualThreads;
+    private final Thread acceptor;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong connectionCount = new AtomicLong();
+    private final AtomicLong requestCount = new AtomicLong();
+    private volatile boolean closed;
+
+    private ValidationServer(ServerSocket serverSocket, Map<String, ValidationRule> rules, int maxLineLength) {
+        this.serverSocket = serverSocket;
+        this.ruleNames = new byte[rules.size()][];
+        this.rules = new ValidationRule[rules.size()];
+        int i = 0;
+        for(Map.Entry<String, ValidationRule> rule : rules.entrySet()) {
+            ruleNames[i] = rule.getKey().getBytes(StandardCharsets.UTF_8);
+            this.rules[i++] = rule.getValue();
+        }
+        this.maxLineLength = maxLineLength;
+        ExecutorService virtualThreadExecutor = newVirtualThreadExecutor();
+        this.virtualThreads = virtualThreadExecutor != null;
+        this.connectionExecutor = virtualThreads ? virtualThreadExecutor : Executors.newCachedThreadPool(new ThreadFactory() {
+            private final AtomicLong count = new AtomicLong();
+
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "validation-server-connection-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.acceptor = new Thread(new Runnable() {
+            public void run() {
+                accept();
+            }
+        }, "validation-server-acceptor");
+        acceptor.setDaemon(true);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = DEFAULT_PORT;
+        if(args.length == 2 && args[0].equals("-p")) {
+            port = Integer.parseInt(args[1]);
+        } else if(args.length != 0) {
+            System.err.println("Usage: java validation.ValidationServer [-p port]");
+            System.exit(2);
+        }
+        ValidationServer server = builder().port(port).start();
+        System.out.println("Validating " + Arrays.toString(server.getRuleNames()) + " on " + server.getAddress()
+                + (server.isVirtualThreads() ? " with virtual threads" : ""));
+        server.join();
+    }
+
+    /**
+     * @return Builder for a server on the default port with the {@link Builder default rules}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns an executor that starts a virtual thread per task, or {@code null} before JDK 21. Looked up
+     * reflectively so the library still runs on older JDKs.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (IllegalAccessException e) {
+            return null;
+        } catch (InvocationTargetException e) {
+            // Virtual threads are a preview feature on JDK 19 and 20
+            return null;
+        }
+    }
+
+    private void accept() {
+        while(!closed) {
+            final Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if(closed) {
+                    return;
+                }
+                continue;
+            }
+            connections.add(socket);
+            connectionCount.incrementAndGet();
+            try {
+                connectionExecutor.execute(new Runnable() {
+                    public void run() {
+                        try {
+                            serve(socket);
+                        } catch (IOException e) {
+                            // The client went away, nothing to report to
+                        } finally {
+                            connections.remove(socket);
+                            closeQuietly(socket);
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Rejected because the server is closing
+                connections.remove(socket);
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    /**
+     * Answers the requests of one connection until the client closes it
+     */
+    private void serve(Socket socket) throws IOException {
+        socket.setTcpNoDelay(true);
+        InputStream in = socket.getInputStream();
+        ResponseWriter out = new ResponseWriter(socket.getOutputStream());
+        ValidationResult result = new ValidationResult();
+        byte[] buffer = new byte[Math.min(INITIAL_BUFFER_SIZE, maxLineLength)];
+        ByteBuffer view = ByteBuffer.wrap(buffer);
+        int start = 0;
+        int end = 0;
+        boolean skipping = false;
+        long requests = 0;
+        while(true) {
+            int newline = indexOf(buffer, start, end, (byte) '\n');
+            if(newline >= 0) {
+                if(skipping) {
+                    // Rest of a line that was too long, already answered
+                    skipping = false;
+                } else {
+                    handle(buffer, view, start, newline, result, out);
+                    requests++;
+                }
+                start = newline + 1;
+                continue;
+            }
+            if(skipping) {
+                start = end;
+            }
+            if(start > 0) {
+                System.arraycopy(buffer, start, buffer, 0, end - start);
+                end -= start;
+                start = 0;
+            }
+            if(end == buffer.length) {
+                if(buffer.length < maxLineLength) {
+                    buffer = Arrays.copyOf(buffer, Math.min(buffer.length * 2, maxLineLength));
+                    view = ByteBuffer.wrap(buffer);
+                } else {
+                    out.write(MALFORMED_REQUEST, KEY_MALFORMED_REQUEST);
+                    requests++;
+                    skipping = true;
+                    end = 0;
+                }
+            }
+            // Caught up with the client: send the responses of this batch before waiting for the next one
+            if(in.available() == 0) {
+                out.flush();
+                requestCount.addAndGet(requests);
+                requests = 0;
+            }
+            int read = in.read(buffer, end, buffer.length - end);
+            if(read < 0) {
+                break;
+            }
+            end += read;
+        }
+        out.flush();
+        requestCount.addAndGet(requests);
+    }
+
+    private void handle(byte[] buffer, ByteBuffer view, int start, int end, ValidationResult result, ResponseWriter out) throws IOException {
+        if(end > start && buffer[end - 1] == '\r') {
+            end--;
+        }
+        int tab = indexOf(buffer, start, end, (byte) '\t');
+        if(tab < 0) {
+            out.write(MALFORMED_REQUEST, KEY_MALFORMED_REQUEST);
+            return;
+        }
+        ValidationRule rule = ruleFor(buffer, start, tab);
+        if(rule == null) {
+            out.write(UNKNOWN_RULE, KEY_UNKNOWN_RULE);
+        } else if(rule.validate(view, tab + 1, end, result)) {
+            out.write(ValidationResult.VALID, null);
+        } else {
+            out.write(result.getErrorCode(), result.getMessageKey());
+        }
+    }
+
+    private ValidationRule ruleFor(byte[] buffer, int start, int end) {
+        for(int i = 0; i < ruleNames.length; i++) {
+            if(Arrays.equals(ruleNames[i], 0, ruleNames[i].length, buffer, start, end)) {
+                return rules[i];
+            }
+        }
+        return null;
+    }
+
+    private static int indexOf(byte[] buffer, int start, int end, byte value) {
+        for(int i = start; i < end; i++) {
+            if(buffer[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Closing anyway
+        }
+    }
+
+    /**
+     * @return Address and port the server is listening on
+     */
+    public InetSocketAddress getAddress() {
+        return (InetSocketAddress) serverSocket.getLocalSocketAddress();
+    }
+
+    /**
+     * @return Port the server is listening on, useful after binding to port 0
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return Names of the rules, in the order they were added
+     */
+    public String[] getRuleNames() {
+        String[] names = new String[ruleNames.length];
+        for(int i = 0; i < names.length; i++) {
+            names[i] = new String(ruleNames[i], StandardCharsets.UTF_8);
+        }
+        return names;
+    }
+
+    /**
+     * @return {@code true} if connections are served on virtual threads
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * @return Number of connections accepted since the server started
+     */
+    public long getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * @return Number of requests answered since the server started, updated after each batch
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Waits until the server is closed
+     *
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public void join() throws InterruptedException {
+        acceptor.join();
+    }
+
+    /**
+     * Stops accepting connections and closes the open ones
+     */
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        for(Socket socket : connections) {
+            closeQuietly(socket);
+        }
+        connectionExecutor.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationServer[" + getAddress() + ", rules=" + Arrays.toString(getRuleNames()) + "]";
+    }
+
+    /**
+     * Buffers the responses of a batch. Message keys are encoded once per connection.
+     */
+    private static final class ResponseWriter {
+        private final OutputStream out;
+        private final byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+        private final Map<String, byte[]> encodedKeys = new HashMap<String, byte[]>();
+        private int count;
+
+        ResponseWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        void write(int code, String messageKey) throws IOException {
+            byte[] key = null;
+            if(messageKey != null) {
+                key = encodedKeys.get(messageKey);
+                if(key == null) {
+                    key = messageKey.getBytes(StandardCharsets.UTF_8);
+                    encodedKeys.put(messageKey, key);
+                }
+            }
+            // Sign and digits of an int, a tab and a newline
+            if(count + 13 + (key == null ? 0 : key.length) > buffer.length) {
+                flush();
+                if(13 + (key == null ? 0 : key.length) > buffer.length) {
+                    writeSlowly(code, key);
+                    return;
+                }
+            }
+            count = appendInt(code);
+            if(key != null) {
+                buffer[count++] = '\t';
+                System.arraycopy(key, 0, buffer, count, key.length);
+                count += key.length;
+            }
+            buffer[count++] = '\n';
+        }
+
+        private int appendInt(int value) {
+            int position = count;
+            long remaining = value;
+            if(remaining < 0) {
+                buffer[position++] = '-';
+                remaining = -remaining;
+            }
+            int digitsStart = position;
+            do {
+                buffer[position++] = (byte) ('0' + remaining % 10);
+                remaining /= 10;
+            } while(remaining != 0);
+            // Digits were written least significant first
+            for(int i = digitsStart, j = position - 1; i < j; i++, j--) {
+                byte swap = buffer[i];
+                buffer[i] = buffer[j];
+                buffer[j] = swap;
+            }
+            return position;
+        }
+
+        private void writeSlowly(int code, byte[] key) throws IOException {
+            out.write(Integer.toString(code).getBytes(StandardCharsets.US_ASCII));
+            out.write('\t');
+            out.write(key);
+            out.write('\n');
+        }
+
+        void flush() throws IOException {
+            if(count > 0) {
+                out.write(buffer, 0, count);
+                count = 0;
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Configures and starts a {@link ValidationServer}
+     *
+     * <p>A new builder has these rules, more can be added or replaced by name:
+     * <ul>
+     *     <li>{@code int}: any int</li>
+     *     <li>{@code double}: any finite double</li>
+     *     <li>{@code char}: a single character</li>
+     *     <li>{@code yn}: {@link Constants#MATCH_CHOICE_YN}</li>
+     *     <li>{@code ssn}: {@link Constants#MATCH_SSN}</li>
+     *     <li>{@code email}: {@link Constants#MATCH_EMAIL}</li>
+     *     <li>{@code notEmpty}: {@link Constants#MATCH_NOT_EMPTY}</li>
+     *     <li>{@code any}: {@link Constants#MATCH_ANY}</li>
+     * </ul>
+     */
+    public static final class Builder {
+        private final Map<String, ValidationRule> rules = new LinkedHashMap<String, ValidationRule>();
+        private InetAddress bindAddress = InetAddress.getLoopbackAddress();
+        private int port = DEFAULT_PORT;
+        private int maxLineLength = DEFAULT_MAX_LINE_LENGTH;
+
+        private Builder() {
+            rules.put("int", ValidationRule.intRange(Integer.MIN_VALUE, Integer.MAX_VALUE));
+            rules.put("double", ValidationRule.doubleRange(-Double.MAX_VALUE, Double.MAX_VALUE));
+            rules.put("char", ValidationRule.chars(CharSet.ANY));
+            rules.put("yn", ValidationRule.yesNo());
+            rules.put("ssn", ValidationRule.ssn());
+            rules.put("email", ValidationRule.email());
+            rules.put("notEmpty", ValidationRule.pattern(Constants.PATTERN_NOT_EMPTY));
+            rules.put("any", ValidationRule.pattern(Constants.PATTERN_ANY));
+        }
+
+        /**
+         * Adds a rule, or replaces the rule with the same name
+         *
+         * @param name    Name clients use for the rule, without tabs or line terminators
+         * @param rule    Rule to apply
+         * @return this builder
+         * @throws IllegalArgumentException if the name is empty or contains a tab or line terminator
+         */
+        public Builder rule(String name, ValidationRule rule) {
+            if(rule == null) {
+                throw new NullPointerException("rule");
+            }
+            if(name.isEmpty() || name.indexOf('\t') >= 0 || name.indexOf('\n') >= 0 || name.indexOf('\r') >= 0) {
+                throw new IllegalArgumentException("Invalid rule name \"" + name + "\"");
+            }
+            rules.put(name, rule);
+            return this;
+        }
+
+        /**
+         * @param port    Port to listen on, 0 for any free port
+         * @return this builder
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * @param bindAddress    Address to listen on, the loopback address by default
+         * @return this builder
+         */
+        public Builder bindAddress(InetAddress bindAddress) {
+            this.bindAddress = bindAddress;
+            return this;
+        }
+
+        /**
+         * @param maxLineLength    Longest request line accepted, in bytes
+         * @return this builder
+         */
+        public Builder maxLineLength(int maxLineLength) {
+            if(maxLineLength < 16) {
+                throw new IllegalArgumentException("Maximum line length " + maxLineLength + " is too small");
+            }
+            this.maxLineLength = maxLineLength;
+            return this;
+        }
+
+        /**
+         * Binds the server socket and starts accepting connections
+         *
+         * @return The running server
+         * @throws IOException if the socket cannot be bound
+         */
+        public ValidationServer start() throws IOException {
+            ServerSocket serverSocket = new ServerSocket();
+            try {
+                serverSocket.setReuseAddress(true);
+                serverSocket.bind(new InetSocketAddress(bindAddress, port), 1024);
+            } catch (IOException e) {
+                serverSocket.close();
+                throw e;
+            }
+            ValidationServer server = new ValidationServer(serverSocket, rules, maxLineLength);
+            server.acceptor.start();
+            return server;
+        }
+    }
+}
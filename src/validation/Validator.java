@@ -1,10 +1,8 @@
 package validation;
 
 import javax.swing.text.JTextComponent;
-import java.awt.*;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Scanner;
+import java.util.regex.Pattern;
 
 import static validation.Constants.*;
 
@@ -14,13 +12,22 @@ import static validation.Constants.*;
  * optional minimum & maximum values for an inclusive range check. String input can pass just the scanner
  * and input prompt, as well as optionally add a regular expression pattern to match and custom error message.
  *
- * <p><b>For Swing applications:</b> JTextComponent objects can be validated as well. The methods throw
- * {@link InvalidInputException}, the calling code can choose how to handle highlighting the error
- * by changing the background color as well as displaying the error message dialog.
+ * <p><b>For Swing applications:</b> JTextComponent objects are validated by {@link SwingValidator}. The
+ * JTextComponent methods still found here only delegate to it, so the console methods never load Swing or AWT.
  *
  * <p>The statically imported Constants class contains constants for commonly used patterns as well as input
  * validation error message strings.
  *
+ * <p>The rules themselves live in {@link ValidationEngine}, which does no input or output. The methods in this
+ * class read the input, run the engine check and then report the error on the console or by throwing.
+ *
+ * <p>Every console method also has an overload taking a {@link ConsoleIO} instead of a Scanner. With
+ * {@link ConsoleIO#system()} input is read and output written through buffers, which is much faster when the
+ * program is driven by a piped input file.
+ *
+ * <p>Patterns passed as a String are compiled once and cached by {@link PatternRegistry}. The overloads that
+ * accept a {@link Pattern} skip the lookup entirely and are the best choice when validating in a loop.
+ *
  * <p><b>Examples:</b></p>
  * <p>A compilable getChar example is available in the {@link demo} package:</p>
  * {@link demo.BaconOrSpam BaconOrSpam demo application}
@@ -54,24 +61,18 @@ import static validation.Constants.*;
  */
 public class Validator {
 
-    /**
-     * Use static HashMap to track fields with errors, currently used to track background color so it can be
-     * reliably reset when the error state has cleared.
-     */
-    private static Map<JTextComponent, Color> errorFieldMap = new HashMap<JTextComponent, Color>();
-
     /**
      * Private method used to retrieve user input from console, used by all the console input methods
      * in the Validator class.
      *
-     * @param scanner        Scanner object
+     * @param console        Console to prompt on and read from
      * @param inputPrompt    String for user input prompt
      * @return               Returns user input to caller as a String
      * @throws InvalidInputException
      */
-    private static String getConsoleInput(Scanner scanner, String inputPrompt) throws InvalidInputException {
-        System.out.print(inputPrompt);
-        String consoleInputLine = scanner.nextLine();
+    private static String getConsoleInput(ConsoleIO console, String inputPrompt) throws InvalidInputException {
+        console.prompt(inputPrompt);
+        String consoleInputLine = console.readLine();
         if(consoleInputLine == null) {
             consoleInputLine = "";
         }
@@ -100,23 +101,83 @@ public class Validator {
      * @return                Returns valid integer within specified range
      */
     public static int getInt(Scanner scanner, String inputPrompt, int minimumValue, int maximumValue) {
-        int validInt;
+        return getInt(ConsoleIO.of(scanner), inputPrompt, minimumValue, maximumValue);
+    }
+
+    /**
+     * Prompts for input on a {@link ConsoleIO} and returns a valid integer.
+     *
+     * @param console        Console to prompt on and read from
+     * @param inputPrompt    String for user input prompt
+     * @return               Returns valid integer
+     * @see #getInt(ConsoleIO, String, int, int)
+     */
+    public static int getInt(ConsoleIO console, String inputPrompt) {
+        return getInt(console, inputPrompt, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Verifies a valid int read from a {@link ConsoleIO}, then performs an <b>inclusive</b> range check
+     *
+     * @param console         Console to prompt on and read from
+     * @param inputPrompt     String for user input prompt
+     * @param minimumValue    Minimum allowed integer in range (inclusive)
+     * @param maximumValue    Maximum allowed integer in range (inclusive)
+     * @return                Returns valid integer within specified range
+     */
+    public static int getInt(ConsoleIO console, String inputPrompt, int minimumValue, int maximumValue) {
+        ValidationResult result = new ValidationResult();
         while (true) {
             try {
-                String userInput = getConsoleInput(scanner, inputPrompt);
-                validInt = Integer.parseInt(userInput);
-                if((validInt < minimumValue) || validInt > maximumValue) {
-                    System.out.println("\nThe value entered must be within the range " + minimumValue + " through " + maximumValue + ". Please try again.");
+                String userInput = getConsoleInput(console, inputPrompt);
+                if(ValidationEngine.validateInt(userInput, minimumValue, maximumValue, result)) {
+                    break;
                 } else {
+                    console.println("\n" + result.getMessage());
+                }
+            } catch (InvalidInputException e) {
+                console.println("\n" + MSG_INVALID_INT);
+            }
+        }
+        return result.getInt();
+    }
+
+    /**
+     * Verifies a valid int, then checks it against a constraint of several ranges or values
+     *
+     * @param scanner         Scanner object
+     * @param inputPrompt     String for user input prompt
+     * @param constraint      Allowed ranges and values
+     * @return                Returns valid integer allowed by the constraint
+     */
+    public static int getInt(Scanner scanner, String inputPrompt, IntConstraint constraint) {
+        return getInt(ConsoleIO.of(scanner), inputPrompt, constraint);
+    }
+
+    /**
+     * Verifies a valid int read from a {@link ConsoleIO}, then checks it against a constraint of several ranges
+     * or values
+     *
+     * @param console         Console to prompt on and read from
+     * @param inputPrompt     String for user input prompt
+     * @param constraint      Allowed ranges and values
+     * @return                Returns valid integer allowed by the constraint
+     */
+    public static int getInt(ConsoleIO console, String inputPrompt, IntConstraint constraint) {
+        ValidationResult result = new ValidationResult();
+        while (true) {
+            try {
+                String userInput = getConsoleInput(console, inputPrompt);
+                if(ValidationEngine.validateInt(userInput, constraint, result)) {
                     break;
+                } else {
+                    console.println("\n" + result.getMessage());
                 }
             } catch (InvalidInputException e) {
-                System.out.println("\n" + MSG_INVALID_INT);
-            } catch (NumberFormatException e){
-                System.out.println("\n" + MSG_INVALID_INT);
+                console.println("\n" + MSG_INVALID_INT);
             }
         }
-        return validInt;
+        return result.getInt();
     }
 
     /**
@@ -145,24 +206,83 @@ public class Validator {
      * @return                Returns valid integer within specified range
      */
     public static double getDouble(Scanner scanner, String inputPrompt, double minimumValue, double maximumValue) {
-        double validDouble;
+        return getDouble(ConsoleIO.of(scanner), inputPrompt, minimumValue, maximumValue);
+    }
+
+    /**
+     * Prompts for input on a {@link ConsoleIO} and returns a valid double.
+     *
+     * @param console        Console to prompt on and read from
+     * @param inputPrompt    String for user input prompt
+     * @return               Returns valid double
+     * @see #getDouble(ConsoleIO, String, double, double)
+     */
+    public static double getDouble(ConsoleIO console, String inputPrompt) {
+        return getDouble(console, inputPrompt, -Double.MAX_VALUE, Double.MAX_VALUE);
+    }
+
+    /**
+     * Verifies a valid double read from a {@link ConsoleIO}, then performs an <b>inclusive</b> range check
+     *
+     * @param console         Console to prompt on and read from
+     * @param inputPrompt     String for user input prompt
+     * @param minimumValue    Minimum allowed double in range (inclusive)
+     * @param maximumValue    Maximum allowed double in range (inclusive)
+     * @return                Returns valid double within specified range
+     */
+    public static double getDouble(ConsoleIO console, String inputPrompt, double minimumValue, double maximumValue) {
+        ValidationResult result = new ValidationResult();
         while (true) {
             try {
-                String userInput = getConsoleInput(scanner, inputPrompt);
-                validDouble = Double.parseDouble(userInput);
-                if((validDouble < minimumValue) || validDouble > maximumValue) {
-                    System.out.println("\nThe value entered must be within the range " + minimumValue + " through " + maximumValue + ". Please try again.");
+                String userInput = getConsoleInput(console, inputPrompt);
+                if(ValidationEngine.validateDouble(userInput, minimumValue, maximumValue, result)) {
+                    break;
                 } else {
+                    console.println("\n" + result.getMessage());
+                }
+            } catch (InvalidInputException e) {
+                console.println("\n" + MSG_INVALID_DECIMAL);
+            }
+        }
+        return result.getDouble();
+    }
+
+    /**
+     * Verifies a valid double, then checks it against a constraint of several ranges or values
+     *
+     * @param scanner         Scanner object
+     * @param inputPrompt     String for user input prompt
+     * @param constraint      Allowed ranges and values
+     * @return                Returns valid double allowed by the constraint
+     */
+    public static double getDouble(Scanner scanner, String inputPrompt, DoubleConstraint constraint) {
+        return getDouble(ConsoleIO.of(scanner), inputPrompt, constraint);
+    }
+
+    /**
+     * Verifies a valid double read from a {@link ConsoleIO}, then checks it against a constraint of several
+     * ranges or values
+     *
+     * @param console         Console to prompt on and read from
+     * @param inputPrompt     String for user input prompt
+     * @param constraint      Allowed ranges and values
+     * @return                Returns valid double allowed by the constraint
+     */
+    public static double getDouble(ConsoleIO console, String inputPrompt, DoubleConstraint constraint) {
+        ValidationResult result = new ValidationResult();
+        while (true) {
+            try {
+                String userInput = getConsoleInput(console, inputPrompt);
+                if(ValidationEngine.validateDouble(userInput, constraint, result)) {
                     break;
+                } else {
+                    console.println("\n" + result.getMessage());
                 }
-            } catch (NumberFormatException e) {
-                System.out.println("\n" + MSG_INVALID_DECIMAL);
             } catch (InvalidInputException e) {
-                e.toString(MSG_INVALID_DECIMAL);
-                System.out.println("\n" + MSG_INVALID_DECIMAL);
+                console.println("\n" + MSG_INVALID_DECIMAL);
             }
         }
-        return validDouble;
+        return result.getDouble();
     }
 
     /**
@@ -200,26 +320,115 @@ public class Validator {
      * @return {@code char} with the validated input
      */
     public static char getChar(Scanner scanner, String inputPrompt, String validChars, String inputErrorMessage) {
-        String userInput;
+        return getChar(ConsoleIO.of(scanner), inputPrompt, validChars, inputErrorMessage);
+    }
+
+    /**
+     * Prompts for input on a {@link ConsoleIO} and validates it as a valid {@code char}
+     *
+     * @param console              Console to prompt on and read from
+     * @param inputPrompt          String for user input prompt
+     * @return {@code char} with the validated input
+     * @see #getChar(ConsoleIO, String, String, String)
+     */
+    public static char getChar(ConsoleIO console, String inputPrompt) {
+        return getChar(console, inputPrompt, MATCH_CHAR, MSG_INVALID_CHAR);
+    }
+
+    /**
+     * Prompts for input on a {@link ConsoleIO} and validates it as a valid {@code char}
+     *
+     * @param console              Console to prompt on and read from
+     * @param inputPrompt          String for user input prompt
+     * @param validChars           String containing list of valid characters
+     * @return {@code char} with the validated input
+     * @see #getChar(ConsoleIO, String, String, String)
+     */
+    public static char getChar(ConsoleIO console, String inputPrompt, String validChars) {
+        return getChar(console, inputPrompt, validChars, MSG_INVALID_CHAR);
+    }
+
+    /**
+     * Prompts for input on a {@link ConsoleIO} and validates it as a valid {@code char}
+     *
+     * @param console              Console to prompt on and read from
+     * @param inputPrompt          String for user input prompt
+     * @param validChars           String containing list of valid characters
+     * @param inputErrorMessage    Error message to display if validation fails
+     * @return {@code char} with the validated input
+     */
+    public static char getChar(ConsoleIO console, String inputPrompt, String validChars, String inputErrorMessage) {
+        return getChar(console, inputPrompt, CharSet.of(validChars), inputErrorMessage);
+    }
+
+    /**
+     * Prompts the user for input and validates it against a precompiled {@link CharSet}
+     *
+     * @param scanner              Scanner object
+     * @param inputPrompt          String for user input prompt
+     * @param charSet              Valid characters
+     * @return {@code char} with the validated input
+     * @see #getChar(ConsoleIO, String, CharSet, String)
+     */
+    public static char getChar(Scanner scanner, String inputPrompt, CharSet charSet) {
+        return getChar(ConsoleIO.of(scanner), inputPrompt, charSet, MSG_INVALID_CHAR);
+    }
+
+    /**
+     * Prompts the user for input and validates it against a precompiled {@link CharSet}
+     *
+     * @param scanner              Scanner object
+     * @param inputPrompt          String for user input prompt
+     * @param charSet              Valid characters
+     * @param inputErrorMessage    Error message to display if validation fails
+     * @return {@code char} with the validated input
+     * @see #getChar(ConsoleIO, String, CharSet, String)
+     */
+    public static char getChar(Scanner scanner, String inputPrompt, CharSet charSet, String inputErrorMessage) {
+        return getChar(ConsoleIO.of(scanner), inputPrompt, charSet, inputErrorMessage);
+    }
+
+    /**
+     * Prompts for input on a {@link ConsoleIO} and validates it against a precompiled {@link CharSet}
+     *
+     * @param console              Console to prompt on and read from
+     * @param inputPrompt          String for user input prompt
+     * @param charSet              Valid characters
+     * @return {@code char} with the validated input
+     * @see #getChar(ConsoleIO, String, CharSet, String)
+     */
+    public static char getChar(ConsoleIO console, String inputPrompt, CharSet charSet) {
+        return getChar(console, inputPrompt, charSet, MSG_INVALID_CHAR);
+    }
+
+    /**
+     * Prompts for input on a {@link ConsoleIO} and validates it against a precompiled {@link CharSet}, ignoring
+     * case. The default error message lists the valid characters.
+     *
+     * @param console              Console to prompt on and read from
+     * @param inputPrompt          String for user input prompt
+     * @param charSet              Valid characters
+     * @param inputErrorMessage    Error message to display if validation fails
+     * @return {@code char} with the validated input
+     */
+    public static char getChar(ConsoleIO console, String inputPrompt, CharSet charSet, String inputErrorMessage) {
+        ValidationResult result = new ValidationResult();
+        // The default message lists the accepted characters, it is rendered from the result when displayed
+        boolean defaultMessage = inputErrorMessage.equals(MSG_INVALID_CHAR);
         while(true) {
-            if(inputErrorMessage.equals(MSG_INVALID_CHAR)) {
-                // Append accepted characters to error message
-                inputErrorMessage += " [" + validChars.toUpperCase() + validChars.toLowerCase() + "]";
-            }
-            // Validate, use common getString, pass RegEx to verify only a single character has been input
-            userInput = getString(scanner, inputPrompt, MATCH_CHAR, inputErrorMessage);
-            // If provided, validated against a string of valid characters passed to the function
-            if(!validChars.equals(MATCH_CHAR)) {
-                if(validChars.toLowerCase().contains(userInput.toLowerCase())) {
+            try {
+                String userInput = getConsoleInput(console, inputPrompt);
+                // Verifies a single character has been input, and that it is one of the valid characters
+                if(ValidationEngine.validateChar(userInput, charSet, result)) {
                     break;
                 } else {
-                    System.out.println("\n" + inputErrorMessage);
+                    console.println("\n" + (defaultMessage ? result.getMessage() : inputErrorMessage));
                 }
-            } else {
-                break;
+            } catch (InvalidInputException e) {
+                console.println("\n" + inputErrorMessage);
             }
         }
-        return userInput.toUpperCase().charAt(0);
+        return result.getChar();
     }
 
     /**
@@ -261,259 +470,391 @@ public class Validator {
      * @return               Returns validated String
      */
     public static String getString(Scanner scanner, String inputPrompt, String pattern, String inputErrorMessage) {
+        return getString(scanner, inputPrompt, PatternRegistry.compile(pattern), inputErrorMessage);
+    }
+
+    /**
+     * Prompts the user for input and validates it against a precompiled pattern. Calls overloaded getString
+     * method passing constant MSG_INVALID_STRING
+     *
+     * @param scanner        Scanner object
+     * @param inputPrompt    String for user input prompt
+     * @param pattern        Compiled Pattern to evaluate input against
+     * @return               Returns validated String
+     * @see #getString(java.util.Scanner, String, java.util.regex.Pattern, String)
+     */
+    public static String getString(Scanner scanner, String inputPrompt, Pattern pattern) {
+        return getString(scanner, inputPrompt, pattern, MSG_INVALID_STRING);
+    }
+
+    /**
+     * Prompts the user for input and validates it against a precompiled pattern. Use this overload in loops
+     * to skip the {@link PatternRegistry} lookup, for example with {@link Constants#PATTERN_EMAIL}.
+     *
+     * @param scanner        Scanner object
+     * @param inputPrompt    String for user input prompt
+     * @param pattern        Compiled Pattern to evaluate input against
+     * @param inputErrorMessage    Message to display on error
+     * @return               Returns validated String
+     */
+    public static String getString(Scanner scanner, String inputPrompt, Pattern pattern, String inputErrorMessage) {
+        return getString(ConsoleIO.of(scanner), inputPrompt, pattern, inputErrorMessage);
+    }
+
+    /**
+     * Prompts for input on a {@link ConsoleIO} and returns a valid String. Allows any string including an
+     * empty string.
+     *
+     * @param console        Console to prompt on and read from
+     * @param inputPrompt    String for user input prompt
+     * @return               Returns valid String
+     * @see #getString(ConsoleIO, String, java.util.regex.Pattern, String)
+     */
+    public static String getString(ConsoleIO console, String inputPrompt) {
+        return getString(console, inputPrompt, PATTERN_ANY, MSG_INVALID_STRING);
+    }
+
+    /**
+     * Prompts for input on a {@link ConsoleIO} and validates it against a pattern
+     *
+     * @param console        Console to prompt on and read from
+     * @param inputPrompt    String for user input prompt
+     * @param pattern        Pattern to evaluate input against
+     * @return               Returns validated String
+     * @see #getString(ConsoleIO, String, java.util.regex.Pattern, String)
+     */
+    public static String getString(ConsoleIO console, String inputPrompt, String pattern) {
+        return getString(console, inputPrompt, PatternRegistry.compile(pattern), MSG_INVALID_STRING);
+    }
+
+    /**
+     * Prompts for input on a {@link ConsoleIO} and validates it against a pattern
+     *
+     * @param console              Console to prompt on and read from
+     * @param inputPrompt          String for user input prompt
+     * @param pattern              Pattern to evaluate input against
+     * @param inputErrorMessage    Message to display on error
+     * @return                     Returns validated String
+     * @see #getString(ConsoleIO, String, java.util.regex.Pattern, String)
+     */
+    public static String getString(ConsoleIO console, String inputPrompt, String pattern, String inputErrorMessage) {
+        return getString(console, inputPrompt, PatternRegistry.compile(pattern), inputErrorMessage);
+    }
+
+    /**
+     * Prompts for input on a {@link ConsoleIO} and validates it against a precompiled pattern
+     *
+     * @param console              Console to prompt on and read from
+     * @param inputPrompt          String for user input prompt
+     * @param pattern              Compiled Pattern to evaluate input against
+     * @param inputErrorMessage    Message to display on error
+     * @return                     Returns validated String
+     */
+    public static String getString(ConsoleIO console, String inputPrompt, Pattern pattern, String inputErrorMessage) {
         String userInput;
+        ValidationResult result = new ValidationResult();
         while (true) {
             try {
-                userInput = getConsoleInput(scanner, inputPrompt);
-                if(!userInput.matches(pattern)) {
-                    System.out.println("\n" + inputErrorMessage);
+                userInput = getConsoleInput(console, inputPrompt);
+                if(!ValidationEngine.validateString(userInput, pattern, result)) {
+                    console.println("\n" + inputErrorMessage);
                 } else {
                     break;
                 }
             } catch (InvalidInputException e) {
-                e.toString(inputErrorMessage);
+                console.println("\n" + inputErrorMessage);
             }
         }
         return userInput;
     }
 
     /**
-     * Validates text as double from JTextComponent object
+     * Prompts the user for input and validates it against a rule, for example a {@link MembershipRule}
      *
-     * @param jTextComponent    JTextComponent object being validated
-     * @param inputErrorMessage Error message to display to the user
-     * @return valid {@code double}
-     * @exception InvalidJTextComponentInputException thrown if an input validation error occurs
-     * @see #getDouble(javax.swing.text.JTextComponent, String, double, double)
+     * @param scanner              Scanner object
+     * @param inputPrompt          String for user input prompt
+     * @param rule                 Rule to evaluate input against
+     * @param inputErrorMessage    Message to display on error
+     * @return                     Returns validated String
+     * @see #getString(ConsoleIO, String, ValidationRule, String)
      */
-    public static double getDouble(JTextComponent jTextComponent, String inputErrorMessage) throws InvalidJTextComponentInputException{
-        return getDouble(jTextComponent, inputErrorMessage, -Double.MAX_VALUE, Double.MAX_VALUE);
+    public static String getString(Scanner scanner, String inputPrompt, ValidationRule rule, String inputErrorMessage) {
+        return getString(ConsoleIO.of(scanner), inputPrompt, rule, inputErrorMessage);
     }
 
     /**
-     * Validates text as double from JTextComponent object
+     * Prompts for input on a {@link ConsoleIO} and validates it against a rule, for example a
+     * {@link MembershipRule} that checks {@link Constants#MATCH_EMAIL} and a block list
      *
-     * @param jTextComponent    JTextComponent object being validated
-     * @param inputErrorMessage Error message to display to the user
-     * @param minimumValue      Minimum value for double
-     * @param maximumValue      Maximum value for double
-     * @return valid {@code double}
-     * @exception InvalidJTextComponentInputException thrown if an input validation error occurs
+     * @param console              Console to prompt on and read from
+     * @param inputPrompt          String for user input prompt
+     * @param rule                 Rule to evaluate input against
+     * @param inputErrorMessage    Message to display on error
+     * @return                     Returns validated String
      */
-    public static double getDouble(JTextComponent jTextComponent, String inputErrorMessage, double minimumValue, double maximumValue) throws InvalidJTextComponentInputException {
+    public static String getString(ConsoleIO console, String inputPrompt, ValidationRule rule, String inputErrorMessage) {
         String userInput;
-        double validDouble;
-
-        userInput = getInputFromJTextComponent(jTextComponent, inputErrorMessage, Constants.MATCH_NOT_EMPTY);
-
-        try {
-            validDouble = Double.parseDouble(userInput);
-        } catch (NumberFormatException e) {
-            throw new InvalidJTextComponentInputException();
-        }
-        if(!rangeCheck(validDouble, minimumValue, maximumValue)) {
-            throw new InvalidJTextComponentInputException();
+        ValidationResult result = new ValidationResult();
+        while (true) {
+            try {
+                userInput = getConsoleInput(console, inputPrompt);
+                if(!rule.validate(userInput, result)) {
+                    console.println("\n" + inputErrorMessage);
+                } else {
+                    break;
+                }
+            } catch (InvalidInputException e) {
+                console.println("\n" + inputErrorMessage);
+            }
         }
-        return validDouble;
+        return userInput;
     }
 
+    /**
+     * Prompts the user for a {@link Constants#MATCH_SSN social security number} and returns it packed into an
+     * int, see {@link Ssn}
+     *
+     * @param scanner              Scanner object
+     * @param inputPrompt          String for user input prompt
+     * @return                     Returns the packed SSN
+     * @see #getSsn(ConsoleIO, String, String)
+     */
+    public static int getSsn(Scanner scanner, String inputPrompt) {
+        return getSsn(ConsoleIO.of(scanner), inputPrompt, MSG_INVALID_STRING);
+    }
 
     /**
-     * Validates text as int from JTextComponent object
+     * Prompts the user for a {@link Constants#MATCH_SSN social security number} and returns it packed into an
+     * int, see {@link Ssn}
      *
-     * @param jTextComponent    JTextComponent object being validated
-     * @param inputErrorMessage Error message to display to the user
-     * @return valid {@code Integer}
-     * @exception InvalidJTextComponentInputException thrown if an input validation error occurs
-     * @see #getInt(javax.swing.text.JTextComponent, String, int, int)
+     * @param scanner              Scanner object
+     * @param inputPrompt          String for user input prompt
+     * @param inputErrorMessage    Message to display on error
+     * @return                     Returns the packed SSN
+     * @see #getSsn(ConsoleIO, String, String)
      */
-    public static int getInt(JTextComponent jTextComponent, String inputErrorMessage) throws InvalidJTextComponentInputException {
-        return getInt(jTextComponent, inputErrorMessage, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    public static int getSsn(Scanner scanner, String inputPrompt, String inputErrorMessage) {
+        return getSsn(ConsoleIO.of(scanner), inputPrompt, inputErrorMessage);
     }
 
     /**
-     * Validates text as int from JTextComponent object with a minimum value specified
+     * Prompts for a {@link Constants#MATCH_SSN social security number} on a {@link ConsoleIO} and returns it
+     * packed into an int, see {@link Ssn}
      *
-     * @param jTextComponent    JTextComponent object being validated
-     * @param inputErrorMessage Error message to display to the user
-     * @param minimumValue      Minimum value for int
-     * @return valid {@code Integer}
-     * @exception InvalidJTextComponentInputException thrown if an input validation error occurs
-     * @see #getInt(javax.swing.text.JTextComponent, String, int, int)
+     * @param console              Console to prompt on and read from
+     * @param inputPrompt          String for user input prompt
+     * @return                     Returns the packed SSN
+     * @see #getSsn(ConsoleIO, String, String)
      */
-    public static int getInt(JTextComponent jTextComponent, String inputErrorMessage, int minimumValue) throws InvalidJTextComponentInputException {
-        return getInt(jTextComponent, inputErrorMessage, minimumValue, Integer.MAX_VALUE);
+    public static int getSsn(ConsoleIO console, String inputPrompt) {
+        return getSsn(console, inputPrompt, MSG_INVALID_STRING);
     }
 
     /**
-     * Validates text from JTextComponent object with <strong>inclusive</strong> range check.
+     * Prompts for a {@link Constants#MATCH_SSN social security number} on a {@link ConsoleIO} and returns it
+     * packed into an int. The input is validated and packed in one pass, with or without hyphens.
      *
-     * @param jTextComponent    JTextComponent object being validated
-     * @param inputErrorMessage Error message to display to the user
-     * @param minimumValue      Minimum value if a range is required
-     * @param maximumValue      Maximum value if a range is required
-     * @return valid {@code Integer}
-     * @exception InvalidJTextComponentInputException thrown if an input validation error occurs
+     * @param console              Console to prompt on and read from
+     * @param inputPrompt          String for user input prompt
+     * @param inputErrorMessage    Message to display on error
+     * @return                     Returns the packed SSN
+     * @see Ssn#format(int)
      */
-    public static int getInt(JTextComponent jTextComponent, String inputErrorMessage, int minimumValue, int maximumValue) throws InvalidJTextComponentInputException {
-        String userInput;
-        int validInt;
+    public static int getSsn(ConsoleIO console, String inputPrompt, String inputErrorMessage) {
+        return getExtracted(console, inputPrompt, ValidationRule.ssn(), inputErrorMessage).getInt();
+    }
 
-        userInput = getInputFromJTextComponent(jTextComponent, inputErrorMessage, Constants.MATCH_NOT_EMPTY);
+    /**
+     * Prompts the user for a {@link Constants#MATCH_CHOICE_YN yes or no} answer
+     *
+     * @param scanner              Scanner object
+     * @param inputPrompt          String for user input prompt
+     * @return                     Returns {@code true} for yes
+     * @see #getYesNo(ConsoleIO, String, String)
+     */
+    public static boolean getYesNo(Scanner scanner, String inputPrompt) {
+        return getYesNo(ConsoleIO.of(scanner), inputPrompt, MSG_INVALID_CHAR + " [YyNn]");
+    }
 
-        try {
-            validInt = Integer.parseInt(userInput);
-        } catch (NumberFormatException e) {
-            throw new InvalidJTextComponentInputException();
-        }
-        if(!rangeCheck(validInt, minimumValue, maximumValue)) {
-            throw new InvalidJTextComponentInputException();
-        }
-        return validInt;
+    /**
+     * Prompts the user for a {@link Constants#MATCH_CHOICE_YN yes or no} answer
+     *
+     * @param scanner              Scanner object
+     * @param inputPrompt          String for user input prompt
+     * @param inputErrorMessage    Message to display on error
+     * @return                     Returns {@code true} for yes
+     * @see #getYesNo(ConsoleIO, String, String)
+     */
+    public static boolean getYesNo(Scanner scanner, String inputPrompt, String inputErrorMessage) {
+        return getYesNo(ConsoleIO.of(scanner), inputPrompt, inputErrorMessage);
     }
 
     /**
-     * Accepts a JTextComponent and validates it against a pattern. If valid input is found
-     * it returns the valid input as a string. Invalid input throws an InvalidJTextComponentInputException
-     * exception to be handled by the calling code. See docs for getInputFromJTextComponent for an example.
+     * Prompts for a {@link Constants#MATCH_CHOICE_YN yes or no} answer on a {@link ConsoleIO}
      *
-     * @param jTextComponent       JTextComponent object being validated
-     * @param inputErrorMessage    Error message to display to the user
-     * @param pattern              Pattern to match.
-     * @return valid {@code String}
-     * @exception InvalidJTextComponentInputException thrown if an input validation error occurs
+     * @param console              Console to prompt on and read from
+     * @param inputPrompt          String for user input prompt
+     * @return                     Returns {@code true} for yes
+     * @see #getYesNo(ConsoleIO, String, String)
      */
-    public static String getString(JTextComponent jTextComponent, String inputErrorMessage, String pattern) {
-        return getInputFromJTextComponent(jTextComponent, inputErrorMessage, pattern);
-    }
-
-    /**
-     * For GUI validation, works with anything that inherits from JTextComponent. This method is called
-     * from other overloaded methods for retrieving int, double, and String input.
-     *
-     * @see #getInt(javax.swing.text.JTextComponent, String)
-     * @see #getInt(javax.swing.text.JTextComponent, String, int, int)
-     * @see #getDouble(javax.swing.text.JTextComponent, String)
-     * @see #getDouble(javax.swing.text.JTextComponent, String, double, double)
-     * @see #getString(javax.swing.text.JTextComponent, String, String)
-     *
-     * <p>An exception of type InvalidJTextComponentInputException is thrown if the input is not
-     * valid. The exception needs to be handled by the original calling code.
-     *
-     * <p><strong>Example:</strong> This example uses one the {@link #getInt(javax.swing.text.JTextComponent, String, int, int)} method.
-     * <blockquote><pre>
-     * public void actionPerformed(ActionEvent e) {
-     *     int testScore = 0;
-     *     try {
-     *         // Pass JTextField "testScore" to Validator.getInt with error message and valid range
-     *         testScore = Validator.getInt(testScoreTextField, "A Valid Test Score between 0 and 100 is Required.", 0, 100);
-     *         // If valid continue with code, if not exception thrown to catch block below
-     *         testScores.enterScore(testScore);
-     *      } catch (InvalidJTextComponentInputException e) {
-     *         // Change the JTextField background color to highlight the error
-     *         e.setInvalidFieldBackground(testScoreTextField);
-     *         // Display the error message dialog box
-     *         e.showErrorMessageDialog(testScoreTextField, "A Valid Test Score between 0 and 100 is Required.");
-     *      }
-     * }
-     * </blockquote></pre>
-     *
-     * @param jTextComponent     JTextComponent object to use for validation
-     * @param inputErrorMessage  Error message to display to user
-     * @param pattern            Pattern to match.
-     * @return                   Returns the string acquired from the JTextComponent
-     * @exception InvalidJTextComponentInputException thrown if an input validation error occurs
+    public static boolean getYesNo(ConsoleIO console, String inputPrompt) {
+        return getYesNo(console, inputPrompt, MSG_INVALID_CHAR + " [YyNn]");
+    }
+
+    /**
+     * Prompts for a {@link Constants#MATCH_CHOICE_YN yes or no} answer on a {@link ConsoleIO}
+     *
+     * @param console              Console to prompt on and read from
+     * @param inputPrompt          String for user input prompt
+     * @param inputErrorMessage    Message to display on error
+     * @return                     Returns {@code true} for yes
      */
-    public static String getInputFromJTextComponent(JTextComponent jTextComponent, String inputErrorMessage, String pattern) throws InvalidJTextComponentInputException {
-        String userInput;
+    public static boolean getYesNo(ConsoleIO console, String inputPrompt, String inputErrorMessage) {
+        return getExtracted(console, inputPrompt, ValidationRule.yesNo(), inputErrorMessage).getBoolean();
+    }
 
-        userInput = jTextComponent.getText();
-        if(!userInput.matches(pattern)) {
-            throw new InvalidJTextComponentInputException();
+    /**
+     * Prompts until the input passes the rule, and returns the result holding the extracted value
+     */
+    private static ValidationResult getExtracted(ConsoleIO console, String inputPrompt, ValidationRule rule, String inputErrorMessage) {
+        ValidationResult result = new ValidationResult();
+        while (true) {
+            try {
+                if(rule.validate(getConsoleInput(console, inputPrompt), result)) {
+                    return result;
+                }
+                console.println("\n" + inputErrorMessage);
+            } catch (InvalidInputException e) {
+                console.println("\n" + inputErrorMessage);
+            }
         }
-        // If there is a previous error, set the background back to original state
-        clearErrorField(jTextComponent);
+    }
 
-        return userInput;
+    /**
+     * @deprecated Use {@link SwingValidator#getDouble(javax.swing.text.JTextComponent, String)}
+     */
+    @Deprecated
+    public static double getDouble(JTextComponent jTextComponent, String inputErrorMessage) throws InvalidJTextComponentInputException {
+        return SwingValidator.getDouble(jTextComponent, inputErrorMessage);
     }
 
     /**
-     * <b>Inclusive</b> range check for double
-     *
-     * @param userInput       User supplied input
-     * @param minimumValue    Minimum allowed value
-     * @param maximumValue    Maximum allowed value
-     * @return {@code boolean} for success/failure
-     * @see #getInt(java.util.Scanner, String, int, int)
-     * @see #getInt(javax.swing.text.JTextComponent, String, int, int)
+     * @deprecated Use {@link SwingValidator#getDouble(javax.swing.text.JTextComponent, String, double, double)}
      */
-    private static boolean rangeCheck(double userInput, double minimumValue, double maximumValue) {
-        return !((userInput < minimumValue) || userInput > maximumValue);
+    @Deprecated
+    public static double getDouble(JTextComponent jTextComponent, String inputErrorMessage, double minimumValue, double maximumValue) throws InvalidJTextComponentInputException {
+        return SwingValidator.getDouble(jTextComponent, inputErrorMessage, minimumValue, maximumValue);
     }
 
     /**
-     * <b>Inclusive</b> range check for int
-     *
-     * @param userInput       User supplied input
-     * @param minimumValue    Minimum allowed value
-     * @param maximumValue    Maximum allowed value
-     * @return {@code boolean} for success/failure
-     * @see #getDouble(java.util.Scanner, String, double, double)
-     * @see #getDouble(javax.swing.text.JTextComponent, String, double, double)
+     * @deprecated Use {@link SwingValidator#getDouble(javax.swing.text.JTextComponent, String, DoubleConstraint)}
      */
-    private static boolean rangeCheck(int userInput, int minimumValue, int maximumValue) {
-        return !((userInput < minimumValue) || userInput > maximumValue);
+    @Deprecated
+    public static double getDouble(JTextComponent jTextComponent, String inputErrorMessage, DoubleConstraint constraint) throws InvalidJTextComponentInputException {
+        return SwingValidator.getDouble(jTextComponent, inputErrorMessage, constraint);
     }
 
     /**
-     * Check if the passed JTextComponent has been flagged with a validation error
-     *
-     * @param jTextComponent    The JTextComponent to Test
-     * @return boolean          Returns true if this JTextComponent has been flagged with an error
-     * @see #errorFieldMap
+     * @deprecated Use {@link SwingValidator#getInt(javax.swing.text.JTextComponent, String)}
      */
+    @Deprecated
+    public static int getInt(JTextComponent jTextComponent, String inputErrorMessage) throws InvalidJTextComponentInputException {
+        return SwingValidator.getInt(jTextComponent, inputErrorMessage);
+    }
+
+    /**
+     * @deprecated Use {@link SwingValidator#getInt(javax.swing.text.JTextComponent, String, int)}
+     */
+    @Deprecated
+    public static int getInt(JTextComponent jTextComponent, String inputErrorMessage, int minimumValue) throws InvalidJTextComponentInputException {
+        return SwingValidator.getInt(jTextComponent, inputErrorMessage, minimumValue);
+    }
+
+    /**
+     * @deprecated Use {@link SwingValidator#getInt(javax.swing.text.JTextComponent, String, int, int)}
+     */
+    @Deprecated
+    public static int getInt(JTextComponent jTextComponent, String inputErrorMessage, int minimumValue, int maximumValue) throws InvalidJTextComponentInputException {
+        return SwingValidator.getInt(jTextComponent, inputErrorMessage, minimumValue, maximumValue);
+    }
+
+    /**
+     * @deprecated Use {@link SwingValidator#getInt(javax.swing.text.JTextComponent, String, IntConstraint)}
+     */
+    @Deprecated
+    public static int getInt(JTextComponent jTextComponent, String inputErrorMessage, IntConstraint constraint) throws InvalidJTextComponentInputException {
+        return SwingValidator.getInt(jTextComponent, inputErrorMessage, constraint);
+    }
+
+    /**
+     * @deprecated Use {@link SwingValidator#getString(javax.swing.text.JTextComponent, String, String)}
+     */
+    @Deprecated
+    public static String getString(JTextComponent jTextComponent, String inputErrorMessage, String pattern) {
+        return SwingValidator.getString(jTextComponent, inputErrorMessage, pattern);
+    }
+
+    /**
+     * @deprecated Use {@link SwingValidator#getString(javax.swing.text.JTextComponent, String, java.util.regex.Pattern)}
+     */
+    @Deprecated
+    public static String getString(JTextComponent jTextComponent, String inputErrorMessage, Pattern pattern) {
+        return SwingValidator.getString(jTextComponent, inputErrorMessage, pattern);
+    }
+
+    /**
+     * @deprecated Use {@link SwingValidator#getInputFromJTextComponent(javax.swing.text.JTextComponent, String, String)}
+     */
+    @Deprecated
+    public static String getInputFromJTextComponent(JTextComponent jTextComponent, String inputErrorMessage, String pattern) throws InvalidJTextComponentInputException {
+        return SwingValidator.getInputFromJTextComponent(jTextComponent, inputErrorMessage, pattern);
+    }
+
+    /**
+     * @deprecated Use {@link SwingValidator#getInputFromJTextComponent(javax.swing.text.JTextComponent, String, java.util.regex.Pattern)}
+     */
+    @Deprecated
+    public static String getInputFromJTextComponent(JTextComponent jTextComponent, String inputErrorMessage, Pattern pattern) throws InvalidJTextComponentInputException {
+        return SwingValidator.getInputFromJTextComponent(jTextComponent, inputErrorMessage, pattern);
+    }
+
+    /**
+     * @deprecated Use {@link SwingValidator#setSharedExceptions(boolean)}
+     */
+    @Deprecated
+    public static void setSharedExceptions(boolean shared) {
+        SwingValidator.setSharedExceptions(shared);
+    }
+
+    /**
+     * @deprecated Use {@link SwingValidator#isErrorField(javax.swing.text.JTextComponent)}
+     */
+    @Deprecated
     public static boolean isErrorField(JTextComponent jTextComponent) {
-        return errorFieldMap.containsKey(jTextComponent);
+        return SwingValidator.isErrorField(jTextComponent);
     }
 
     /**
-     * Resets the background color and clears the error flag for a JTextComponent
-     *
-     * @param jTextComponent    The JTextComponent to modify
-     * @see #isErrorField(javax.swing.text.JTextComponent)
+     * @deprecated Use {@link SwingValidator#clearErrorField(javax.swing.text.JTextComponent)}
      */
+    @Deprecated
     public static void clearErrorField(JTextComponent jTextComponent) {
-        if(isErrorField(jTextComponent)) {
-            jTextComponent.setBackground(errorFieldMap.get(jTextComponent));
-            errorFieldMap.remove(jTextComponent);
-        }
+        SwingValidator.clearErrorField(jTextComponent);
     }
 
     /**
-     * Stores the original background color of a JTextComponent into a HashMap, and then changes the current background
-     * color to reflect a validation error for the field.
-     *
-     * @param jTextComponent    The JTextComponent to modify
-     * @see #errorFieldMap
+     * @deprecated Use {@link SwingValidator#setErrorField(javax.swing.text.JTextComponent)}
      */
+    @Deprecated
     public static void setErrorField(JTextComponent jTextComponent) {
-        errorFieldMap.put(jTextComponent, jTextComponent.getBackground());
-        jTextComponent.setBackground(COLOR_ERROR_BACKGROUND);
+        SwingValidator.setErrorField(jTextComponent);
     }
 
     /**
-     * Called on form "Clear" action.
-     *
-     * <p>Iterates through errorFieldMap, sets all properties back to original and then clears the HashMap
-     * so it is in an initial state again for fresh use.
-     *
-     * @see #errorFieldMap
-     * @see #clearErrorField(javax.swing.text.JTextComponent)
+     * @deprecated Use {@link SwingValidator#resetErrorFields()}
      */
+    @Deprecated
     public static void resetErrorFields() {
-        for (Map.Entry<JTextComponent, Color> errorField : errorFieldMap.entrySet()) {
-            clearErrorField(errorField.getKey());
-        }
-        errorFieldMap.clear();
+        SwingValidator.resetErrorFields();
     }
 }